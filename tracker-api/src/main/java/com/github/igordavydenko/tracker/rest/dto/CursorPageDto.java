@@ -0,0 +1,21 @@
+package com.github.igordavydenko.tracker.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class CursorPageDto<T> implements Serializable {
+
+  private List<T> items;
+  private int limit;
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  private String nextCursor;
+
+}
@@ -0,0 +1,27 @@
+package com.github.igordavydenko.tracker.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class PaceRankDto implements Serializable {
+
+  private Long userId;
+  @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+  private LocalDate periodStart;
+  private Boolean sex;
+  private int ageGroup;
+  private double averagePace;
+  private long cohortSize;
+  private double beatsPercent;
+
+}
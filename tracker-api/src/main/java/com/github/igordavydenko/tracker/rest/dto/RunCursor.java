@@ -0,0 +1,37 @@
+package com.github.igordavydenko.tracker.rest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+@Getter
+@AllArgsConstructor
+public class RunCursor {
+
+  private static final String SEPARATOR = "|";
+
+  private final LocalDateTime startDateTime;
+  private final Long id;
+
+  public static RunCursor decode(final String cursor) {
+    try {
+      var value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      var separatorIndex = value.indexOf(SEPARATOR);
+      return new RunCursor(
+          LocalDateTime.parse(value.substring(0, separatorIndex)),
+          Long.parseLong(value.substring(separatorIndex + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+      throw new IllegalArgumentException(String.format("Invalid cursor '%s'", cursor));
+    }
+  }
+
+  public String encode() {
+    var value = startDateTime + SEPARATOR + id;
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+}
@@ -1,11 +1,14 @@
 package com.github.igordavydenko.tracker.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
+import jakarta.validation.constraints.Size;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -15,6 +18,8 @@ import org.springframework.format.annotation.DateTimeFormat;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
 
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class RunDto implements Serializable {
@@ -77,11 +82,60 @@ public class RunDto implements Serializable {
     private Integer distance;
   }
 
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  public static class RunPoints extends AbstractRun {
+    @NotNull(message = "Field 'points' must be filled")
+    @Size(min = 1, max = 1000, message = "Field 'points' must contain between 1 and 1000 items")
+    private List<@NotNull(message = "Point must not be null") @Valid RunPoint> points;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  public static class RunPoint implements Serializable {
+    @NotNull(message = "Field 'timestamp' must be filled")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime timestamp;
+
+    @NotNull(message = "Field 'latitude' must be filled")
+    @DecimalMin(value = "-90.0", message = "Field 'latitude' must be greater than or equal to -90.0")
+    @DecimalMax(value = "90.0", message = "Field 'latitude' must be less than or equal to 90.0")
+    private Double latitude;
+
+    @NotNull(message = "Field 'longitude' must be filled")
+    @DecimalMin(value = "-180.0", message = "Field 'longitude' must be greater than or equal to -180.0")
+    @DecimalMax(value = "180.0", message = "Field 'longitude' must be less than or equal to 180.0")
+    private Double longitude;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  public static class RunPointsResult implements Serializable {
+    private Integer accepted;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  public static class RunTrack implements Serializable {
+    private Long runId;
+    private List<RunPoint> points;
+  }
+
   @NoArgsConstructor
   @AllArgsConstructor
   @Getter
   @Setter
   public static class RunInfo extends AbstractRun {
+    private Long id;
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
     private LocalDateTime startDateTime;
@@ -103,4 +157,32 @@ public class RunDto implements Serializable {
     private Double averageSpeed;
   }
 
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class RunBatchResult implements Serializable {
+    private Integer index;
+    private RunInfo run;
+    private List<ErrorResponse.ErrorDetails> errorDetails;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  @JsonInclude(JsonInclude.Include.NON_NULL)
+  public static class RunFinishReceipt implements Serializable {
+    private UUID id;
+    private Long userId;
+    private String state;
+    private RunInfo run;
+    private String errorMessage;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime createdAt;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime finishedAt;
+  }
+
 }
@@ -0,0 +1,52 @@
+package com.github.igordavydenko.tracker.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class RunImportDto implements Serializable {
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  public static class ImportStatus implements Serializable {
+    private UUID id;
+    private String format;
+    private String state;
+    private long totalBytes;
+    private long copiedBytes;
+    private long copiedRows;
+    private long importedRows;
+    private long rejectedRows;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String errorMessage;
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime createdAt;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'")
+    private LocalDateTime finishedAt;
+  }
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Getter
+  @Setter
+  public static class ImportReject implements Serializable {
+    private long lineNo;
+    private String reason;
+    @JsonRawValue
+    private String rawData;
+  }
+
+}
@@ -0,0 +1,31 @@
+package com.github.igordavydenko.tracker.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@Builder
+public class StatisticSeriesDto implements Serializable {
+
+  private String bucket;
+  private List<Bucket> items;
+
+  @Getter
+  @Setter
+  @Builder
+  public static class Bucket implements Serializable {
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+    private LocalDate start;
+    private int totalRuns;
+    private int totalDistance;
+    private double averageSpeed;
+  }
+
+}
@@ -0,0 +1,21 @@
+package com.github.igordavydenko.tracker.rest.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ValidationMessage {
+
+  public static final String ERROR_POSITIVE_ID = "Field 'id' must be positive integer";
+  public static final String ERROR_POSITIVE_CURSOR = "Field 'cursor' must be positive integer";
+  public static final String ERROR_PAGE_LIMIT = "Field 'limit' must be between 1 and 1000";
+  public static final String ERROR_PAGE_OFFSET = "Field 'offset' must be positive or zero";
+  public static final String ERROR_ZOOM = "Field 'zoom' must be between 0 and 22";
+  public static final String ERROR_POSITIVE_TOLERANCE = "Field 'tolerance' must be positive";
+  public static final String ERROR_LATITUDE = "Latitude must be between -90.0 and 90.0";
+  public static final String ERROR_LONGITUDE = "Longitude must be between -180.0 and 180.0";
+  public static final String ERROR_RADIUS = "Field 'radius' must be between 1 and 1000000 meters";
+  public static final String ERROR_BATCH_SIZE = "Batch must contain between 1 and 1000 items";
+  public static final String ERROR_BATCH_ITEM = "Batch item must not be null";
+
+}
@@ -0,0 +1,34 @@
+package com.github.igordavydenko.tracker.rest.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RunCursorTest {
+
+  private static final Random random = new Random();
+
+  @Test
+  public void When_EncodeAndDecode_Success() {
+    var cursor = new RunCursor(LocalDateTime.of(2023, 5, 17, 6, 30, 15, 123000000), random.nextLong(1, Long.MAX_VALUE));
+
+    var result = RunCursor.decode(cursor.encode());
+
+    assertEquals(cursor.getStartDateTime(), result.getStartDateTime());
+    assertEquals(cursor.getId(), result.getId());
+  }
+
+  @Test
+  public void When_Decode_InvalidCursorException() {
+    var exception = assertThrows(
+        IllegalArgumentException.class,
+        () -> RunCursor.decode("not a cursor"));
+
+    assertEquals("Invalid cursor 'not a cursor'", exception.getMessage());
+  }
+
+}
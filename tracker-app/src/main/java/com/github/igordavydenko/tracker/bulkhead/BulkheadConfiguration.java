@@ -0,0 +1,25 @@
+package com.github.igordavydenko.tracker.bulkhead;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class BulkheadConfiguration {
+
+  @Bean
+  public static BeanPostProcessor bulkheadDataSourcePostProcessor(ObjectProvider<DatabaseBulkhead> databaseBulkhead) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+          return new BulkheadDataSource(dataSource, databaseBulkhead.getObject());
+        }
+        return bean;
+      }
+    };
+  }
+}
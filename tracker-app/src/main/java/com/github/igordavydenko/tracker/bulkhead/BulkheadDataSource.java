@@ -0,0 +1,60 @@
+package com.github.igordavydenko.tracker.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class BulkheadDataSource extends DelegatingDataSource {
+
+  private final DatabaseBulkhead databaseBulkhead;
+
+  public BulkheadDataSource(DataSource targetDataSource, DatabaseBulkhead databaseBulkhead) {
+    super(targetDataSource);
+    this.databaseBulkhead = databaseBulkhead;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    databaseBulkhead.acquire();
+    try {
+      return releasingOnClose(obtainTargetDataSource().getConnection());
+    } catch (SQLException | RuntimeException ex) {
+      databaseBulkhead.release();
+      throw ex;
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    databaseBulkhead.acquire();
+    try {
+      return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+    } catch (SQLException | RuntimeException ex) {
+      databaseBulkhead.release();
+      throw ex;
+    }
+  }
+
+  private Connection releasingOnClose(Connection connection) {
+    var released = new AtomicBoolean();
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+          } finally {
+            if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+              databaseBulkhead.release();
+            }
+          }
+        });
+  }
+}
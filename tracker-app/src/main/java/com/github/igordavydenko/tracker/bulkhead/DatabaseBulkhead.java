@@ -0,0 +1,68 @@
+package com.github.igordavydenko.tracker.bulkhead;
+
+import com.github.igordavydenko.tracker.exception.BulkheadFullException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class DatabaseBulkhead {
+
+  static final String WAIT_METRIC_NAME = "tracker.bulkhead.wait";
+
+  private final Semaphore semaphore;
+  private final Duration maxWait;
+  private final Timer acquiredTimer;
+  private final Timer rejectedTimer;
+
+  public DatabaseBulkhead(
+      MeterRegistry meterRegistry,
+      @Value("${tracker.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int permits,
+      @Value("${tracker.bulkhead.max-wait:1s}") Duration maxWait
+  ) {
+    this.semaphore = new Semaphore(permits, true);
+    this.maxWait = maxWait;
+    this.acquiredTimer = waitTimer(meterRegistry, "acquired");
+    this.rejectedTimer = waitTimer(meterRegistry, "rejected");
+    Gauge.builder("tracker.bulkhead.available", semaphore, Semaphore::availablePermits)
+        .description("Database bulkhead permits not in use")
+        .register(meterRegistry);
+    Gauge.builder("tracker.bulkhead.queued", semaphore, Semaphore::getQueueLength)
+        .description("Requests waiting for a database bulkhead permit")
+        .register(meterRegistry);
+  }
+
+  public void acquire() {
+    var started = System.nanoTime();
+    boolean acquired;
+    try {
+      acquired = semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      acquired = false;
+    }
+    var waited = System.nanoTime() - started;
+    if (!acquired) {
+      rejectedTimer.record(waited, TimeUnit.NANOSECONDS);
+      throw new BulkheadFullException(maxWait);
+    }
+    acquiredTimer.record(waited, TimeUnit.NANOSECONDS);
+  }
+
+  public void release() {
+    semaphore.release();
+  }
+
+  private static Timer waitTimer(MeterRegistry meterRegistry, String outcome) {
+    return Timer.builder(WAIT_METRIC_NAME)
+        .description("Time spent waiting for a database bulkhead permit")
+        .tag("outcome", outcome)
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,150 @@
+package com.github.igordavydenko.tracker.codec;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TrackCodec {
+
+  static final byte VERSION = 1;
+  static final double COORDINATE_SCALE = 1_000_000.0;
+
+  private static final int MIN_POINT_BYTES = 3;
+  private static final int MAX_VARINT_BYTES = 10;
+
+  public static byte[] encode(final List<TrackPoint> points) {
+    var writer = new Writer(points.size() * 8 + 16);
+    writer.write(VERSION);
+    writer.writeVarint(points.size());
+
+    long previousTime = 0;
+    long previousLatitude = 0;
+    long previousLongitude = 0;
+    for (var point : points) {
+      var time = point.getTime().toInstant(ZoneOffset.UTC).toEpochMilli();
+      var latitude = Math.round(point.getLatitude() * COORDINATE_SCALE);
+      var longitude = Math.round(point.getLongitude() * COORDINATE_SCALE);
+      writer.writeVarint(zigzag(time - previousTime));
+      writer.writeVarint(zigzag(latitude - previousLatitude));
+      writer.writeVarint(zigzag(longitude - previousLongitude));
+      previousTime = time;
+      previousLatitude = latitude;
+      previousLongitude = longitude;
+    }
+    return writer.toByteArray();
+  }
+
+  public static List<TrackPoint> decode(final byte[] bytes) {
+    var reader = new Reader(bytes);
+    var version = reader.read();
+    if (version != VERSION) {
+      throw new IllegalArgumentException(String.format("Unsupported track version '%s'", version));
+    }
+    var count = reader.readVarint();
+    if (count < 0 || count > reader.remaining() / MIN_POINT_BYTES) {
+      throw new IllegalArgumentException(String.format("Malformed track: invalid point count '%s'", count));
+    }
+
+    List<TrackPoint> points = new ArrayList<>((int) count);
+    long time = 0;
+    long latitude = 0;
+    long longitude = 0;
+    for (int i = 0; i < count; i++) {
+      time += unzigzag(reader.readVarint());
+      latitude += unzigzag(reader.readVarint());
+      longitude += unzigzag(reader.readVarint());
+      points.add(new TrackPoint(
+          toDateTime(time), latitude / COORDINATE_SCALE, longitude / COORDINATE_SCALE));
+    }
+    if (reader.remaining() > 0) {
+      throw new IllegalArgumentException("Malformed track: trailing bytes");
+    }
+    return points;
+  }
+
+  static long zigzag(final long value) {
+    return (value << 1) ^ (value >> 63);
+  }
+
+  static long unzigzag(final long value) {
+    return (value >>> 1) ^ -(value & 1);
+  }
+
+  private static LocalDateTime toDateTime(final long epochMilli) {
+    try {
+      return LocalDateTime.ofEpochSecond(
+          Math.floorDiv(epochMilli, 1000), (int) Math.floorMod(epochMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+    } catch (DateTimeException ex) {
+      throw new IllegalArgumentException("Malformed track: time out of range", ex);
+    }
+  }
+
+  private static final class Writer {
+
+    private byte[] bytes;
+    private int position;
+
+    private Writer(final int capacity) {
+      this.bytes = new byte[capacity];
+    }
+
+    private void write(final byte value) {
+      if (position == bytes.length) {
+        bytes = Arrays.copyOf(bytes, bytes.length * 2);
+      }
+      bytes[position++] = value;
+    }
+
+    private void writeVarint(long value) {
+      while ((value & ~0x7FL) != 0) {
+        write((byte) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      write((byte) value);
+    }
+
+    private byte[] toByteArray() {
+      return Arrays.copyOf(bytes, position);
+    }
+  }
+
+  private static final class Reader {
+
+    private final byte[] bytes;
+    private int position;
+
+    private Reader(final byte[] bytes) {
+      this.bytes = bytes;
+    }
+
+    private byte read() {
+      if (position >= bytes.length) {
+        throw new IllegalArgumentException("Malformed track: unexpected end of data");
+      }
+      return bytes[position++];
+    }
+
+    private long readVarint() {
+      long value = 0;
+      for (int i = 0; i < MAX_VARINT_BYTES; i++) {
+        var current = read();
+        value |= (long) (current & 0x7F) << (7 * i);
+        if ((current & 0x80) == 0) {
+          return value;
+        }
+      }
+      throw new IllegalArgumentException("Malformed track: varint is too long");
+    }
+
+    private int remaining() {
+      return bytes.length - position;
+    }
+  }
+}
@@ -0,0 +1,14 @@
+package com.github.igordavydenko.tracker.codec;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class TrackPoint {
+
+  LocalDateTime time;
+  double latitude;
+  double longitude;
+
+}
@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.exception;
+
+import java.time.Duration;
+
+public class BulkheadFullException extends RuntimeException {
+
+  private static final String MESSAGE_TEMPLATE = "No database capacity available within %s ms";
+
+  public BulkheadFullException(Duration maxWait) {
+    super(String.format(MESSAGE_TEMPLATE, maxWait.toMillis()));
+  }
+
+}
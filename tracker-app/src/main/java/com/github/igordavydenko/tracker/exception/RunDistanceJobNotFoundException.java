@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.exception;
+
+import java.util.UUID;
+
+public class RunDistanceJobNotFoundException extends RuntimeException {
+
+  private static final String MESSAGE_TEMPLATE = "Run distance job by id '%s' not found";
+
+  public RunDistanceJobNotFoundException(UUID jobId) {
+    super(String.format(MESSAGE_TEMPLATE, jobId));
+  }
+
+}
@@ -0,0 +1,11 @@
+package com.github.igordavydenko.tracker.exception;
+
+public class RunFinishQueueFullException extends RuntimeException {
+
+  private static final String MESSAGE_TEMPLATE = "Run finish queue is full (%d requests), retry later";
+
+  public RunFinishQueueFullException(int capacity) {
+    super(String.format(MESSAGE_TEMPLATE, capacity));
+  }
+
+}
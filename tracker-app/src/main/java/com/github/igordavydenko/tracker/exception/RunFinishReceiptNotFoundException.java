@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.exception;
+
+import java.util.UUID;
+
+public class RunFinishReceiptNotFoundException extends RuntimeException {
+
+  private static final String MESSAGE_TEMPLATE = "Run finish receipt by id '%s' not found";
+
+  public RunFinishReceiptNotFoundException(UUID receiptId) {
+    super(String.format(MESSAGE_TEMPLATE, receiptId));
+  }
+
+}
@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.exception;
+
+import java.util.UUID;
+
+public class RunImportNotFoundException extends RuntimeException {
+
+  private static final String MESSAGE_TEMPLATE = "Run import by id '%s' not found";
+
+  public RunImportNotFoundException(UUID importId) {
+    super(String.format(MESSAGE_TEMPLATE, importId));
+  }
+
+}
@@ -0,0 +1,11 @@
+package com.github.igordavydenko.tracker.exception;
+
+public class RunNotFoundException extends RuntimeException {
+
+  private static final String MESSAGE_TEMPLATE = "Run by id '%s' not found";
+
+  public RunNotFoundException(Long runId) {
+    super(String.format(MESSAGE_TEMPLATE, runId));
+  }
+
+}
@@ -1,22 +1,37 @@
 package com.github.igordavydenko.tracker.handler;
 
 import ch.qos.logback.classic.Logger;
+import com.github.igordavydenko.tracker.exception.BulkheadFullException;
 import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunDistanceJobNotFoundException;
+import com.github.igordavydenko.tracker.exception.RunFinishQueueFullException;
+import com.github.igordavydenko.tracker.exception.RunFinishReceiptNotFoundException;
+import com.github.igordavydenko.tracker.exception.RunImportNotFoundException;
+import com.github.igordavydenko.tracker.exception.RunNotFoundException;
 import com.github.igordavydenko.tracker.exception.UserNotFoundException;
 import com.github.igordavydenko.tracker.rest.dto.ErrorResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.Errors;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RestControllerAdvice
@@ -40,9 +55,11 @@ public class ResponseExceptionHandler {
         .build();
   }
 
-  @ExceptionHandler(value = {UserNotFoundException.class})
+  @ExceptionHandler(value = {UserNotFoundException.class, RunNotFoundException.class,
+      RunImportNotFoundException.class, RunDistanceJobNotFoundException.class,
+      RunFinishReceiptNotFoundException.class})
   @ResponseStatus(HttpStatus.NOT_FOUND)
-  public ErrorResponse handleNotFound(UserNotFoundException ex) {
+  public ErrorResponse handleNotFound(RuntimeException ex) {
     log.warn("Not found exception: {}", ex.getMessage());
 
     return ErrorResponse.builder()
@@ -72,6 +89,52 @@ public class ResponseExceptionHandler {
         .build();
   }
 
+  @ExceptionHandler(value = {BulkheadFullException.class})
+  @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+  public ErrorResponse handleBulkheadFull(BulkheadFullException ex, HttpServletResponse response) {
+    log.warn("Bulkhead full: {}", ex.getMessage());
+
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.SERVICE_UNAVAILABLE.value())
+        .errorMessage("Service unavailable")
+        .errorDetails(Collections.singletonList(
+            ErrorResponse.ErrorDetails.builder()
+                .message(ex.getMessage())
+                .build()
+        ))
+        .build();
+  }
+
+  @ExceptionHandler(value = {CannotCreateTransactionException.class})
+  public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(
+      CannotCreateTransactionException ex,
+      HttpServletResponse response
+  ) {
+    var bulkheadFull = ExceptionUtils.throwableOfType(ex, BulkheadFullException.class);
+    if (bulkheadFull == null) {
+      return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(unhandledException(ex));
+    }
+    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(handleBulkheadFull(bulkheadFull, response));
+  }
+
+  @ExceptionHandler(value = {RunFinishQueueFullException.class})
+  @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+  public ErrorResponse handleRunFinishQueueFull(RunFinishQueueFullException ex, HttpServletResponse response) {
+    log.warn("Run finish queue full: {}", ex.getMessage());
+
+    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.TOO_MANY_REQUESTS.value())
+        .errorMessage("Too many requests")
+        .errorDetails(Collections.singletonList(
+            ErrorResponse.ErrorDetails.builder()
+                .message(ex.getMessage())
+                .build()
+        ))
+        .build();
+  }
+
   @ExceptionHandler(value = {MethodArgumentNotValidException.class})
   @ResponseStatus(HttpStatus.BAD_REQUEST)
   public ErrorResponse handleMethodArgValid(MethodArgumentNotValidException ex) {
@@ -84,6 +147,36 @@ public class ResponseExceptionHandler {
         .build();
   }
 
+  @ExceptionHandler(value = {ConstraintViolationException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleConstraintViolation(ConstraintViolationException ex) {
+    log.warn("Request validation error: {}", ex.getMessage());
+
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.BAD_REQUEST.value())
+        .errorMessage("Business logic exception")
+        .errorDetails(getValidationErrorResponse(ex.getConstraintViolations()))
+        .build();
+  }
+
+  @ExceptionHandler(value = {MethodArgumentTypeMismatchException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleMethodArgTypeMismatch(MethodArgumentTypeMismatchException ex) {
+    log.warn("Request parameter type mismatch: {}", ex.getMessage());
+
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.BAD_REQUEST.value())
+        .errorMessage("Business logic exception")
+        .errorDetails(Collections.singletonList(
+            ErrorResponse.ErrorDetails.builder()
+                .message(String.format("Field '%s' has invalid value", ex.getName()))
+                .fieldName(ex.getName())
+                .rejectedValue(ex.getValue())
+                .build()
+        ))
+        .build();
+  }
+
   @ExceptionHandler(Exception.class)
   @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
   public ErrorResponse unhandledException(Exception ex) {
@@ -113,4 +206,25 @@ public class ResponseExceptionHandler {
             .build())
         .collect(Collectors.toList());
   }
+
+  private List<ErrorResponse.ErrorDetails> getValidationErrorResponse(
+      final Set<ConstraintViolation<?>> violations
+  ) {
+
+    return violations.stream()
+        .map(violation -> ErrorResponse.ErrorDetails.builder()
+            .message(violation.getMessage())
+            .fieldName(getLeafName(violation.getPropertyPath()))
+            .rejectedValue(violation.getInvalidValue())
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  private String getLeafName(final Path path) {
+    String name = null;
+    for (Path.Node node : path) {
+      name = node.getName();
+    }
+    return name;
+  }
 }
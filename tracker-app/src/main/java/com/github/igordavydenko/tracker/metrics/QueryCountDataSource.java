@@ -0,0 +1,78 @@
+package com.github.igordavydenko.tracker.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class QueryCountDataSource extends DelegatingDataSource {
+
+  private static final ThreadLocal<AtomicLong> QUERY_COUNT = new ThreadLocal<>();
+  private static final Set<String> STATEMENT_METHODS = Set.of("createStatement", "prepareStatement", "prepareCall");
+
+  public QueryCountDataSource(DataSource targetDataSource) {
+    super(targetDataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return counting(obtainTargetDataSource().getConnection());
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return counting(obtainTargetDataSource().getConnection(username, password));
+  }
+
+  static AtomicLong start() {
+    var counter = new AtomicLong();
+    QUERY_COUNT.set(counter);
+    return counter;
+  }
+
+  static void stop() {
+    QUERY_COUNT.remove();
+  }
+
+  static Runnable propagate(Runnable task) {
+    var counter = QUERY_COUNT.get();
+    if (counter == null) {
+      return task;
+    }
+    return () -> {
+      var previous = QUERY_COUNT.get();
+      QUERY_COUNT.set(counter);
+      try {
+        task.run();
+      } finally {
+        if (previous != null) {
+          QUERY_COUNT.set(previous);
+        } else {
+          QUERY_COUNT.remove();
+        }
+      }
+    };
+  }
+
+  private Connection counting(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(
+        Connection.class.getClassLoader(),
+        new Class<?>[] {Connection.class},
+        (proxy, method, args) -> {
+          var counter = QUERY_COUNT.get();
+          if (counter != null && STATEMENT_METHODS.contains(method.getName())) {
+            counter.incrementAndGet();
+          }
+          try {
+            return method.invoke(connection, args);
+          } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+          }
+        });
+  }
+}
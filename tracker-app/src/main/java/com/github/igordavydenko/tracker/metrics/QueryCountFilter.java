@@ -0,0 +1,73 @@
+package com.github.igordavydenko.tracker.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@RequiredArgsConstructor
+public class QueryCountFilter extends OncePerRequestFilter {
+
+  static final String METRIC_NAME = "tracker.http.server.queries";
+
+  private final MeterRegistry meterRegistry;
+
+  @Override
+  protected void doFilterInternal(
+      HttpServletRequest request,
+      HttpServletResponse response,
+      FilterChain filterChain
+  ) throws ServletException, IOException {
+    var counter = QueryCountDataSource.start();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      QueryCountDataSource.stop();
+      if (request.isAsyncStarted()) {
+        request.getAsyncContext().addListener(new AsyncListener() {
+          @Override
+          public void onComplete(AsyncEvent event) {
+            record(request, response, counter);
+          }
+
+          @Override
+          public void onTimeout(AsyncEvent event) {
+          }
+
+          @Override
+          public void onError(AsyncEvent event) {
+          }
+
+          @Override
+          public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+          }
+        });
+      } else {
+        record(request, response, counter);
+      }
+    }
+  }
+
+  private void record(HttpServletRequest request, HttpServletResponse response, AtomicLong counter) {
+    var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    DistributionSummary.builder(METRIC_NAME)
+        .description("SQL statements prepared per HTTP request, including async response bodies")
+        .baseUnit("queries")
+        .tag("method", request.getMethod())
+        .tag("uri", uri != null ? uri.toString() : "UNKNOWN")
+        .tag("status", String.valueOf(response.getStatus()))
+        .register(meterRegistry)
+        .record(counter.get());
+  }
+}
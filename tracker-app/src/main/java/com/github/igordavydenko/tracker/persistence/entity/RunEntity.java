@@ -7,6 +7,7 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
@@ -23,8 +24,11 @@ import java.time.LocalDateTime;
 @Setter
 public class RunEntity {
 
+  public static final int ID_ALLOCATION_SIZE = 50;
+
   @Id
-  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "runs_id_seq")
+  @SequenceGenerator(name = "runs_id_seq", sequenceName = "runs_id_seq", allocationSize = ID_ALLOCATION_SIZE)
   private Long id;
 
   @Column(name = "start_date_time", nullable = false)
@@ -48,6 +52,12 @@ public class RunEntity {
   @Column(name = "distance")
   private Integer distance;
 
+  @Column(name = "start_geohash")
+  private String startGeohash;
+
+  @Column(name = "finish_geohash")
+  private String finishGeohash;
+
   @ManyToOne
   @JoinColumn(name = "user_id", nullable = false)
   private UserEntity user;
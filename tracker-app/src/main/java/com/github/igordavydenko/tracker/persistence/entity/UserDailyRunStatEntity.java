@@ -0,0 +1,53 @@
+package com.github.igordavydenko.tracker.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Entity
+@Table(name = "user_daily_run_stats")
+@IdClass(UserDailyRunStatEntity.UserDay.class)
+@NoArgsConstructor
+@AllArgsConstructor
+@Getter
+@Setter
+public class UserDailyRunStatEntity {
+
+  @Id
+  @Column(name = "user_id", nullable = false)
+  private Long userId;
+
+  @Id
+  @Column(name = "day", nullable = false)
+  private LocalDate day;
+
+  @Column(name = "run_count", nullable = false)
+  private Integer runCount;
+
+  @Column(name = "distance_m", nullable = false)
+  private Long distance;
+
+  @Column(name = "duration_s", nullable = false)
+  private Long duration;
+
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  @Getter
+  @Setter
+  public static class UserDay implements Serializable {
+    private Long userId;
+    private LocalDate day;
+  }
+
+}
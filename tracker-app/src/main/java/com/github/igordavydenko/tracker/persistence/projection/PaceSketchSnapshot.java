@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class PaceSketchSnapshot {
+
+  LocalDate periodStart;
+  Boolean sex;
+  int ageGroup;
+  byte[] sketch;
+
+}
@@ -0,0 +1,65 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Getter
+public class RunCoordinatesChunk {
+
+  private final long[] runIds;
+  private final long[] userIds;
+  private final LocalDateTime[] startDateTimes;
+  private final long[] durations;
+  private final double[] startLatitudes;
+  private final double[] startLongitudes;
+  private final double[] finishLatitudes;
+  private final double[] finishLongitudes;
+  private final int[] distances;
+  private int size;
+
+  public RunCoordinatesChunk(int capacity) {
+    this.runIds = new long[capacity];
+    this.userIds = new long[capacity];
+    this.startDateTimes = new LocalDateTime[capacity];
+    this.durations = new long[capacity];
+    this.startLatitudes = new double[capacity];
+    this.startLongitudes = new double[capacity];
+    this.finishLatitudes = new double[capacity];
+    this.finishLongitudes = new double[capacity];
+    this.distances = new int[capacity];
+  }
+
+  public int getCapacity() {
+    return runIds.length;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+
+  public void add(
+      long runId,
+      long userId,
+      LocalDateTime startDateTime,
+      LocalDateTime finishDateTime,
+      double startLatitude,
+      double startLongitude,
+      double finishLatitude,
+      double finishLongitude,
+      int distance
+  ) {
+    runIds[size] = runId;
+    userIds[size] = userId;
+    startDateTimes[size] = startDateTime;
+    durations[size] = Duration.between(startDateTime, finishDateTime).getSeconds();
+    startLatitudes[size] = startLatitude;
+    startLongitudes[size] = startLongitude;
+    finishLatitudes[size] = finishLatitude;
+    finishLongitudes[size] = finishLongitude;
+    distances[size] = distance;
+    size++;
+  }
+
+}
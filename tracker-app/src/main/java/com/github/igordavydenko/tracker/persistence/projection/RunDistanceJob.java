@@ -0,0 +1,20 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Value
+public class RunDistanceJob {
+
+  UUID id;
+  String state;
+  long lastRunId;
+  long processedRuns;
+  long updatedRuns;
+  String errorMessage;
+  LocalDateTime createdAt;
+  LocalDateTime finishedAt;
+
+}
@@ -0,0 +1,10 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+@Value
+public class RunImportReject {
+  long lineNo;
+  String reason;
+  String rawData;
+}
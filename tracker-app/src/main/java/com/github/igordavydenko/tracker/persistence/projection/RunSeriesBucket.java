@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class RunSeriesBucket {
+
+  LocalDate start;
+  RunTotals totals;
+
+}
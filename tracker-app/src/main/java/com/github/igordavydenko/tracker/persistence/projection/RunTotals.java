@@ -0,0 +1,33 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+public interface RunTotals {
+
+  RunTotals EMPTY = of(0, 0, 0);
+
+  long getTotalRuns();
+
+  long getTotalDistance();
+
+  long getTotalDurationSeconds();
+
+  default RunTotals plus(RunTotals other) {
+    return of(
+        getTotalRuns() + other.getTotalRuns(),
+        getTotalDistance() + other.getTotalDistance(),
+        getTotalDurationSeconds() + other.getTotalDurationSeconds());
+  }
+
+  static RunTotals of(long totalRuns, long totalDistance, long totalDurationSeconds) {
+    return new Values(totalRuns, totalDistance, totalDurationSeconds);
+  }
+
+  @Value
+  class Values implements RunTotals {
+    long totalRuns;
+    long totalDistance;
+    long totalDurationSeconds;
+  }
+
+}
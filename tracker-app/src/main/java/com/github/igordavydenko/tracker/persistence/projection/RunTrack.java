@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class RunTrack {
+
+  Long runId;
+  LocalDateTime startDateTime;
+  byte[] track;
+  byte[] levels;
+
+}
@@ -0,0 +1,16 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class UserPeriodTotals {
+
+  Long userId;
+  Boolean sex;
+  LocalDate birthDate;
+  long distance;
+  long duration;
+
+}
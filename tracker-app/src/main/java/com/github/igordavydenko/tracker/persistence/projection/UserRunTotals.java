@@ -0,0 +1,16 @@
+package com.github.igordavydenko.tracker.persistence.projection;
+
+import lombok.Value;
+
+@Value
+public class UserRunTotals {
+
+  Long userId;
+  long weekRunCount;
+  long weekDistance;
+  long monthRunCount;
+  long monthDistance;
+  long runCount;
+  long distance;
+
+}
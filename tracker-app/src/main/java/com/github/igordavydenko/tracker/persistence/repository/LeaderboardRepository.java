@@ -0,0 +1,85 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.projection.UserRunTotals;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.function.Consumer;
+
+@Repository
+public class LeaderboardRepository {
+
+  private static final int STREAM_FETCH_SIZE = 1000;
+
+  private static final String TOTALS_QUERY = "SELECT user_id, "
+      + "COALESCE(SUM(run_count) FILTER (WHERE day >= ? AND day < ?), 0) AS week_run_count, "
+      + "COALESCE(SUM(distance_m) FILTER (WHERE day >= ? AND day < ?), 0) AS week_distance, "
+      + "COALESCE(SUM(run_count) FILTER (WHERE day >= ? AND day < ?), 0) AS month_run_count, "
+      + "COALESCE(SUM(distance_m) FILTER (WHERE day >= ? AND day < ?), 0) AS month_distance, "
+      + "SUM(run_count) AS run_count, SUM(distance_m) AS distance "
+      + "FROM user_daily_run_stats ";
+
+  private static final String FIND_ALL_TOTALS_QUERY = TOTALS_QUERY + "GROUP BY user_id";
+
+  private static final String FIND_USERS_TOTALS_QUERY = TOTALS_QUERY
+      + "WHERE user_id = ANY(CAST(? AS BIGINT[])) GROUP BY user_id";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public LeaderboardRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+  }
+
+  public void forEachTotals(
+      LocalDate weekStart,
+      LocalDate monthStart,
+      Consumer<UserRunTotals> consumer
+  ) {
+    jdbcTemplate.query(FIND_ALL_TOTALS_QUERY, resultSet -> {
+      consumer.accept(mapTotals(resultSet));
+    }, periodBounds(weekStart, monthStart));
+  }
+
+  public void forEachTotals(
+      LocalDate weekStart,
+      LocalDate monthStart,
+      Collection<Long> userIds,
+      Consumer<UserRunTotals> consumer
+  ) {
+    var bounds = periodBounds(weekStart, monthStart);
+    var params = new Object[bounds.length + 1];
+    System.arraycopy(bounds, 0, params, 0, bounds.length);
+    params[bounds.length] = userIds.toArray(Long[]::new);
+    jdbcTemplate.query(FIND_USERS_TOTALS_QUERY, resultSet -> {
+      consumer.accept(mapTotals(resultSet));
+    }, params);
+  }
+
+  private static Object[] periodBounds(LocalDate weekStart, LocalDate monthStart) {
+    var weekEnd = Date.valueOf(weekStart.plusWeeks(1));
+    var monthEnd = Date.valueOf(monthStart.plusMonths(1));
+    return new Object[] {
+        Date.valueOf(weekStart), weekEnd, Date.valueOf(weekStart), weekEnd,
+        Date.valueOf(monthStart), monthEnd, Date.valueOf(monthStart), monthEnd
+    };
+  }
+
+  private static UserRunTotals mapTotals(ResultSet resultSet) throws SQLException {
+    return new UserRunTotals(
+        resultSet.getLong("user_id"),
+        resultSet.getLong("week_run_count"),
+        resultSet.getLong("week_distance"),
+        resultSet.getLong("month_run_count"),
+        resultSet.getLong("month_distance"),
+        resultSet.getLong("run_count"),
+        resultSet.getLong("distance"));
+  }
+
+}
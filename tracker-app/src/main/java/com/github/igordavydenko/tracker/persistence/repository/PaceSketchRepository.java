@@ -0,0 +1,87 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.projection.PaceSketchSnapshot;
+import com.github.igordavydenko.tracker.persistence.projection.UserPeriodTotals;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+@Repository
+public class PaceSketchRepository {
+
+  private static final int STREAM_FETCH_SIZE = 1000;
+
+  private static final String FIND_SKETCHES_QUERY = "SELECT period_start, sex, age_group, sketch "
+      + "FROM pace_sketches WHERE period_start = ?";
+
+  private static final String UPSERT_SKETCH_QUERY = "INSERT INTO pace_sketches "
+      + "(period_start, sex, age_group, sketch, updated_at) VALUES (?, ?, ?, ?, ?) "
+      + "ON CONFLICT (period_start, sex, age_group) DO UPDATE SET "
+      + "sketch = EXCLUDED.sketch, updated_at = EXCLUDED.updated_at";
+
+  private static final String TOTALS_QUERY = "SELECT s.user_id, u.sex, u.birth_date, "
+      + "SUM(s.distance_m) AS distance, SUM(s.duration_s) AS duration "
+      + "FROM user_daily_run_stats s JOIN users u ON u.id = s.user_id "
+      + "WHERE s.day >= ? AND s.day < ? ";
+
+  private static final String FIND_ALL_TOTALS_QUERY = TOTALS_QUERY
+      + "GROUP BY s.user_id, u.sex, u.birth_date";
+
+  private static final String FIND_USERS_TOTALS_QUERY = TOTALS_QUERY
+      + "AND s.user_id = ANY(CAST(? AS BIGINT[])) GROUP BY s.user_id, u.sex, u.birth_date";
+
+  private static final RowMapper<UserPeriodTotals> TOTALS_ROW_MAPPER = (resultSet, rowNum) -> new UserPeriodTotals(
+      resultSet.getLong("user_id"),
+      resultSet.getBoolean("sex"),
+      resultSet.getDate("birth_date").toLocalDate(),
+      resultSet.getLong("distance"),
+      resultSet.getLong("duration"));
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public PaceSketchRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+  }
+
+  public List<PaceSketchSnapshot> findSketches(LocalDate periodStart) {
+    return jdbcTemplate.query(FIND_SKETCHES_QUERY,
+        (resultSet, rowNum) -> new PaceSketchSnapshot(
+            resultSet.getDate("period_start").toLocalDate(),
+            resultSet.getBoolean("sex"),
+            resultSet.getInt("age_group"),
+            resultSet.getBytes("sketch")),
+        Date.valueOf(periodStart));
+  }
+
+  public void saveSketches(List<PaceSketchSnapshot> sketches, LocalDateTime updatedAt) {
+    jdbcTemplate.batchUpdate(UPSERT_SKETCH_QUERY, sketches, sketches.size(), (statement, sketch) -> {
+      statement.setDate(1, Date.valueOf(sketch.getPeriodStart()));
+      statement.setBoolean(2, sketch.getSex());
+      statement.setInt(3, sketch.getAgeGroup());
+      statement.setBytes(4, sketch.getSketch());
+      statement.setTimestamp(5, Timestamp.valueOf(updatedAt));
+    });
+  }
+
+  public void forEachTotals(LocalDate fromDay, LocalDate toDay, Consumer<UserPeriodTotals> consumer) {
+    jdbcTemplate.query(FIND_ALL_TOTALS_QUERY, resultSet -> {
+      consumer.accept(TOTALS_ROW_MAPPER.mapRow(resultSet, 0));
+    }, Date.valueOf(fromDay), Date.valueOf(toDay));
+  }
+
+  public List<UserPeriodTotals> findTotals(LocalDate fromDay, LocalDate toDay, Collection<Long> userIds) {
+    return jdbcTemplate.query(FIND_USERS_TOTALS_QUERY, TOTALS_ROW_MAPPER,
+        Date.valueOf(fromDay), Date.valueOf(toDay), userIds.toArray(Long[]::new));
+  }
+
+}
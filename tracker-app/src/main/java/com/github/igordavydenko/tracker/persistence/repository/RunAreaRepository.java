@@ -0,0 +1,130 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.service.RunLocation;
+import com.github.igordavydenko.tracker.service.util.GeoHash;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class RunAreaRepository {
+
+  private static final String SELECT_QUERY = "SELECT r.id, r.user_id, r.start_date_time, r.finish_date_time, "
+      + "r.start_latitude, r.start_longitude, r.finish_latitude, r.finish_longitude, r.distance, "
+      + "r.start_geohash, r.finish_geohash "
+      + "FROM runs r JOIN unnest(CAST(? AS TEXT[]), CAST(? AS TEXT[])) AS cells(low, high) "
+      + "ON r.%1$s_geohash >= cells.low COLLATE \"C\" AND r.%1$s_geohash < cells.high COLLATE \"C\" "
+      + "WHERE ";
+
+  private static final String BOX_FILTER = "r.%1$s_latitude BETWEEN ? AND ? AND r.%1$s_longitude BETWEEN ? AND ?";
+
+  private static final String ANTIMERIDIAN_BOX_FILTER = "r.%1$s_latitude BETWEEN ? AND ? "
+      + "AND (r.%1$s_longitude >= ? OR r.%1$s_longitude <= ?)";
+
+  private static final String RADIUS_FILTER = "tracker_haversine_distance(?, ?, r.%1$s_latitude, r.%1$s_longitude) <= ?";
+
+  private static final String ORDER_QUERY = " ORDER BY r.start_date_time DESC, r.id DESC LIMIT ?";
+
+  private static final RowMapper<RunEntity> RUN_ROW_MAPPER = (resultSet, rowNum) -> {
+    var user = new UserEntity();
+    user.setId(resultSet.getLong("user_id"));
+    var finishDateTime = resultSet.getTimestamp("finish_date_time");
+    var run = new RunEntity();
+    run.setId(resultSet.getLong("id"));
+    run.setUser(user);
+    run.setStartDateTime(resultSet.getTimestamp("start_date_time").toLocalDateTime());
+    run.setFinishDateTime(finishDateTime != null ? finishDateTime.toLocalDateTime() : null);
+    run.setStartLatitude(resultSet.getDouble("start_latitude"));
+    run.setStartLongitude(resultSet.getDouble("start_longitude"));
+    run.setFinishLatitude(resultSet.getObject("finish_latitude", Double.class));
+    run.setFinishLongitude(resultSet.getObject("finish_longitude", Double.class));
+    run.setDistance(resultSet.getObject("distance", Integer.class));
+    run.setStartGeohash(resultSet.getString("start_geohash"));
+    run.setFinishGeohash(resultSet.getString("finish_geohash"));
+    return run;
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunAreaRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public List<RunEntity> findWithinBox(
+      RunLocation location,
+      List<String> cells,
+      double minLatitude,
+      double minLongitude,
+      double maxLatitude,
+      double maxLongitude,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime,
+      int limit
+  ) {
+    var filter = minLongitude <= maxLongitude ? BOX_FILTER : ANTIMERIDIAN_BOX_FILTER;
+    return find(location, cells, filter, List.of(minLatitude, maxLatitude, minLongitude, maxLongitude),
+        fromDateTime, toDateTime, limit);
+  }
+
+  public List<RunEntity> findWithinRadius(
+      RunLocation location,
+      List<String> cells,
+      double latitude,
+      double longitude,
+      double radius,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime,
+      int limit
+  ) {
+    return find(location, cells, RADIUS_FILTER, List.of(latitude, longitude, radius),
+        fromDateTime, toDateTime, limit);
+  }
+
+  private List<RunEntity> find(
+      RunLocation location,
+      List<String> cells,
+      String filter,
+      List<Object> filterArgs,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime,
+      int limit
+  ) {
+    var query = new StringBuilder(SELECT_QUERY).append(filter);
+    List<Object> args = new ArrayList<>(filterArgs);
+    if (fromDateTime != null) {
+      query.append(" AND r.start_date_time >= ?");
+      args.add(Timestamp.valueOf(fromDateTime));
+    }
+    if (toDateTime != null) {
+      query.append(" AND r.start_date_time <= ?");
+      args.add(Timestamp.valueOf(toDateTime));
+    }
+    query.append(ORDER_QUERY);
+    args.add(limit);
+
+    var sql = String.format(query.toString(), location.getColumnPrefix());
+    var highs = cells.stream()
+        .map(cell -> cell + GeoHash.RANGE_END)
+        .toArray();
+    return jdbcTemplate.query(
+        connection -> {
+          var statement = connection.prepareStatement(sql);
+          statement.setArray(1, connection.createArrayOf("text", cells.toArray()));
+          statement.setArray(2, connection.createArrayOf("text", highs));
+          for (int i = 0; i < args.size(); i++) {
+            statement.setObject(i + 3, args.get(i));
+          }
+          return statement;
+        },
+        RUN_ROW_MAPPER);
+  }
+
+}
@@ -0,0 +1,125 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.projection.RunCoordinatesChunk;
+import com.github.igordavydenko.tracker.persistence.projection.RunDistanceJob;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class RunDistanceRepository {
+
+  private static final String FIND_CHUNK_QUERY = "SELECT id, user_id, start_date_time, finish_date_time, "
+      + "start_latitude, start_longitude, finish_latitude, finish_longitude, distance "
+      + "FROM runs WHERE id > ? AND finish_date_time IS NOT NULL AND track IS NULL "
+      + "AND finish_latitude IS NOT NULL AND finish_longitude IS NOT NULL AND distance IS NOT NULL "
+      + "ORDER BY id LIMIT ?";
+
+  private static final String UPDATE_DISTANCE_QUERY = "UPDATE runs SET distance = ? "
+      + "WHERE id = ? AND start_date_time = ? AND distance = ? AND track IS NULL";
+
+  private static final String JOB_COLUMNS = "id, state, last_run_id, processed_runs, updated_runs, "
+      + "error_message, created_at, finished_at";
+
+  private static final String CREATE_JOB_QUERY = "INSERT INTO run_distance_jobs (id, state, created_at) "
+      + "VALUES (?, ?, ?)";
+
+  private static final String FIND_JOB_QUERY = "SELECT " + JOB_COLUMNS + " FROM run_distance_jobs WHERE id = ?";
+
+  private static final String FIND_JOBS_BY_STATE_QUERY = "SELECT " + JOB_COLUMNS + " FROM run_distance_jobs "
+      + "WHERE state = ? ORDER BY created_at";
+
+  private static final String UPDATE_PROGRESS_QUERY = "UPDATE run_distance_jobs SET last_run_id = ?, "
+      + "processed_runs = processed_runs + ?, updated_runs = updated_runs + ? WHERE id = ?";
+
+  private static final String UPDATE_STATE_QUERY = "UPDATE run_distance_jobs SET state = ?, error_message = ?, "
+      + "finished_at = ? WHERE id = ?";
+
+  private static final RowMapper<RunDistanceJob> JOB_ROW_MAPPER = (resultSet, rowNum) -> {
+    var finishedAt = resultSet.getTimestamp("finished_at");
+    return new RunDistanceJob(
+        resultSet.getObject("id", UUID.class),
+        resultSet.getString("state"),
+        resultSet.getLong("last_run_id"),
+        resultSet.getLong("processed_runs"),
+        resultSet.getLong("updated_runs"),
+        resultSet.getString("error_message"),
+        resultSet.getTimestamp("created_at").toLocalDateTime(),
+        finishedAt != null ? finishedAt.toLocalDateTime() : null);
+  };
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunDistanceRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void findChunk(long afterRunId, RunCoordinatesChunk chunk) {
+    chunk.clear();
+    jdbcTemplate.query(FIND_CHUNK_QUERY, resultSet -> {
+      chunk.add(
+          resultSet.getLong("id"),
+          resultSet.getLong("user_id"),
+          resultSet.getTimestamp("start_date_time").toLocalDateTime(),
+          resultSet.getTimestamp("finish_date_time").toLocalDateTime(),
+          resultSet.getDouble("start_latitude"),
+          resultSet.getDouble("start_longitude"),
+          resultSet.getDouble("finish_latitude"),
+          resultSet.getDouble("finish_longitude"),
+          resultSet.getInt("distance"));
+    }, afterRunId, chunk.getCapacity());
+  }
+
+  public int[] updateDistances(RunCoordinatesChunk chunk, int[] indexes, int[] distances, int count) {
+    return jdbcTemplate.batchUpdate(UPDATE_DISTANCE_QUERY, new BatchPreparedStatementSetter() {
+
+      @Override
+      public void setValues(PreparedStatement statement, int i) throws SQLException {
+        var index = indexes[i];
+        statement.setInt(1, distances[i]);
+        statement.setLong(2, chunk.getRunIds()[index]);
+        statement.setTimestamp(3, Timestamp.valueOf(chunk.getStartDateTimes()[index]));
+        statement.setInt(4, chunk.getDistances()[index]);
+      }
+
+      @Override
+      public int getBatchSize() {
+        return count;
+      }
+    });
+  }
+
+  public void createJob(UUID id, String state, LocalDateTime createdAt) {
+    jdbcTemplate.update(CREATE_JOB_QUERY, id, state, Timestamp.valueOf(createdAt));
+  }
+
+  public Optional<RunDistanceJob> findJob(UUID id) {
+    return jdbcTemplate.query(FIND_JOB_QUERY, JOB_ROW_MAPPER, id)
+        .stream()
+        .findFirst();
+  }
+
+  public List<RunDistanceJob> findJobsByState(String state) {
+    return jdbcTemplate.query(FIND_JOBS_BY_STATE_QUERY, JOB_ROW_MAPPER, state);
+  }
+
+  public void updateProgress(UUID id, long lastRunId, long processedRuns, long updatedRuns) {
+    jdbcTemplate.update(UPDATE_PROGRESS_QUERY, lastRunId, processedRuns, updatedRuns, id);
+  }
+
+  public void updateState(UUID id, String state, String errorMessage, LocalDateTime finishedAt) {
+    jdbcTemplate.update(UPDATE_STATE_QUERY, state, errorMessage,
+        finishedAt != null ? Timestamp.valueOf(finishedAt) : null, id);
+  }
+
+}
@@ -0,0 +1,239 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunImportReject;
+import com.github.igordavydenko.tracker.service.util.GeoHash;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Repository
+public class RunImportRepository {
+
+  private static final int STREAM_FETCH_SIZE = 500;
+
+  private static final String ID_PATTERN = "'^\\s*[0-9]{1,18}\\s*$'";
+  private static final String INTEGER_PATTERN = "'^\\s*[-+]?[0-9]{1,9}\\s*$'";
+  static final String NUMBER_REGEX =
+      "^\\s*[-+]?([0-9]{1,30}(\\.[0-9]{0,100})?|\\.[0-9]{1,100})([eE][-+]?[0-9]{1,2})?\\s*$";
+  private static final String NUMBER_PATTERN = "'" + NUMBER_REGEX + "'";
+
+  private static final String STAGING_COLUMNS = "user_id, start_date_time, finish_date_time, "
+      + "start_latitude, start_longitude, finish_latitude, finish_longitude, distance";
+
+  private static final String CREATE_STAGING_QUERY = "CREATE TEMP TABLE run_import_staging ("
+      + "line_no BIGSERIAL, user_id TEXT, start_date_time TEXT, finish_date_time TEXT, "
+      + "start_latitude TEXT, start_longitude TEXT, finish_latitude TEXT, finish_longitude TEXT, distance TEXT, "
+      + "raw_data JSONB, malformed BOOLEAN NOT NULL DEFAULT FALSE) ON COMMIT DROP";
+
+  private static final String CREATE_LINES_QUERY = "CREATE TEMP TABLE run_import_lines ("
+      + "line_no BIGSERIAL, line TEXT) ON COMMIT DROP";
+
+  private static final String SKIP_CSV_HEADER_LINE_QUERY =
+      "SELECT setval(pg_get_serial_sequence('run_import_staging', 'line_no'), 1)";
+
+  private static final String COPY_CSV_QUERY = "COPY run_import_staging (" + STAGING_COLUMNS + ") "
+      + "FROM STDIN WITH (FORMAT csv, HEADER true)";
+
+  private static final String COPY_LINES_QUERY = "COPY run_import_lines (line) "
+      + "FROM STDIN WITH (FORMAT csv, DELIMITER E'\\x1f', QUOTE E'\\x1e')";
+
+  private static final String PARSE_NDJSON_QUERY = "INSERT INTO run_import_staging (line_no, " + STAGING_COLUMNS
+      + ", raw_data, malformed) "
+      + "SELECT l.line_no, d.doc ->> 'userId', d.doc ->> 'startDateTime', d.doc ->> 'finishDateTime', "
+      + "d.doc ->> 'startLatitude', d.doc ->> 'startLongitude', d.doc ->> 'finishLatitude', "
+      + "d.doc ->> 'finishLongitude', d.doc ->> 'distance', "
+      + "COALESCE(d.doc, to_jsonb(l.line)), d.doc IS NULL OR jsonb_typeof(d.doc) <> 'object' "
+      + "FROM run_import_lines l "
+      + "CROSS JOIN LATERAL (SELECT tracker_try_cast_jsonb(l.line) AS doc) d "
+      + "WHERE btrim(l.line) <> ''";
+
+  private static final String VALIDATE_QUERY = "CREATE TEMP TABLE run_import_checked ON COMMIT DROP AS "
+      + "SELECT c.*, CASE "
+      + "WHEN c.malformed THEN 'Malformed JSON line' "
+      + "WHEN c.user_id_value IS NULL OR c.user_id_value = 0 THEN 'Field ''userId'' must be a positive integer' "
+      + "WHEN c.existing_user_id IS NULL THEN format('User by id ''%s'' not found', c.user_id_value) "
+      + timestampChecks("start_date_time", "start_value", "startDateTime")
+      + coordinateChecks("start_latitude", "startLatitude", 90)
+      + coordinateChecks("start_longitude", "startLongitude", 180)
+      + timestampChecks("finish_date_time", "finish_value", "finishDateTime")
+      + coordinateChecks("finish_latitude", "finishLatitude", 90)
+      + coordinateChecks("finish_longitude", "finishLongitude", 180)
+      + "WHEN c.finish_value < c.start_value THEN 'Finish time should be after start time' "
+      + "WHEN NULLIF(btrim(c.distance), '') IS NOT NULL AND c.distance_value IS NULL "
+      + "THEN 'Field ''distance'' must be an integer' "
+      + "WHEN c.distance_value < 0 THEN 'Run distance must be positive or zero' "
+      + "WHEN c.duplicate_rank > 1 THEN 'Duplicate run in import' "
+      + "WHEN EXISTS (SELECT 1 FROM runs r WHERE r.user_id = c.user_id_value AND r.start_date_time = c.start_value) "
+      + "THEN 'Run with the same start time already exists' "
+      + "END AS reason "
+      + "FROM (SELECT s.*, t.*, u.id AS existing_user_id, "
+      + "row_number() OVER (PARTITION BY t.user_id_value, t.start_value ORDER BY s.line_no) AS duplicate_rank "
+      + "FROM run_import_staging s "
+      + "CROSS JOIN LATERAL (SELECT "
+      + "CASE WHEN s.user_id ~ " + ID_PATTERN + " THEN CAST(btrim(s.user_id) AS BIGINT) END AS user_id_value, "
+      + "tracker_try_cast_timestamp(NULLIF(btrim(s.start_date_time), '')) AS start_value, "
+      + "tracker_try_cast_timestamp(NULLIF(btrim(s.finish_date_time), '')) AS finish_value, "
+      + numberValue("start_latitude") + ", "
+      + numberValue("start_longitude") + ", "
+      + numberValue("finish_latitude") + ", "
+      + numberValue("finish_longitude") + ", "
+      + "CASE WHEN s.distance ~ " + INTEGER_PATTERN + " THEN CAST(btrim(s.distance) AS INTEGER) END AS distance_value"
+      + ") t "
+      + "LEFT JOIN users u ON u.id = t.user_id_value) c";
+
+  private static final String COUNT_ACCEPTED_QUERY = "SELECT COUNT(*) FROM run_import_checked WHERE reason IS NULL";
+
+  private static final String SAVE_REJECTS_QUERY = "INSERT INTO run_import_rejects (import_id, line_no, reason, raw_data) "
+      + "SELECT ?, line_no, reason, COALESCE(raw_data, jsonb_build_object("
+      + "'userId', user_id, 'startDateTime', start_date_time, 'finishDateTime', finish_date_time, "
+      + "'startLatitude', start_latitude, 'startLongitude', start_longitude, "
+      + "'finishLatitude', finish_latitude, 'finishLongitude', finish_longitude, 'distance', distance)) "
+      + "FROM run_import_checked WHERE reason IS NOT NULL";
+
+  private static final String CREATE_PARTITIONS_QUERY = "SELECT tracker_create_runs_partition(CAST(month AS DATE)) "
+      + "FROM (SELECT DISTINCT date_trunc('month', start_value) AS month "
+      + "FROM run_import_checked WHERE reason IS NULL) months";
+
+  private static final String MERGE_QUERY = "WITH accepted AS ("
+      + "SELECT row_number() OVER (ORDER BY line_no) AS rn, user_id_value, start_value, finish_value, "
+      + "start_latitude_value, start_longitude_value, finish_latitude_value, finish_longitude_value, "
+      + "COALESCE(distance_value, CAST(trunc(tracker_haversine_distance("
+      + "start_latitude_value, start_longitude_value, finish_latitude_value, finish_longitude_value)) AS INTEGER)) "
+      + "AS distance_value "
+      + "FROM run_import_checked WHERE reason IS NULL), "
+      + "ids AS ("
+      + "SELECT row_number() OVER (ORDER BY id) AS rn, id "
+      + "FROM (SELECT b.hi - g.n AS id "
+      + "FROM (SELECT nextval('runs_id_seq') AS hi FROM generate_series(1, ?)) b "
+      + "CROSS JOIN generate_series(0, ? - 1) AS g(n)) block_ids), "
+      + "inserted AS ("
+      + "INSERT INTO runs (id, user_id, start_date_time, finish_date_time, "
+      + "start_latitude, start_longitude, finish_latitude, finish_longitude, distance, "
+      + "start_geohash, finish_geohash) "
+      + "SELECT ids.id, a.user_id_value, a.start_value, a.finish_value, "
+      + "a.start_latitude_value, a.start_longitude_value, a.finish_latitude_value, a.finish_longitude_value, "
+      + "a.distance_value, "
+      + "tracker_geohash(a.start_latitude_value, a.start_longitude_value, " + GeoHash.PRECISION + "), "
+      + "tracker_geohash(a.finish_latitude_value, a.finish_longitude_value, " + GeoHash.PRECISION + ") "
+      + "FROM accepted a JOIN ids ON ids.rn = a.rn "
+      + "RETURNING user_id, start_date_time, finish_date_time, distance) "
+      + "INSERT INTO user_daily_run_stats (user_id, day, run_count, distance_m, duration_s) "
+      + "SELECT user_id, CAST(start_date_time AS DATE), COUNT(*), "
+      + "COALESCE(SUM(distance) FILTER (WHERE distance > 0), 0), "
+      + "CAST(COALESCE(SUM(trunc(EXTRACT(EPOCH FROM (finish_date_time - start_date_time)))) "
+      + "FILTER (WHERE distance > 0), 0) AS BIGINT) "
+      + "FROM inserted GROUP BY user_id, CAST(start_date_time AS DATE) "
+      + "ON CONFLICT (user_id, day) DO UPDATE SET "
+      + "run_count = user_daily_run_stats.run_count + EXCLUDED.run_count, "
+      + "distance_m = user_daily_run_stats.distance_m + EXCLUDED.distance_m, "
+      + "duration_s = user_daily_run_stats.duration_s + EXCLUDED.duration_s "
+      + "RETURNING user_id";
+
+  private static final String FIND_REJECTS_QUERY = "SELECT line_no, reason, CAST(raw_data AS TEXT) AS raw_data "
+      + "FROM run_import_rejects WHERE import_id = ? ORDER BY line_no";
+
+  private static final String DELETE_REJECTS_QUERY = "DELETE FROM run_import_rejects "
+      + "WHERE created_at < now() - make_interval(secs => ?) AND NOT (import_id = ANY (?))";
+
+  private final DataSource dataSource;
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunImportRepository(DataSource dataSource) {
+    this.dataSource = dataSource;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(STREAM_FETCH_SIZE);
+  }
+
+  public long copyCsv(InputStream content) throws SQLException, IOException {
+    jdbcTemplate.execute(CREATE_STAGING_QUERY);
+    jdbcTemplate.queryForObject(SKIP_CSV_HEADER_LINE_QUERY, Long.class);
+    return copyIn(COPY_CSV_QUERY, content);
+  }
+
+  public long copyNdjson(InputStream content) throws SQLException, IOException {
+    jdbcTemplate.execute(CREATE_STAGING_QUERY);
+    jdbcTemplate.execute(CREATE_LINES_QUERY);
+    copyIn(COPY_LINES_QUERY, content);
+    return jdbcTemplate.update(PARSE_NDJSON_QUERY);
+  }
+
+  public long validate() {
+    jdbcTemplate.execute(VALIDATE_QUERY);
+    var accepted = jdbcTemplate.queryForObject(COUNT_ACCEPTED_QUERY, Long.class);
+    return accepted != null ? accepted : 0;
+  }
+
+  public long saveRejects(UUID importId) {
+    return jdbcTemplate.update(SAVE_REJECTS_QUERY, importId);
+  }
+
+  public Set<Long> mergeAccepted(long accepted) {
+    if (accepted == 0) {
+      return Set.of();
+    }
+    jdbcTemplate.queryForList(CREATE_PARTITIONS_QUERY, Boolean.class);
+    var blocks = (accepted + RunEntity.ID_ALLOCATION_SIZE - 1) / RunEntity.ID_ALLOCATION_SIZE;
+    return new HashSet<>(jdbcTemplate.queryForList(MERGE_QUERY, Long.class, blocks, RunEntity.ID_ALLOCATION_SIZE));
+  }
+
+  public void forEachReject(UUID importId, Consumer<RunImportReject> consumer) {
+    jdbcTemplate.query(FIND_REJECTS_QUERY, resultSet -> {
+      consumer.accept(new RunImportReject(
+          resultSet.getLong("line_no"),
+          resultSet.getString("reason"),
+          resultSet.getString("raw_data")));
+    }, importId);
+  }
+
+  public int deleteRejectsOlderThan(Duration age, Collection<UUID> keptImportIds) {
+    return jdbcTemplate.update(connection -> {
+      var statement = connection.prepareStatement(DELETE_REJECTS_QUERY);
+      statement.setLong(1, age.toSeconds());
+      statement.setArray(2, connection.createArrayOf("uuid", keptImportIds.toArray()));
+      return statement;
+    });
+  }
+
+  private long copyIn(String query, InputStream content) throws SQLException, IOException {
+    var connection = DataSourceUtils.getConnection(dataSource);
+    try {
+      return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(query, content);
+    } finally {
+      DataSourceUtils.releaseConnection(connection, dataSource);
+    }
+  }
+
+  private static String numberValue(String column) {
+    return "CASE WHEN s." + column + " ~ " + NUMBER_PATTERN
+        + " THEN CAST(btrim(s." + column + ") AS DOUBLE PRECISION) END AS " + column + "_value";
+  }
+
+  private static String timestampChecks(String column, String valueColumn, String field) {
+    return "WHEN NULLIF(btrim(c." + column + "), '') IS NULL THEN 'Run " + field + " can''t be null' "
+        + "WHEN c." + valueColumn + " IS NULL THEN 'Field ''" + field + "'' must be a valid date-time' ";
+  }
+
+  private static String coordinateChecks(String column, String field, int limit) {
+    var valueColumn = "c." + column + "_value";
+    return "WHEN NULLIF(btrim(c." + column + "), '') IS NULL THEN 'Run " + field + " can''t be null' "
+        + "WHEN " + valueColumn + " IS NULL THEN 'Field ''" + field + "'' must be a number' "
+        + "WHEN " + valueColumn + " < -" + limit + " "
+        + "THEN 'Field ''" + field + "'' must be greater than or equal to -" + limit + ".0' "
+        + "WHEN " + valueColumn + " > " + limit + " "
+        + "THEN 'Field ''" + field + "'' must be less than or equal to " + limit + ".0' ";
+  }
+
+}
@@ -0,0 +1,30 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+
+@Repository
+public class RunPartitionRepository {
+
+  private static final String CREATE_PARTITIONS_QUERY = "SELECT tracker_create_runs_partitions(?)";
+  private static final String DETACH_PARTITIONS_QUERY = "SELECT tracker_detach_runs_partitions(?)";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunPartitionRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public int createPartitions(int monthsAhead) {
+    var created = jdbcTemplate.queryForObject(CREATE_PARTITIONS_QUERY, Integer.class, monthsAhead);
+    return created != null ? created : 0;
+  }
+
+  public int detachPartitions(int retentionMonths) {
+    var detached = jdbcTemplate.queryForObject(DETACH_PARTITIONS_QUERY, Integer.class, retentionMonths);
+    return detached != null ? detached : 0;
+  }
+
+}
@@ -0,0 +1,56 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.service.RunPoint;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public class RunPointRepository {
+
+  private static final String INSERT_QUERY = "INSERT INTO run_points "
+      + "(run_id, point_time, latitude, longitude, user_id) VALUES (?, ?, ?, ?, ?) "
+      + "ON CONFLICT (run_id, point_time) DO NOTHING";
+
+  private static final String DELETE_QUERY = "DELETE FROM run_points WHERE run_id = ANY (?) "
+      + "RETURNING run_id, user_id, point_time, latitude, longitude";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunPointRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void insert(List<RunPoint> points) {
+    jdbcTemplate.batchUpdate(INSERT_QUERY, points, points.size(), (statement, point) -> {
+      statement.setLong(1, point.getRunId());
+      statement.setTimestamp(2, Timestamp.valueOf(point.getPointTime()));
+      statement.setDouble(3, point.getLatitude());
+      statement.setDouble(4, point.getLongitude());
+      statement.setLong(5, point.getUserId());
+    });
+  }
+
+  public List<RunPoint> deleteByRunIds(Collection<Long> runIds) {
+    if (runIds.isEmpty()) {
+      return List.of();
+    }
+    return jdbcTemplate.query(
+        connection -> {
+          var statement = connection.prepareStatement(DELETE_QUERY);
+          statement.setArray(1, connection.createArrayOf("bigint", runIds.toArray()));
+          return statement;
+        },
+        (resultSet, rowNum) -> new RunPoint(
+            resultSet.getLong("run_id"),
+            resultSet.getLong("user_id"),
+            resultSet.getTimestamp("point_time").toLocalDateTime(),
+            resultSet.getDouble("latitude"),
+            resultSet.getDouble("longitude")));
+  }
+
+}
@@ -1,13 +1,31 @@
 package com.github.igordavydenko.tracker.persistence.repository;
 
 import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RunRepository extends JpaRepository<RunEntity, Long> {
 
+  String STREAM_FETCH_SIZE = "500";
+
+  String RUN_TOTALS_QUERY = "SELECT COUNT(*) AS totalRuns, "
+      + "COALESCE(SUM(r.distance) FILTER (WHERE r.distance > 0 AND r.finish_date_time IS NOT NULL), 0) "
+      + "AS totalDistance, "
+      + "CAST(COALESCE(SUM(trunc(EXTRACT(EPOCH FROM (r.finish_date_time - r.start_date_time)))) "
+      + "FILTER (WHERE r.distance > 0 AND r.finish_date_time IS NOT NULL), 0) AS BIGINT) AS totalDurationSeconds "
+      + "FROM runs r WHERE r.user_id = :userId";
+
   default List<RunEntity> findByUserIdAndPeriod(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
     if (fromDateTime != null && toDateTime != null) {
       return findByUserIdAndStartDateTimeBetween(userId, fromDateTime, toDateTime);
@@ -28,4 +46,139 @@ public interface RunRepository extends JpaRepository<RunEntity, Long> {
 
   List<RunEntity> findByUserId(Long userId);
 
+  Optional<RunEntity> findByUserIdAndFinishDateTimeIsNull(Long userId);
+
+  List<RunEntity> findByUserIdInAndFinishDateTimeIsNull(Collection<Long> userIds);
+
+  default Stream<RunEntity> streamByUserIdAndPeriod(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+    if (fromDateTime != null && toDateTime != null) {
+      return streamByUserIdAndStartDateTimeBetweenOrderByStartDateTimeAscIdAsc(userId, fromDateTime, toDateTime);
+    } else if (fromDateTime != null) {
+      return streamByUserIdAndStartDateTimeAfterOrderByStartDateTimeAscIdAsc(userId, fromDateTime);
+    } else if (toDateTime != null) {
+      return streamByUserIdAndStartDateTimeBeforeOrderByStartDateTimeAscIdAsc(userId, toDateTime);
+    } else {
+      return streamByUserIdOrderByStartDateTimeAscIdAsc(userId);
+    }
+  }
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<RunEntity> streamByUserIdAndStartDateTimeBetweenOrderByStartDateTimeAscIdAsc(
+      Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<RunEntity> streamByUserIdAndStartDateTimeAfterOrderByStartDateTimeAscIdAsc(
+      Long userId, LocalDateTime fromDateTime);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<RunEntity> streamByUserIdAndStartDateTimeBeforeOrderByStartDateTimeAscIdAsc(
+      Long userId, LocalDateTime toDateTime);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<RunEntity> streamByUserIdOrderByStartDateTimeAscIdAsc(Long userId);
+
+  default List<RunEntity> findPageByUserId(
+      Long userId,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime,
+      LocalDateTime afterStartDateTime,
+      Long afterId,
+      Limit limit
+  ) {
+    if (afterStartDateTime != null && toDateTime != null && fromDateTime != null) {
+      return findPageByUserIdAfterAndBefore(userId, afterStartDateTime, afterId, toDateTime, limit);
+    } else if (afterStartDateTime != null && toDateTime != null) {
+      return findPageByUserIdAfterAndUntil(userId, afterStartDateTime, afterId, toDateTime, limit);
+    } else if (afterStartDateTime != null) {
+      return findPageByUserIdAfter(userId, afterStartDateTime, afterId, limit);
+    } else if (fromDateTime != null && toDateTime != null) {
+      return findByUserIdAndStartDateTimeBetweenOrderByStartDateTimeAscIdAsc(userId, fromDateTime, toDateTime, limit);
+    } else if (fromDateTime != null) {
+      return findByUserIdAndStartDateTimeAfterOrderByStartDateTimeAscIdAsc(userId, fromDateTime, limit);
+    } else if (toDateTime != null) {
+      return findByUserIdAndStartDateTimeBeforeOrderByStartDateTimeAscIdAsc(userId, toDateTime, limit);
+    } else {
+      return findByUserIdOrderByStartDateTimeAscIdAsc(userId, limit);
+    }
+  }
+
+  @Query("SELECT r FROM RunEntity r WHERE r.user.id = :userId "
+      + "AND r.startDateTime >= :afterStartDateTime "
+      + "AND (r.startDateTime > :afterStartDateTime OR r.id > :afterId) "
+      + "AND r.startDateTime <= :toDateTime "
+      + "ORDER BY r.startDateTime, r.id")
+  List<RunEntity> findPageByUserIdAfterAndBefore(
+      Long userId, LocalDateTime afterStartDateTime, Long afterId, LocalDateTime toDateTime, Limit limit);
+
+  @Query("SELECT r FROM RunEntity r WHERE r.user.id = :userId "
+      + "AND r.startDateTime >= :afterStartDateTime "
+      + "AND (r.startDateTime > :afterStartDateTime OR r.id > :afterId) "
+      + "AND r.startDateTime < :toDateTime "
+      + "ORDER BY r.startDateTime, r.id")
+  List<RunEntity> findPageByUserIdAfterAndUntil(
+      Long userId, LocalDateTime afterStartDateTime, Long afterId, LocalDateTime toDateTime, Limit limit);
+
+  @Query("SELECT r FROM RunEntity r WHERE r.user.id = :userId "
+      + "AND r.startDateTime >= :afterStartDateTime "
+      + "AND (r.startDateTime > :afterStartDateTime OR r.id > :afterId) "
+      + "ORDER BY r.startDateTime, r.id")
+  List<RunEntity> findPageByUserIdAfter(Long userId, LocalDateTime afterStartDateTime, Long afterId, Limit limit);
+
+  List<RunEntity> findByUserIdAndStartDateTimeBetweenOrderByStartDateTimeAscIdAsc(
+      Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime, Limit limit);
+
+  List<RunEntity> findByUserIdAndStartDateTimeAfterOrderByStartDateTimeAscIdAsc(
+      Long userId, LocalDateTime fromDateTime, Limit limit);
+
+  List<RunEntity> findByUserIdAndStartDateTimeBeforeOrderByStartDateTimeAscIdAsc(
+      Long userId, LocalDateTime toDateTime, Limit limit);
+
+  List<RunEntity> findByUserIdOrderByStartDateTimeAscIdAsc(Long userId, Limit limit);
+
+  default RunTotals getRunTotalsByUserIdAndPeriod(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+    if (fromDateTime != null && toDateTime != null) {
+      return getRunTotalsByUserIdAndStartDateTimeBetween(userId, fromDateTime, toDateTime);
+    } else if (fromDateTime != null) {
+      return getRunTotalsByUserIdAndStartDateTimeAfter(userId, fromDateTime);
+    } else if (toDateTime != null) {
+      return getRunTotalsByUserIdAndStartDateTimeBefore(userId, toDateTime);
+    } else {
+      return getRunTotalsByUserId(userId);
+    }
+  }
+
+  @Query(value = RUN_TOTALS_QUERY + " AND r.start_date_time BETWEEN :fromDateTime AND :toDateTime", nativeQuery = true)
+  RunTotals getRunTotalsByUserIdAndStartDateTimeBetween(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime);
+
+  @Query(value = RUN_TOTALS_QUERY
+      + " AND r.start_date_time >= :fromDateTime AND r.start_date_time < :untilDateTime", nativeQuery = true)
+  RunTotals getRunTotalsByUserIdAndStartDateTimeFromUntil(
+      Long userId, LocalDateTime fromDateTime, LocalDateTime untilDateTime);
+
+  @Query(value = RUN_TOTALS_QUERY
+      + " AND r.start_date_time > :fromDateTime AND r.start_date_time < :untilDateTime", nativeQuery = true)
+  RunTotals getRunTotalsByUserIdAndStartDateTimeAfterUntil(
+      Long userId, LocalDateTime fromDateTime, LocalDateTime untilDateTime);
+
+  @Query(value = RUN_TOTALS_QUERY + " AND r.start_date_time > :fromDateTime", nativeQuery = true)
+  RunTotals getRunTotalsByUserIdAndStartDateTimeAfter(Long userId, LocalDateTime fromDateTime);
+
+  @Query(value = RUN_TOTALS_QUERY + " AND r.start_date_time < :toDateTime", nativeQuery = true)
+  RunTotals getRunTotalsByUserIdAndStartDateTimeBefore(Long userId, LocalDateTime toDateTime);
+
+  @Query(value = RUN_TOTALS_QUERY, nativeQuery = true)
+  RunTotals getRunTotalsByUserId(Long userId);
+
 }
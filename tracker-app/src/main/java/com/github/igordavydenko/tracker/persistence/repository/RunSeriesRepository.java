@@ -0,0 +1,48 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.projection.RunSeriesBucket;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+public class RunSeriesRepository {
+
+  private static final String SERIES_QUERY = "SELECT CAST(date_trunc(?, day) AS DATE) AS bucket_start, "
+      + "SUM(run_count) AS total_runs, SUM(distance_m) AS total_distance, SUM(duration_s) AS total_duration "
+      + "FROM user_daily_run_stats WHERE user_id = ? ";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunSeriesRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public List<RunSeriesBucket> findSeries(String unit, Long userId, LocalDate fromDay, LocalDate toDay) {
+    var query = new StringBuilder(SERIES_QUERY);
+    List<Object> args = new ArrayList<>(List.of(unit, userId));
+    if (fromDay != null) {
+      query.append("AND day >= ? ");
+      args.add(Date.valueOf(fromDay));
+    }
+    if (toDay != null) {
+      query.append("AND day <= ? ");
+      args.add(Date.valueOf(toDay));
+    }
+    query.append("GROUP BY 1 ORDER BY 1");
+    return jdbcTemplate.query(query.toString(), (resultSet, rowNum) -> new RunSeriesBucket(
+        resultSet.getDate("bucket_start").toLocalDate(),
+        RunTotals.of(
+            resultSet.getLong("total_runs"),
+            resultSet.getLong("total_distance"),
+            resultSet.getLong("total_duration"))),
+        args.toArray());
+  }
+
+}
@@ -0,0 +1,48 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.projection.RunTrack;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class RunTrackRepository {
+
+  private static final String UPDATE_QUERY = "UPDATE runs SET track = ?, track_levels = ? "
+      + "WHERE id = ? AND start_date_time = ?";
+
+  private static final String FIND_QUERY = "SELECT id, start_date_time, track, track_levels FROM runs "
+      + "WHERE id = ? AND user_id = ?";
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public RunTrackRepository(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  public void saveAll(List<RunTrack> tracks) {
+    jdbcTemplate.batchUpdate(UPDATE_QUERY, tracks, tracks.size(), (statement, track) -> {
+      statement.setBytes(1, track.getTrack());
+      statement.setBytes(2, track.getLevels());
+      statement.setLong(3, track.getRunId());
+      statement.setTimestamp(4, Timestamp.valueOf(track.getStartDateTime()));
+    });
+  }
+
+  public Optional<RunTrack> findByUserIdAndRunId(Long userId, Long runId) {
+    return jdbcTemplate.query(FIND_QUERY,
+            (resultSet, rowNum) -> new RunTrack(
+                resultSet.getLong("id"),
+                resultSet.getTimestamp("start_date_time").toLocalDateTime(),
+                resultSet.getBytes("track"),
+                resultSet.getBytes("track_levels")),
+            runId, userId)
+        .stream()
+        .findFirst();
+  }
+
+}
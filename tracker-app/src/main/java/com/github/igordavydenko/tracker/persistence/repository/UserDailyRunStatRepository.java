@@ -0,0 +1,54 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Collection;
+
+public interface UserDailyRunStatRepository
+    extends JpaRepository<UserDailyRunStatEntity, UserDailyRunStatEntity.UserDay> {
+
+  @Modifying
+  @Query(value = "INSERT INTO user_daily_run_stats (user_id, day, run_count, distance_m, duration_s) "
+      + "VALUES (:userId, :day, :runCount, :distance, :duration) "
+      + "ON CONFLICT (user_id, day) DO UPDATE SET "
+      + "run_count = user_daily_run_stats.run_count + EXCLUDED.run_count, "
+      + "distance_m = user_daily_run_stats.distance_m + EXCLUDED.distance_m, "
+      + "duration_s = user_daily_run_stats.duration_s + EXCLUDED.duration_s", nativeQuery = true)
+  void upsert(Long userId, LocalDate day, int runCount, long distance, long duration);
+
+  default void upsertAll(Collection<UserDailyRunStatEntity> stats) {
+    if (stats.isEmpty()) {
+      return;
+    }
+    upsertAll(
+        stats.stream().map(UserDailyRunStatEntity::getUserId).toArray(Long[]::new),
+        stats.stream().map(UserDailyRunStatEntity::getDay).toArray(LocalDate[]::new),
+        stats.stream().map(UserDailyRunStatEntity::getRunCount).toArray(Integer[]::new),
+        stats.stream().map(UserDailyRunStatEntity::getDistance).toArray(Long[]::new),
+        stats.stream().map(UserDailyRunStatEntity::getDuration).toArray(Long[]::new));
+  }
+
+  @Modifying
+  @Query(value = "INSERT INTO user_daily_run_stats (user_id, day, run_count, distance_m, duration_s) "
+      + "SELECT * FROM unnest(CAST(:userIds AS BIGINT[]), CAST(:days AS DATE[]), CAST(:runCounts AS INTEGER[]), "
+      + "CAST(:distances AS BIGINT[]), CAST(:durations AS BIGINT[])) "
+      + "ON CONFLICT (user_id, day) DO UPDATE SET "
+      + "run_count = user_daily_run_stats.run_count + EXCLUDED.run_count, "
+      + "distance_m = user_daily_run_stats.distance_m + EXCLUDED.distance_m, "
+      + "duration_s = user_daily_run_stats.duration_s + EXCLUDED.duration_s", nativeQuery = true)
+  void upsertAll(Long[] userIds, LocalDate[] days, Integer[] runCounts, Long[] distances, Long[] durations);
+
+  @Query("SELECT COALESCE(SUM(s.runCount), 0) AS totalRuns, "
+      + "COALESCE(SUM(s.distance), 0) AS totalDistance, "
+      + "COALESCE(SUM(s.duration), 0) AS totalDurationSeconds "
+      + "FROM UserDailyRunStatEntity s WHERE s.userId = :userId "
+      + "AND s.day >= COALESCE(:fromDay, s.day) "
+      + "AND s.day <= COALESCE(:toDay, s.day)")
+  RunTotals getRunTotalsByUserIdAndDays(Long userId, LocalDate fromDay, LocalDate toDay);
+
+}
@@ -1,8 +1,28 @@
 package com.github.igordavydenko.tracker.persistence.repository;
 
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface UserRepository extends JpaRepository<UserEntity, Long> {
 
+  List<UserEntity> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+  @QueryHints({
+      @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+      @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+  })
+  Stream<UserEntity> streamAllByOrderByIdAsc();
+
+  @Query(value = "SELECT id FROM users WHERE id IN (:ids) ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+  List<Long> lockAllById(Collection<Long> ids);
+
 }
@@ -0,0 +1,43 @@
+package com.github.igordavydenko.tracker.rest.controller;
+
+import com.github.igordavydenko.tracker.rest.dto.LeaderboardDto;
+import com.github.igordavydenko.tracker.service.LeaderboardMetric;
+import com.github.igordavydenko.tracker.service.LeaderboardPeriod;
+import com.github.igordavydenko.tracker.service.LeaderboardService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_PAGE_LIMIT;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_PAGE_OFFSET;
+
+@RestController
+@RequestMapping("/api/v1/leaderboards")
+@RequiredArgsConstructor
+@Validated
+public class LeaderboardController {
+
+  private final ConversionService conversionService;
+  private final LeaderboardService leaderboardService;
+
+  @GetMapping
+  public LeaderboardDto.LeaderboardPage getLeaderboard(
+      @RequestParam(defaultValue = "WEEK") LeaderboardPeriod period,
+      @RequestParam(defaultValue = "DISTANCE") LeaderboardMetric metric,
+      @RequestParam(defaultValue = "0")
+      @Min(value = 0, message = ERROR_PAGE_OFFSET) int offset,
+      @RequestParam(defaultValue = "10")
+      @Min(value = 1, message = ERROR_PAGE_LIMIT)
+      @Max(value = 1000, message = ERROR_PAGE_LIMIT) int limit
+  ) {
+    return conversionService.convert(
+        leaderboardService.getPage(period, metric, offset, limit), LeaderboardDto.LeaderboardPage.class);
+  }
+
+}
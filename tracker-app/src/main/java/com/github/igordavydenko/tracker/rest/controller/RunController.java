@@ -1,17 +1,54 @@
 package com.github.igordavydenko.tracker.rest.controller;
 
 import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.rest.dto.ErrorResponse;
 import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.service.BatchItemResult;
+import com.github.igordavydenko.tracker.service.RunAreaService;
+import com.github.igordavydenko.tracker.service.RunFinishQueue;
+import com.github.igordavydenko.tracker.service.RunLocation;
+import com.github.igordavydenko.tracker.service.RunPoint;
 import com.github.igordavydenko.tracker.service.RunService;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.ConversionService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_BATCH_ITEM;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_BATCH_SIZE;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_LATITUDE;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_LONGITUDE;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_PAGE_LIMIT;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_RADIUS;
+
 @RequiredArgsConstructor
 @RestController
 @RequestMapping("/api/v1/runs")
@@ -20,6 +57,9 @@ public class RunController {
 
   private final ConversionService conversionService;
   private final RunService runService;
+  private final RunAreaService runAreaService;
+  private final RunFinishQueue runFinishQueue;
+  private final Validator validator;
 
   @PostMapping("/start")
   public RunDto.RunInfo startRun(
@@ -32,13 +72,157 @@ public class RunController {
   }
 
   @PostMapping("/finish")
-  public RunDto.RunInfo finishRun(
+  public ResponseEntity<?> finishRun(
       @RequestBody
       @Valid final RunDto.RunFinish runFinish
   ) {
-    return toResponse(
-        runService.finishRun(
-            conversionService.convert(runFinish, RunEntity.class)));
+    var source = conversionService.convert(runFinish, RunEntity.class);
+    if (runFinishQueue.isEnabled()) {
+      return ResponseEntity.status(HttpStatus.ACCEPTED)
+          .body(conversionService.convert(runFinishQueue.submit(source), RunDto.RunFinishReceipt.class));
+    }
+    return ResponseEntity.ok(toResponse(runService.finishRun(source)));
+  }
+
+  @GetMapping("/finish/receipts/{id}")
+  public RunDto.RunFinishReceipt getFinishReceipt(@PathVariable final UUID id) {
+    return conversionService.convert(runFinishQueue.getReceipt(id), RunDto.RunFinishReceipt.class);
+  }
+
+  @PostMapping("/points")
+  @ResponseStatus(HttpStatus.ACCEPTED)
+  public RunDto.RunPointsResult appendPoints(
+      @RequestBody
+      @Valid final RunDto.RunPoints runPoints
+  ) {
+    var points = runPoints.getPoints().stream()
+        .map(point -> conversionService.convert(point, RunPoint.class))
+        .collect(Collectors.toList());
+    return new RunDto.RunPointsResult(runService.appendPoints(runPoints.getUserId(), points));
+  }
+
+  @GetMapping("/within-box")
+  public List<RunDto.RunInfo> findWithinBox(
+      @RequestParam
+      @DecimalMin(value = "-90.0", message = ERROR_LATITUDE)
+      @DecimalMax(value = "90.0", message = ERROR_LATITUDE) Double minLatitude,
+      @RequestParam
+      @DecimalMin(value = "-180.0", message = ERROR_LONGITUDE)
+      @DecimalMax(value = "180.0", message = ERROR_LONGITUDE) Double minLongitude,
+      @RequestParam
+      @DecimalMin(value = "-90.0", message = ERROR_LATITUDE)
+      @DecimalMax(value = "90.0", message = ERROR_LATITUDE) Double maxLatitude,
+      @RequestParam
+      @DecimalMin(value = "-180.0", message = ERROR_LONGITUDE)
+      @DecimalMax(value = "180.0", message = ERROR_LONGITUDE) Double maxLongitude,
+      @RequestParam(defaultValue = "START") RunLocation location,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime,
+      @RequestParam(defaultValue = "100")
+      @Min(value = 1, message = ERROR_PAGE_LIMIT)
+      @Max(value = 1000, message = ERROR_PAGE_LIMIT) int limit
+  ) {
+    return runAreaService.findWithinBox(location, minLatitude, minLongitude, maxLatitude, maxLongitude,
+            fromDateTime, toDateTime, limit).stream()
+        .map(this::toResponse)
+        .collect(Collectors.toList());
+  }
+
+  @GetMapping("/within-radius")
+  public List<RunDto.RunInfo> findWithinRadius(
+      @RequestParam
+      @DecimalMin(value = "-90.0", message = ERROR_LATITUDE)
+      @DecimalMax(value = "90.0", message = ERROR_LATITUDE) Double latitude,
+      @RequestParam
+      @DecimalMin(value = "-180.0", message = ERROR_LONGITUDE)
+      @DecimalMax(value = "180.0", message = ERROR_LONGITUDE) Double longitude,
+      @RequestParam
+      @DecimalMin(value = "1", message = ERROR_RADIUS)
+      @DecimalMax(value = "1000000", message = ERROR_RADIUS) Double radius,
+      @RequestParam(defaultValue = "START") RunLocation location,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime,
+      @RequestParam(defaultValue = "100")
+      @Min(value = 1, message = ERROR_PAGE_LIMIT)
+      @Max(value = 1000, message = ERROR_PAGE_LIMIT) int limit
+  ) {
+    return runAreaService.findWithinRadius(location, latitude, longitude, radius,
+            fromDateTime, toDateTime, limit).stream()
+        .map(this::toResponse)
+        .collect(Collectors.toList());
+  }
+
+  @PostMapping("/start/batch")
+  public List<RunDto.RunBatchResult> startRuns(
+      @RequestBody
+      @Size(min = 1, max = 1000, message = ERROR_BATCH_SIZE) final List<RunDto.RunStart> runStarts
+  ) {
+    return processBatch(runStarts, runService::startRuns);
+  }
+
+  @PostMapping("/finish/batch")
+  public List<RunDto.RunBatchResult> finishRuns(
+      @RequestBody
+      @Size(min = 1, max = 1000, message = ERROR_BATCH_SIZE) final List<RunDto.RunFinish> runFinishes
+  ) {
+    return processBatch(runFinishes, runService::finishRuns);
+  }
+
+  private List<RunDto.RunBatchResult> processBatch(
+      final List<? extends RunDto.AbstractRun> items,
+      final Function<List<RunEntity>, List<BatchItemResult<RunEntity>>> processor
+  ) {
+    var results = new RunDto.RunBatchResult[items.size()];
+    List<Integer> validIndexes = new ArrayList<>();
+    List<RunEntity> validRuns = new ArrayList<>();
+
+    for (int index = 0; index < items.size(); index++) {
+      var item = items.get(index);
+      if (item == null) {
+        results[index] = toErrorResult(index, List.of(
+            ErrorResponse.ErrorDetails.builder().message(ERROR_BATCH_ITEM).build()));
+        continue;
+      }
+
+      var violations = validator.validate(item);
+      if (violations.isEmpty()) {
+        validIndexes.add(index);
+        validRuns.add(conversionService.convert(item, RunEntity.class));
+      } else {
+        results[index] = toErrorResult(index, toErrorDetails(violations));
+      }
+    }
+
+    if (!validRuns.isEmpty()) {
+      var processed = processor.apply(validRuns);
+      for (int i = 0; i < processed.size(); i++) {
+        var index = validIndexes.get(i);
+        var result = processed.get(i);
+        results[index] = result.isSuccess()
+            ? new RunDto.RunBatchResult(index, toResponse(result.getValue()), null)
+            : toErrorResult(index, List.of(
+                ErrorResponse.ErrorDetails.builder().message(result.getErrorMessage()).build()));
+      }
+    }
+
+    return Arrays.asList(results);
+  }
+
+  private RunDto.RunBatchResult toErrorResult(final int index, final List<ErrorResponse.ErrorDetails> errorDetails) {
+    return new RunDto.RunBatchResult(index, null, errorDetails);
+  }
+
+  private List<ErrorResponse.ErrorDetails> toErrorDetails(
+      final Set<? extends ConstraintViolation<?>> violations
+  ) {
+    return violations.stream()
+        .sorted(Comparator.comparing(violation -> violation.getPropertyPath().toString()))
+        .map(violation -> ErrorResponse.ErrorDetails.builder()
+            .message(violation.getMessage())
+            .fieldName(violation.getPropertyPath().toString())
+            .rejectedValue(violation.getInvalidValue())
+            .build())
+        .collect(Collectors.toList());
   }
 
   private RunDto.RunInfo toResponse(final RunEntity runEntity) {
@@ -0,0 +1,47 @@
+package com.github.igordavydenko.tracker.rest.controller;
+
+import com.github.igordavydenko.tracker.persistence.projection.RunDistanceJob;
+import com.github.igordavydenko.tracker.rest.dto.RunDistanceDto;
+import com.github.igordavydenko.tracker.service.RunDistanceService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/admin/distances")
+public class RunDistanceController {
+
+  private final ConversionService conversionService;
+  private final RunDistanceService runDistanceService;
+
+  @PostMapping
+  public ResponseEntity<RunDistanceDto.JobStatus> recompute() {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(toResponse(runDistanceService.start()));
+  }
+
+  @PostMapping("/{id}/resume")
+  public ResponseEntity<RunDistanceDto.JobStatus> resume(@PathVariable final UUID id) {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(toResponse(runDistanceService.resume(id)));
+  }
+
+  @GetMapping("/{id}")
+  public RunDistanceDto.JobStatus getJob(@PathVariable final UUID id) {
+    return toResponse(runDistanceService.getJob(id));
+  }
+
+  private RunDistanceDto.JobStatus toResponse(final RunDistanceJob job) {
+    return conversionService.convert(job, RunDistanceDto.JobStatus.class);
+  }
+
+}
@@ -0,0 +1,65 @@
+package com.github.igordavydenko.tracker.rest.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.igordavydenko.tracker.rest.dto.RunImportDto;
+import com.github.igordavydenko.tracker.rest.util.NdjsonResponse;
+import com.github.igordavydenko.tracker.service.RunImportFormat;
+import com.github.igordavydenko.tracker.service.RunImportJob;
+import com.github.igordavydenko.tracker.service.RunImportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/v1/admin/imports")
+public class RunImportController {
+
+  private static final String TEXT_CSV_VALUE = "text/csv";
+
+  private final ConversionService conversionService;
+  private final RunImportService runImportService;
+  private final ObjectMapper objectMapper;
+
+  @PostMapping(consumes = TEXT_CSV_VALUE)
+  public ResponseEntity<RunImportDto.ImportStatus> importCsv(final InputStream content) throws IOException {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(toResponse(runImportService.submit(RunImportFormat.CSV, content)));
+  }
+
+  @PostMapping(consumes = MediaType.APPLICATION_NDJSON_VALUE)
+  public ResponseEntity<RunImportDto.ImportStatus> importNdjson(final InputStream content) throws IOException {
+    return ResponseEntity.status(HttpStatus.ACCEPTED)
+        .body(toResponse(runImportService.submit(RunImportFormat.NDJSON, content)));
+  }
+
+  @GetMapping("/{id}")
+  public RunImportDto.ImportStatus getImport(@PathVariable final UUID id) {
+    return toResponse(runImportService.getJob(id));
+  }
+
+  @GetMapping("/{id}/rejects")
+  public ResponseEntity<StreamingResponseBody> getImportRejects(@PathVariable final UUID id) {
+    runImportService.getJob(id);
+    return NdjsonResponse.of(objectMapper, RunImportDto.ImportReject.class,
+        consumer -> runImportService.forEachReject(id, reject ->
+            consumer.accept(conversionService.convert(reject, RunImportDto.ImportReject.class))));
+  }
+
+  private RunImportDto.ImportStatus toResponse(final RunImportJob job) {
+    return conversionService.convert(job, RunImportDto.ImportStatus.class);
+  }
+
+}
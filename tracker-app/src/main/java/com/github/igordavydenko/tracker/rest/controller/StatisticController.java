@@ -1,22 +1,37 @@
 package com.github.igordavydenko.tracker.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.PaceRankDto;
 import com.github.igordavydenko.tracker.rest.dto.RunDto;
 import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticSeriesDto;
+import com.github.igordavydenko.tracker.rest.util.NdjsonResponse;
+import com.github.igordavydenko.tracker.service.PaceRankService;
+import com.github.igordavydenko.tracker.service.StatisticBucket;
 import com.github.igordavydenko.tracker.service.StatisticService;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.ConversionService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
 
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_PAGE_LIMIT;
 import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_POSITIVE_ID;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_POSITIVE_TOLERANCE;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_ZOOM;
 
 @RestController
 @RequestMapping("/api/v1/statistics/{userId}")
@@ -25,6 +40,9 @@ import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR
 public class StatisticController {
 
   private final StatisticService statisticService;
+  private final ObjectMapper objectMapper;
+  private final ConversionService conversionService;
+  private final PaceRankService paceRankService;
 
   @GetMapping
   public StatisticDto getUserStatistics(
@@ -36,15 +54,63 @@ public class StatisticController {
     return statisticService.getUserStatistic(userId, fromDateTime, toDateTime);
   }
 
+  @GetMapping("/series")
+  public StatisticSeriesDto getUserSeries(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @RequestParam(defaultValue = "day") StatisticBucket bucket,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+  ) {
+    return statisticService.getUserSeries(userId, bucket, fromDate, toDate);
+  }
+
+  @GetMapping("/pace-rank")
+  public PaceRankDto getPaceRank(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId
+  ) {
+    return conversionService.convert(paceRankService.getRank(userId), PaceRankDto.class);
+  }
+
   @GetMapping("/runs")
-  public List<RunDto.RunStatistic> getUserRuns(
+  public CursorPageDto<RunDto.RunStatistic> getUserRuns(
       @PathVariable
       @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100")
+      @Min(value = 1, message = ERROR_PAGE_LIMIT)
+      @Max(value = 1000, message = ERROR_PAGE_LIMIT) int limit
+  ) {
+    return statisticService.getUserRuns(userId, fromDateTime, toDateTime, cursor, limit);
+  }
+
+  @GetMapping("/runs/{runId}/track")
+  public RunDto.RunTrack getRunTrack(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long runId,
+      @RequestParam(required = false)
+      @Min(value = 0, message = ERROR_ZOOM)
+      @Max(value = 22, message = ERROR_ZOOM) Integer zoom,
       @RequestParam(required = false)
-      @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @Positive(message = ERROR_POSITIVE_TOLERANCE) Double tolerance
+  ) {
+    return statisticService.getRunTrack(userId, runId, zoom, tolerance);
+  }
+
+  @GetMapping("/runs/export")
+  public ResponseEntity<StreamingResponseBody> exportUserRuns(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime
   ) {
-    return statisticService.getUserRuns(userId, fromDateTime, toDateTime);
+    return NdjsonResponse.of(objectMapper, RunDto.RunStatistic.class,
+        consumer -> statisticService.exportUserRuns(userId, fromDateTime, toDateTime, consumer));
   }
 
 }
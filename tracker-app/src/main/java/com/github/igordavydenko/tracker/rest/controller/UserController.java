@@ -1,9 +1,14 @@
 package com.github.igordavydenko.tracker.rest.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
 import com.github.igordavydenko.tracker.rest.dto.UserDto;
+import com.github.igordavydenko.tracker.rest.util.NdjsonResponse;
 import com.github.igordavydenko.tracker.service.UserService;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Positive;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.convert.ConversionService;
@@ -17,13 +22,17 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_PAGE_LIMIT;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_POSITIVE_CURSOR;
 import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_POSITIVE_ID;
 
 @RequiredArgsConstructor
@@ -34,10 +43,35 @@ public class UserController {
 
   private final ConversionService conversionService;
   private final UserService userService;
+  private final ObjectMapper objectMapper;
 
   @GetMapping
-  public List<UserDto.UserResponse> findAll() {
-    return toResponseList(userService.getAllUsers());
+  public CursorPageDto<UserDto.UserResponse> findAll(
+      @RequestParam(required = false)
+      @Positive(message = ERROR_POSITIVE_CURSOR) Long cursor,
+      @RequestParam(defaultValue = "100")
+      @Min(value = 1, message = ERROR_PAGE_LIMIT)
+      @Max(value = 1000, message = ERROR_PAGE_LIMIT) int limit
+  ) {
+    var users = userService.findPage(cursor, limit + 1);
+
+    String nextCursor = null;
+    if (users.size() > limit) {
+      users = users.subList(0, limit);
+      nextCursor = String.valueOf(users.get(limit - 1).getId());
+    }
+
+    return CursorPageDto.<UserDto.UserResponse>builder()
+        .items(toResponseList(users))
+        .limit(limit)
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  @GetMapping("/stream")
+  public ResponseEntity<StreamingResponseBody> streamAll() {
+    return NdjsonResponse.of(objectMapper, UserDto.UserResponse.class,
+        consumer -> userService.forEachUser(user -> consumer.accept(toResponse(user))));
   }
 
   @GetMapping("/{id}")
@@ -0,0 +1,27 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.rest.dto.LeaderboardDto;
+import com.github.igordavydenko.tracker.service.LeaderboardPage;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Collectors;
+
+@Component
+public class LeaderboardPageToResponseConverter implements Converter<LeaderboardPage, LeaderboardDto.LeaderboardPage> {
+
+  @Override
+  public LeaderboardDto.LeaderboardPage convert(LeaderboardPage source) {
+    var page = new LeaderboardDto.LeaderboardPage();
+
+    page.setPeriod(source.getPeriod().name());
+    page.setMetric(source.getMetric().name());
+    page.setPeriodStart(source.getPeriodStart());
+    page.setTotalUsers(source.getTotalUsers());
+    page.setEntries(source.getEntries().stream()
+        .map(entry -> new LeaderboardDto.LeaderboardEntry(entry.getRank(), entry.getUserId(), entry.getValue()))
+        .collect(Collectors.toList()));
+
+    return page;
+  }
+}
@@ -0,0 +1,25 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.rest.dto.PaceRankDto;
+import com.github.igordavydenko.tracker.service.PaceRank;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PaceRankToResponseConverter implements Converter<PaceRank, PaceRankDto> {
+
+  @Override
+  public PaceRankDto convert(PaceRank source) {
+    var target = new PaceRankDto();
+
+    target.setUserId(source.getUserId());
+    target.setPeriodStart(source.getPeriodStart());
+    target.setSex(source.getCohort().getSex());
+    target.setAgeGroup(source.getCohort().getAgeGroup());
+    target.setAveragePace(source.getAveragePace());
+    target.setCohortSize(source.getCohortSize());
+    target.setBeatsPercent(source.getBeatsPercent());
+
+    return target;
+  }
+}
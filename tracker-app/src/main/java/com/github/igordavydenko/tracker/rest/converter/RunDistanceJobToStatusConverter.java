@@ -0,0 +1,26 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.persistence.projection.RunDistanceJob;
+import com.github.igordavydenko.tracker.rest.dto.RunDistanceDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RunDistanceJobToStatusConverter implements Converter<RunDistanceJob, RunDistanceDto.JobStatus> {
+
+  @Override
+  public RunDistanceDto.JobStatus convert(RunDistanceJob source) {
+    var status = new RunDistanceDto.JobStatus();
+
+    status.setId(source.getId());
+    status.setState(source.getState());
+    status.setLastRunId(source.getLastRunId());
+    status.setProcessedRuns(source.getProcessedRuns());
+    status.setUpdatedRuns(source.getUpdatedRuns());
+    status.setErrorMessage(source.getErrorMessage());
+    status.setCreatedAt(source.getCreatedAt());
+    status.setFinishedAt(source.getFinishedAt());
+
+    return status;
+  }
+}
@@ -12,6 +12,7 @@ public class RunEntityToResponseConverter implements Converter<RunEntity, RunDto
   public RunDto.RunInfo convert(RunEntity source) {
     var runInfo = new RunDto.RunInfo();
 
+    runInfo.setId(source.getId());
     runInfo.setStartDateTime(source.getStartDateTime());
     runInfo.setStartLatitude(source.getStartLatitude());
     runInfo.setStartLongitude(source.getStartLongitude());
@@ -0,0 +1,48 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class RunEntityToStatisticConverter implements Converter<RunEntity, RunDto.RunStatistic> {
+
+  private static final double SECONDS_PER_HOUR = 3600.0;
+
+  @Override
+  public RunDto.RunStatistic convert(RunEntity source) {
+    var runStatistic = new RunDto.RunStatistic();
+
+    runStatistic.setId(source.getId());
+    runStatistic.setStartDateTime(source.getStartDateTime());
+    runStatistic.setFinishDateTime(source.getFinishDateTime());
+    runStatistic.setStartLatitude(source.getStartLatitude());
+    runStatistic.setFinishLatitude(source.getFinishLatitude());
+    runStatistic.setStartLongitude(source.getStartLongitude());
+    runStatistic.setFinishLongitude(source.getFinishLongitude());
+    runStatistic.setDistance(source.getDistance());
+    runStatistic.setAverageSpeed(calculateAverageSpeed(source));
+
+    if (source.getUser() != null) {
+      runStatistic.setUserId(source.getUser().getId());
+    }
+
+    return runStatistic;
+  }
+
+  private double calculateAverageSpeed(final RunEntity run) {
+    if (run.getDistance() == null || run.getDistance() == 0
+        || run.getStartDateTime() == null || run.getFinishDateTime() == null) {
+      return 0;
+    }
+    var duration = Duration.between(run.getStartDateTime(), run.getFinishDateTime());
+    if (duration.isZero() || duration.isNegative()) {
+      return 0;
+    }
+
+    return run.getDistance() / (duration.getSeconds() / SECONDS_PER_HOUR * 1000);
+  }
+}
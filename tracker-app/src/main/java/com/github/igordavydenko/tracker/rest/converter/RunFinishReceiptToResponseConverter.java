@@ -0,0 +1,29 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.service.RunFinishReceipt;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RunFinishReceiptToResponseConverter implements Converter<RunFinishReceipt, RunDto.RunFinishReceipt> {
+
+  private final RunEntityToResponseConverter runConverter;
+
+  @Override
+  public RunDto.RunFinishReceipt convert(RunFinishReceipt source) {
+    var receipt = new RunDto.RunFinishReceipt();
+
+    receipt.setId(source.getId());
+    receipt.setUserId(source.getUserId());
+    receipt.setState(source.getState().name());
+    receipt.setRun(source.getRun() != null ? runConverter.convert(source.getRun()) : null);
+    receipt.setErrorMessage(source.getErrorMessage());
+    receipt.setCreatedAt(source.getCreatedAt());
+    receipt.setFinishedAt(source.getFinishedAt());
+
+    return receipt;
+  }
+}
@@ -0,0 +1,29 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.rest.dto.RunImportDto;
+import com.github.igordavydenko.tracker.service.RunImportJob;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RunImportJobToStatusConverter implements Converter<RunImportJob, RunImportDto.ImportStatus> {
+
+  @Override
+  public RunImportDto.ImportStatus convert(RunImportJob source) {
+    var status = new RunImportDto.ImportStatus();
+
+    status.setId(source.getId());
+    status.setFormat(source.getFormat().name());
+    status.setState(source.getState().name());
+    status.setTotalBytes(source.getTotalBytes());
+    status.setCopiedBytes(source.getCopiedBytes());
+    status.setCopiedRows(source.getCopiedRows());
+    status.setImportedRows(source.getImportedRows());
+    status.setRejectedRows(source.getRejectedRows());
+    status.setErrorMessage(source.getErrorMessage());
+    status.setCreatedAt(source.getCreatedAt());
+    status.setFinishedAt(source.getFinishedAt());
+
+    return status;
+  }
+}
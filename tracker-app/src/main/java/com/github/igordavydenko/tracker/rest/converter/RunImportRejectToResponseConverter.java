@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.persistence.projection.RunImportReject;
+import com.github.igordavydenko.tracker.rest.dto.RunImportDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RunImportRejectToResponseConverter implements Converter<RunImportReject, RunImportDto.ImportReject> {
+
+  @Override
+  public RunImportDto.ImportReject convert(RunImportReject source) {
+    return new RunImportDto.ImportReject(source.getLineNo(), source.getReason(), source.getRawData());
+  }
+}
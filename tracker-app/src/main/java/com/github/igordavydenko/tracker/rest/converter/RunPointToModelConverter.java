@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.service.RunPoint;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RunPointToModelConverter implements Converter<RunDto.RunPoint, RunPoint> {
+
+  @Override
+  public RunPoint convert(RunDto.RunPoint source) {
+    return new RunPoint(null, null, source.getTimestamp(), source.getLatitude(), source.getLongitude());
+  }
+}
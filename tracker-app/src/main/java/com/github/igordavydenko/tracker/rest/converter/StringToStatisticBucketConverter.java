@@ -0,0 +1,16 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.service.StatisticBucket;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+@Component
+public class StringToStatisticBucketConverter implements Converter<String, StatisticBucket> {
+
+  @Override
+  public StatisticBucket convert(String source) {
+    return StatisticBucket.valueOf(source.trim().toUpperCase(Locale.ROOT));
+  }
+}
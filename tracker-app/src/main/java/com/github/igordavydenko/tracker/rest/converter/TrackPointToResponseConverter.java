@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TrackPointToResponseConverter implements Converter<TrackPoint, RunDto.RunPoint> {
+
+  @Override
+  public RunDto.RunPoint convert(TrackPoint source) {
+    return new RunDto.RunPoint(source.getTime(), source.getLatitude(), source.getLongitude());
+  }
+}
@@ -0,0 +1,42 @@
+package com.github.igordavydenko.tracker.rest.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NdjsonResponse {
+
+  private static final int SEPARATOR = '\n';
+
+  public static <T> ResponseEntity<StreamingResponseBody> of(
+      final ObjectMapper objectMapper,
+      final Class<T> type,
+      final Consumer<Consumer<T>> source
+  ) {
+    var writer = objectMapper.writerFor(type)
+        .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    StreamingResponseBody body = outputStream -> source.accept(item -> {
+      try {
+        writer.writeValue(outputStream, item);
+        outputStream.write(SEPARATOR);
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    });
+
+    return ResponseEntity.ok()
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .body(body);
+  }
+
+}
@@ -1,11 +0,0 @@
-package com.github.igordavydenko.tracker.rest.util;
-
-import lombok.AccessLevel;
-import lombok.NoArgsConstructor;
-
-@NoArgsConstructor(access = AccessLevel.PRIVATE)
-public class ValidationMessage {
-
-  public static final String ERROR_POSITIVE_ID = "Field 'id' must be positive integer";
-
-}
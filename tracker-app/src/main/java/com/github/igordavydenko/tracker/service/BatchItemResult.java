@@ -0,0 +1,26 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchItemResult<T> {
+
+  private final T value;
+  private final String errorMessage;
+
+  public static <T> BatchItemResult<T> success(T value) {
+    return new BatchItemResult<>(value, null);
+  }
+
+  public static <T> BatchItemResult<T> failure(String errorMessage) {
+    return new BatchItemResult<>(null, errorMessage);
+  }
+
+  public boolean isSuccess() {
+    return errorMessage == null;
+  }
+
+}
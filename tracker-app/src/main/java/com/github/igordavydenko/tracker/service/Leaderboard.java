@@ -0,0 +1,89 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+class Leaderboard {
+
+  private static final Comparator<Standing> STANDING_ORDER = Comparator.comparingLong(Standing::value)
+      .reversed()
+      .thenComparing(Standing::userId);
+
+  @Getter
+  private final LocalDate start;
+  private final LocalDate end;
+  private final Map<Long, Totals> totals = new ConcurrentHashMap<>();
+  private final NavigableSet<Standing> byDistance = new ConcurrentSkipListSet<>(STANDING_ORDER);
+  private final NavigableSet<Standing> byRuns = new ConcurrentSkipListSet<>(STANDING_ORDER);
+
+  Leaderboard(LocalDate start, LocalDate end) {
+    this.start = start;
+    this.end = end;
+  }
+
+  boolean contains(final LocalDate day) {
+    return start == null || (!day.isBefore(start) && day.isBefore(end));
+  }
+
+  void add(final Long userId, final long runCount, final long distance) {
+    totals.compute(userId, (key, previous) -> replace(key, previous, previous == null
+        ? new Totals(runCount, distance)
+        : new Totals(previous.runCount() + runCount, previous.distance() + distance)));
+  }
+
+  void set(final Long userId, final long runCount, final long distance) {
+    totals.compute(userId, (key, previous) -> replace(key, previous, new Totals(runCount, distance)));
+  }
+
+  void remove(final Long userId) {
+    totals.computeIfPresent(userId, (key, previous) -> replace(key, previous, null));
+  }
+
+  int size() {
+    return totals.size();
+  }
+
+  List<LeaderboardEntry> getEntries(final LeaderboardMetric metric, final int offset, final int limit) {
+    var standings = metric == LeaderboardMetric.DISTANCE ? byDistance : byRuns;
+    List<LeaderboardEntry> entries = new ArrayList<>(limit);
+    var rank = 0L;
+    for (var standing : standings) {
+      if (rank++ < offset) {
+        continue;
+      }
+      if (entries.size() == limit) {
+        break;
+      }
+      entries.add(new LeaderboardEntry(rank, standing.userId(), standing.value()));
+    }
+    return entries;
+  }
+
+  private Totals replace(final Long userId, final Totals previous, final Totals current) {
+    if (previous != null) {
+      byDistance.remove(new Standing(userId, previous.distance()));
+      byRuns.remove(new Standing(userId, previous.runCount()));
+    }
+    if (current == null || (current.runCount() <= 0 && current.distance() <= 0)) {
+      return null;
+    }
+    byDistance.add(new Standing(userId, current.distance()));
+    byRuns.add(new Standing(userId, current.runCount()));
+    return current;
+  }
+
+  private record Totals(long runCount, long distance) {
+  }
+
+  private record Standing(Long userId, long value) {
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Value;
+
+@Value
+public class LeaderboardEntry {
+  long rank;
+  Long userId;
+  long value;
+}
@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Value
+public class LeaderboardPage {
+  LeaderboardPeriod period;
+  LeaderboardMetric metric;
+  LocalDate periodStart;
+  int totalUsers;
+  List<LeaderboardEntry> entries;
+}
@@ -0,0 +1,45 @@
+package com.github.igordavydenko.tracker.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+public enum LeaderboardPeriod {
+  WEEK {
+    @Override
+    public LocalDate getStart(LocalDate today) {
+      return today.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    @Override
+    public LocalDate getEnd(LocalDate start) {
+      return start.plusWeeks(1);
+    }
+  },
+  MONTH {
+    @Override
+    public LocalDate getStart(LocalDate today) {
+      return today.withDayOfMonth(1);
+    }
+
+    @Override
+    public LocalDate getEnd(LocalDate start) {
+      return start.plusMonths(1);
+    }
+  },
+  ALL_TIME {
+    @Override
+    public LocalDate getStart(LocalDate today) {
+      return null;
+    }
+
+    @Override
+    public LocalDate getEnd(LocalDate start) {
+      return null;
+    }
+  };
+
+  public abstract LocalDate getStart(LocalDate today);
+
+  public abstract LocalDate getEnd(LocalDate start);
+}
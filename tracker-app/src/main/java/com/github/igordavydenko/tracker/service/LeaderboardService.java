@@ -0,0 +1,213 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.projection.UserRunTotals;
+import com.github.igordavydenko.tracker.persistence.repository.LeaderboardRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class LeaderboardService {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(LeaderboardService.class);
+
+  private final LeaderboardRepository leaderboardRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final Clock clock;
+  private final TaskExecutor rebuildExecutor;
+  private final Object rebuildLock = new Object();
+  private volatile Map<LeaderboardPeriod, Leaderboard> leaderboards;
+  private List<RunsChangedEvent> pendingEvents;
+
+  @Autowired
+  public LeaderboardService(LeaderboardRepository leaderboardRepository, TransactionTemplate transactionTemplate) {
+    this(leaderboardRepository, transactionTemplate, Clock.systemUTC(), createRebuildExecutor());
+  }
+
+  LeaderboardService(
+      LeaderboardRepository leaderboardRepository,
+      TransactionTemplate transactionTemplate,
+      Clock clock,
+      TaskExecutor rebuildExecutor
+  ) {
+    this.leaderboardRepository = leaderboardRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.clock = clock;
+    this.rebuildExecutor = rebuildExecutor;
+    this.leaderboards = createLeaderboards(LocalDate.now(clock));
+  }
+
+  public LeaderboardPage getPage(
+      final LeaderboardPeriod period,
+      final LeaderboardMetric metric,
+      final int offset,
+      final int limit
+  ) {
+    var leaderboard = getLeaderboards().get(period);
+    return new LeaderboardPage(period, metric, leaderboard.getStart(), leaderboard.size(),
+        leaderboard.getEntries(metric, offset, limit));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(
+      fixedDelayString = "${tracker.leaderboard.rebuild-interval:PT1H}",
+      initialDelayString = "${tracker.leaderboard.rebuild-interval:PT1H}")
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      var started = System.nanoTime();
+      var rebuilt = createLeaderboards(LocalDate.now(clock));
+      synchronized (this) {
+        pendingEvents = new ArrayList<>();
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> leaderboardRepository.forEachTotals(
+            rebuilt.get(LeaderboardPeriod.WEEK).getStart(),
+            rebuilt.get(LeaderboardPeriod.MONTH).getStart(),
+            totals -> setTotals(rebuilt, totals)));
+        synchronized (this) {
+          pendingEvents.forEach(event -> apply(rebuilt, event));
+          leaderboards = rebuilt;
+        }
+      } finally {
+        synchronized (this) {
+          pendingEvents = null;
+        }
+      }
+      log.info("Leaderboards rebuilt for {} users in {} ms",
+          rebuilt.get(LeaderboardPeriod.ALL_TIME).size(), (System.nanoTime() - started) / 1_000_000);
+    }
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRunsChanged(final RunsChangedEvent event) {
+    Map<LeaderboardPeriod, Leaderboard> current;
+    synchronized (this) {
+      if (pendingEvents != null) {
+        pendingEvents.add(event);
+      }
+      current = getLeaderboards();
+    }
+    apply(current, event);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (rebuildExecutor instanceof ThreadPoolTaskExecutor executor) {
+      executor.shutdown();
+    }
+  }
+
+  private void apply(final Map<LeaderboardPeriod, Leaderboard> current, final RunsChangedEvent event) {
+    if (event.getDailyStatChanges() != null) {
+      event.getDailyStatChanges().forEach(stat -> addStat(current, stat));
+      return;
+    }
+    Set<Long> missingUserIds = new HashSet<>(event.getUserIds());
+    leaderboardRepository.forEachTotals(
+        current.get(LeaderboardPeriod.WEEK).getStart(),
+        current.get(LeaderboardPeriod.MONTH).getStart(),
+        event.getUserIds(),
+        totals -> {
+          missingUserIds.remove(totals.getUserId());
+          setTotals(current, totals);
+        });
+    missingUserIds.forEach(userId -> current.values().forEach(leaderboard -> leaderboard.remove(userId)));
+  }
+
+  private Map<LeaderboardPeriod, Leaderboard> getLeaderboards() {
+    var current = leaderboards;
+    var today = LocalDate.now(clock);
+    if (!current.get(LeaderboardPeriod.WEEK).contains(today) || !current.get(LeaderboardPeriod.MONTH).contains(today)) {
+      synchronized (this) {
+        if (leaderboards == current) {
+          leaderboards = rollOver(current, today);
+          scheduleRebuild();
+        }
+        current = leaderboards;
+      }
+    }
+    return current;
+  }
+
+  private void scheduleRebuild() {
+    try {
+      rebuildExecutor.execute(this::rebuild);
+    } catch (TaskRejectedException ex) {
+      log.debug("Leaderboard rebuild already scheduled");
+    }
+  }
+
+  private static Map<LeaderboardPeriod, Leaderboard> rollOver(
+      final Map<LeaderboardPeriod, Leaderboard> current,
+      final LocalDate today
+  ) {
+    var rolled = createLeaderboards(today);
+    current.forEach((period, leaderboard) -> {
+      if (leaderboard.getStart() == null || leaderboard.getStart().equals(rolled.get(period).getStart())) {
+        rolled.put(period, leaderboard);
+      }
+    });
+    return rolled;
+  }
+
+  private static TaskExecutor createRebuildExecutor() {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("leaderboard-rebuild-");
+    executor.initialize();
+    return executor;
+  }
+
+  private static void addStat(
+      final Map<LeaderboardPeriod, Leaderboard> leaderboards,
+      final UserDailyRunStatEntity stat
+  ) {
+    leaderboards.values().stream()
+        .filter(leaderboard -> leaderboard.contains(stat.getDay()))
+        .forEach(leaderboard -> leaderboard.add(stat.getUserId(), stat.getRunCount(), stat.getDistance()));
+  }
+
+  private static void setTotals(
+      final Map<LeaderboardPeriod, Leaderboard> leaderboards,
+      final UserRunTotals totals
+  ) {
+    leaderboards.get(LeaderboardPeriod.WEEK)
+        .set(totals.getUserId(), totals.getWeekRunCount(), totals.getWeekDistance());
+    leaderboards.get(LeaderboardPeriod.MONTH)
+        .set(totals.getUserId(), totals.getMonthRunCount(), totals.getMonthDistance());
+    leaderboards.get(LeaderboardPeriod.ALL_TIME)
+        .set(totals.getUserId(), totals.getRunCount(), totals.getDistance());
+  }
+
+  private static Map<LeaderboardPeriod, Leaderboard> createLeaderboards(final LocalDate today) {
+    Map<LeaderboardPeriod, Leaderboard> leaderboards = new EnumMap<>(LeaderboardPeriod.class);
+    for (var period : LeaderboardPeriod.values()) {
+      var start = period.getStart(today);
+      leaderboards.put(period, new Leaderboard(start, period.getEnd(start)));
+    }
+    return leaderboards;
+  }
+
+}
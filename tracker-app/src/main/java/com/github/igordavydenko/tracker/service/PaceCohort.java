@@ -0,0 +1,22 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+@Value
+public class PaceCohort {
+
+  static final int MIN_AGE_GROUP = 20;
+  static final int MAX_AGE_GROUP = 70;
+
+  Boolean sex;
+  int ageGroup;
+
+  static PaceCohort of(final Boolean sex, final LocalDate birthDate, final LocalDate periodStart) {
+    var age = Period.between(birthDate, periodStart).getYears();
+    var ageGroup = age < MIN_AGE_GROUP ? 0 : Math.min(age / 10 * 10, MAX_AGE_GROUP);
+    return new PaceCohort(sex, ageGroup);
+  }
+}
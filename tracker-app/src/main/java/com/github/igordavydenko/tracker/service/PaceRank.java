@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Value;
+
+import java.time.LocalDate;
+
+@Value
+public class PaceRank {
+  Long userId;
+  LocalDate periodStart;
+  PaceCohort cohort;
+  double averagePace;
+  long cohortSize;
+  double beatsPercent;
+}
@@ -0,0 +1,292 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.projection.PaceSketchSnapshot;
+import com.github.igordavydenko.tracker.persistence.projection.UserPeriodTotals;
+import com.github.igordavydenko.tracker.persistence.repository.PaceSketchRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+
+@Service
+public class PaceRankService {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(PaceRankService.class);
+
+  private final PaceSketchRepository paceSketchRepository;
+  private final UserService userService;
+  private final TransactionTemplate transactionTemplate;
+  private final Clock clock;
+  private final TaskExecutor rebuildExecutor;
+  private final Object rebuildLock = new Object();
+  private volatile Sketches sketches;
+  private volatile boolean stale;
+  private List<RunsChangedEvent> pendingEvents;
+
+  @Autowired
+  public PaceRankService(
+      PaceSketchRepository paceSketchRepository,
+      UserService userService,
+      TransactionTemplate transactionTemplate
+  ) {
+    this(paceSketchRepository, userService, transactionTemplate, Clock.systemUTC(), createRebuildExecutor());
+  }
+
+  PaceRankService(
+      PaceSketchRepository paceSketchRepository,
+      UserService userService,
+      TransactionTemplate transactionTemplate,
+      Clock clock,
+      TaskExecutor rebuildExecutor
+  ) {
+    this.paceSketchRepository = paceSketchRepository;
+    this.userService = userService;
+    this.transactionTemplate = transactionTemplate;
+    this.clock = clock;
+    this.rebuildExecutor = rebuildExecutor;
+    this.sketches = new Sketches(monthStart(LocalDate.now(clock)));
+  }
+
+  public PaceRank getRank(final Long userId) {
+    var user = userService.getUserById(userId);
+    var current = getSketches();
+    var totals = paceSketchRepository.findTotals(current.getStart(), current.getEnd(), List.of(userId)).stream()
+        .filter(userTotals -> userTotals.getDistance() > 0)
+        .findFirst()
+        .orElseThrow(() -> new RunBusinessLogicException(
+            String.format("User with id %d has no runs with distance since %s", userId, current.getStart())));
+    var cohort = PaceCohort.of(user.getSex(), user.getBirthDate(), current.getStart());
+    var sketch = current.getCohorts().get(cohort);
+    var pace = PaceSketch.paceOf(totals.getDistance(), totals.getDuration());
+    var cohortSize = sketch != null ? sketch.size() : 0;
+    var slower = sketch != null ? sketch.countSlowerThan(pace) : 0;
+    var beatsPercent = cohortSize > 1 ? Math.min(100.0, slower * 100.0 / (cohortSize - 1)) : 0.0;
+    return new PaceRank(userId, current.getStart(), cohort,
+        totals.getDuration() * 1000.0 / totals.getDistance(), cohortSize, beatsPercent);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void load() {
+    synchronized (rebuildLock) {
+      var start = monthStart(LocalDate.now(clock));
+      var snapshots = paceSketchRepository.findSketches(start);
+      if (snapshots.isEmpty()) {
+        rebuild();
+        return;
+      }
+      var loaded = new Sketches(start);
+      try {
+        for (var snapshot : snapshots) {
+          loaded.getCohorts().put(new PaceCohort(snapshot.getSex(), snapshot.getAgeGroup()),
+              PaceSketch.decode(snapshot.getSketch()));
+        }
+      } catch (DataFormatException ex) {
+        log.warn("Can't decode pace sketches for {}, rebuilding: {}", start, ex.getMessage());
+        rebuild();
+        return;
+      }
+      sketches = loaded;
+      log.info("Pace sketches loaded for {} cohorts of {}", snapshots.size(), start);
+    }
+  }
+
+  @Scheduled(cron = "${tracker.pace-rank.rebuild-cron:0 30 3 * * *}")
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      var started = System.nanoTime();
+      var rebuilt = new Sketches(monthStart(LocalDate.now(clock)));
+      stale = false;
+      synchronized (this) {
+        pendingEvents = new ArrayList<>();
+      }
+      try {
+        transactionTemplate.executeWithoutResult(status -> paceSketchRepository.forEachTotals(
+            rebuilt.getStart(), rebuilt.getEnd(), totals -> record(rebuilt, totals)));
+        rebuilt.getCohorts().values().forEach(PaceSketch::markDirty);
+        synchronized (this) {
+          pendingEvents.forEach(event -> apply(rebuilt, event));
+          sketches = rebuilt;
+        }
+      } finally {
+        synchronized (this) {
+          pendingEvents = null;
+        }
+      }
+      save(rebuilt);
+      log.info("Pace sketches rebuilt for {} cohorts of {} in {} ms",
+          rebuilt.getCohorts().size(), rebuilt.getStart(), (System.nanoTime() - started) / 1_000_000);
+    }
+  }
+
+  @Scheduled(
+      fixedDelayString = "${tracker.pace-rank.flush-interval:PT1M}",
+      initialDelayString = "${tracker.pace-rank.flush-interval:PT1M}")
+  public void flush() {
+    if (stale) {
+      rebuild();
+      return;
+    }
+    save(getSketches());
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    if (rebuildExecutor instanceof ThreadPoolTaskExecutor executor) {
+      executor.shutdown();
+    }
+    save(sketches);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRunsChanged(final RunsChangedEvent event) {
+    if (event.getDailyStatChanges() == null) {
+      stale = true;
+      return;
+    }
+    Sketches current;
+    synchronized (this) {
+      if (pendingEvents != null) {
+        pendingEvents.add(event);
+      }
+      current = getSketches();
+    }
+    apply(current, event);
+  }
+
+  private void apply(final Sketches current, final RunsChangedEvent event) {
+    Map<Long, long[]> deltas = new HashMap<>();
+    for (UserDailyRunStatEntity stat : event.getDailyStatChanges()) {
+      if (current.contains(stat.getDay()) && stat.getDistance() != 0) {
+        var delta = deltas.computeIfAbsent(stat.getUserId(), userId -> new long[2]);
+        delta[0] += stat.getDistance();
+        delta[1] += stat.getDuration();
+      }
+    }
+    if (deltas.isEmpty()) {
+      return;
+    }
+    for (var totals : paceSketchRepository.findTotals(current.getStart(), current.getEnd(), deltas.keySet())) {
+      var delta = deltas.get(totals.getUserId());
+      var sketch = current.getCohorts().computeIfAbsent(
+          PaceCohort.of(totals.getSex(), totals.getBirthDate(), current.getStart()), cohort -> new PaceSketch());
+      var previousDistance = totals.getDistance() - delta[0];
+      if (previousDistance > 0) {
+        sketch.remove(PaceSketch.paceOf(previousDistance, totals.getDuration() - delta[1]));
+      }
+      if (totals.getDistance() > 0) {
+        sketch.record(PaceSketch.paceOf(totals.getDistance(), totals.getDuration()));
+      }
+    }
+  }
+
+  private Sketches getSketches() {
+    var current = sketches;
+    var today = LocalDate.now(clock);
+    if (!current.contains(today)) {
+      synchronized (this) {
+        if (sketches == current) {
+          sketches = new Sketches(monthStart(today));
+          scheduleRebuild(current);
+        }
+        current = sketches;
+      }
+    }
+    return current;
+  }
+
+  private void scheduleRebuild(final Sketches previous) {
+    try {
+      rebuildExecutor.execute(() -> {
+        save(previous);
+        rebuild();
+      });
+    } catch (TaskRejectedException ex) {
+      log.debug("Pace sketches rebuild already scheduled");
+    }
+  }
+
+  private void save(final Sketches target) {
+    List<PaceSketchSnapshot> snapshots = new ArrayList<>();
+    target.getCohorts().forEach((cohort, sketch) -> {
+      if (sketch.isDirty()) {
+        snapshots.add(new PaceSketchSnapshot(target.getStart(), cohort.getSex(), cohort.getAgeGroup(), sketch.encode()));
+      }
+    });
+    if (snapshots.isEmpty()) {
+      return;
+    }
+    try {
+      paceSketchRepository.saveSketches(snapshots, LocalDateTime.now(clock));
+    } catch (DataAccessException ex) {
+      log.warn("Can't persist {} pace sketches of {}: {}", snapshots.size(), target.getStart(), ex.getMessage());
+      snapshots.forEach(snapshot -> target.getCohorts()
+          .get(new PaceCohort(snapshot.getSex(), snapshot.getAgeGroup()))
+          .markDirty());
+    }
+  }
+
+  private static void record(final Sketches target, final UserPeriodTotals totals) {
+    if (totals.getDistance() <= 0) {
+      return;
+    }
+    target.getCohorts()
+        .computeIfAbsent(PaceCohort.of(totals.getSex(), totals.getBirthDate(), target.getStart()),
+            cohort -> new PaceSketch())
+        .record(PaceSketch.paceOf(totals.getDistance(), totals.getDuration()));
+  }
+
+  private static LocalDate monthStart(final LocalDate day) {
+    return day.withDayOfMonth(1);
+  }
+
+  private static TaskExecutor createRebuildExecutor() {
+    var executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setQueueCapacity(1);
+    executor.setThreadNamePrefix("pace-rank-rebuild-");
+    executor.initialize();
+    return executor;
+  }
+
+  @Getter
+  @RequiredArgsConstructor
+  private static final class Sketches {
+
+    private final LocalDate start;
+    private final Map<PaceCohort, PaceSketch> cohorts = new ConcurrentHashMap<>();
+
+    LocalDate getEnd() {
+      return start.plusMonths(1);
+    }
+
+    boolean contains(final LocalDate day) {
+      return !day.isBefore(start) && day.isBefore(getEnd());
+    }
+  }
+
+}
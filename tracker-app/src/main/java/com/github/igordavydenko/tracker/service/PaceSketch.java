@@ -0,0 +1,72 @@
+package com.github.igordavydenko.tracker.service;
+
+import org.HdrHistogram.Histogram;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+
+class PaceSketch {
+
+  static final long MIN_PACE = 1;
+  static final long MAX_PACE = 3600;
+  private static final int SIGNIFICANT_DIGITS = 2;
+
+  private final Histogram histogram;
+  private final Histogram single = new Histogram(MIN_PACE, MAX_PACE, SIGNIFICANT_DIGITS);
+  private boolean dirty;
+
+  PaceSketch() {
+    this(new Histogram(MIN_PACE, MAX_PACE, SIGNIFICANT_DIGITS));
+  }
+
+  private PaceSketch(Histogram histogram) {
+    this.histogram = histogram;
+  }
+
+  static PaceSketch decode(final byte[] encoded) throws DataFormatException {
+    return new PaceSketch(Histogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), MIN_PACE));
+  }
+
+  static long paceOf(final long distance, final long duration) {
+    return Math.max(MIN_PACE, Math.min(MAX_PACE, Math.round(duration * 1000.0 / distance)));
+  }
+
+  synchronized void record(final long pace) {
+    histogram.recordValue(pace);
+    dirty = true;
+  }
+
+  synchronized void remove(final long pace) {
+    if (histogram.getCountAtValue(pace) == 0) {
+      return;
+    }
+    single.reset();
+    single.recordValue(pace);
+    histogram.subtract(single);
+    dirty = true;
+  }
+
+  synchronized long size() {
+    return histogram.getTotalCount();
+  }
+
+  synchronized long countSlowerThan(final long pace) {
+    return histogram.getTotalCount() - histogram.getCountBetweenValues(MIN_PACE, pace);
+  }
+
+  synchronized boolean isDirty() {
+    return dirty;
+  }
+
+  synchronized void markDirty() {
+    dirty = true;
+  }
+
+  synchronized byte[] encode() {
+    var buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+    var length = histogram.encodeIntoCompressedByteBuffer(buffer);
+    dirty = false;
+    return Arrays.copyOf(buffer.array(), length);
+  }
+}
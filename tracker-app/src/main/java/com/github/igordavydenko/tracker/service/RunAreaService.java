@@ -0,0 +1,63 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.repository.RunAreaRepository;
+import com.github.igordavydenko.tracker.service.util.GeoHash;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@Timed("tracker.service")
+public class RunAreaService {
+
+  private final RunAreaRepository runAreaRepository;
+  private final int maxCells;
+
+  public RunAreaService(
+      RunAreaRepository runAreaRepository,
+      @Value("${tracker.area.max-cells:32}") int maxCells
+  ) {
+    this.runAreaRepository = runAreaRepository;
+    this.maxCells = maxCells;
+  }
+
+  @Transactional(readOnly = true)
+  public List<RunEntity> findWithinBox(
+      final RunLocation location,
+      final double minLatitude,
+      final double minLongitude,
+      final double maxLatitude,
+      final double maxLongitude,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final int limit
+  ) {
+    if (minLatitude > maxLatitude) {
+      throw new RunBusinessLogicException("Min latitude should be less than or equal to max latitude");
+    }
+    var cells = GeoHash.coverBox(minLatitude, minLongitude, maxLatitude, maxLongitude, maxCells);
+    return runAreaRepository.findWithinBox(location, cells,
+        minLatitude, minLongitude, maxLatitude, maxLongitude, fromDateTime, toDateTime, limit);
+  }
+
+  @Transactional(readOnly = true)
+  public List<RunEntity> findWithinRadius(
+      final RunLocation location,
+      final double latitude,
+      final double longitude,
+      final double radius,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final int limit
+  ) {
+    var cells = GeoHash.coverRadius(latitude, longitude, radius, maxCells);
+    return runAreaRepository.findWithinRadius(location, cells,
+        latitude, longitude, radius, fromDateTime, toDateTime, limit);
+  }
+}
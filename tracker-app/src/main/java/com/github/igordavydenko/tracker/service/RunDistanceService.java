@@ -0,0 +1,204 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunDistanceJobNotFoundException;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunCoordinatesChunk;
+import com.github.igordavydenko.tracker.persistence.projection.RunDistanceJob;
+import com.github.igordavydenko.tracker.persistence.repository.RunDistanceRepository;
+import com.github.igordavydenko.tracker.persistence.repository.UserDailyRunStatRepository;
+import com.github.igordavydenko.tracker.service.util.DistanceCalculator;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Service
+public class RunDistanceService {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(RunDistanceService.class);
+
+  private static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+  private final RunDistanceRepository runDistanceRepository;
+  private final UserDailyRunStatRepository userDailyRunStatRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final int chunkSize;
+  private final ThreadPoolTaskExecutor executor;
+  private final AtomicReference<UUID> activeJob = new AtomicReference<>();
+  private volatile boolean stopping;
+
+  public RunDistanceService(
+      RunDistanceRepository runDistanceRepository,
+      UserDailyRunStatRepository userDailyRunStatRepository,
+      TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${tracker.distance-recompute.chunk-size:10000}") int chunkSize
+  ) {
+    this.runDistanceRepository = runDistanceRepository;
+    this.userDailyRunStatRepository = userDailyRunStatRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.chunkSize = chunkSize;
+    this.executor = new ThreadPoolTaskExecutor();
+    this.executor.setCorePoolSize(1);
+    this.executor.setMaxPoolSize(1);
+    this.executor.setThreadNamePrefix("run-distance-");
+    this.executor.initialize();
+  }
+
+  public RunDistanceJob start() {
+    var id = UUID.randomUUID();
+    submit(id, () -> runDistanceRepository.createJob(id, RunDistanceJobState.RUNNING.name(), LocalDateTime.now()));
+    return getJob(id);
+  }
+
+  public RunDistanceJob resume(final UUID id) {
+    var job = getJob(id);
+    if (RunDistanceJobState.COMPLETED.name().equals(job.getState())) {
+      throw new RunBusinessLogicException("Run distance job '" + id + "' is already completed");
+    }
+    submit(id, () -> runDistanceRepository.updateState(id, RunDistanceJobState.RUNNING.name(), null, null));
+    return getJob(id);
+  }
+
+  public RunDistanceJob getJob(final UUID id) {
+    return runDistanceRepository.findJob(id)
+        .orElseThrow(() -> new RunDistanceJobNotFoundException(id));
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterrupted() {
+    runDistanceRepository.findJobsByState(RunDistanceJobState.RUNNING.name()).stream()
+        .findFirst()
+        .ifPresent(job -> {
+          log.info("Resuming run distance job {} after run {}", job.getId(), job.getLastRunId());
+          resume(job.getId());
+        });
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    stopping = true;
+    executor.shutdown();
+  }
+
+  private void submit(final UUID id, final Runnable markRunning) {
+    if (!activeJob.compareAndSet(null, id)) {
+      throw new RunBusinessLogicException("Run distance job '" + activeJob.get() + "' is already running");
+    }
+    try {
+      markRunning.run();
+      executor.execute(() -> process(id));
+    } catch (RuntimeException ex) {
+      activeJob.set(null);
+      throw ex;
+    }
+  }
+
+  private void process(final UUID id) {
+    try {
+      var chunk = new RunCoordinatesChunk(chunkSize);
+      var computed = new double[chunkSize];
+      var lastRunId = getJob(id).getLastRunId();
+      while (!stopping) {
+        var afterRunId = lastRunId;
+        var changes = transactionTemplate.execute(status -> processChunk(id, afterRunId, chunk, computed));
+        if (chunk.getSize() == 0) {
+          runDistanceRepository.updateState(
+              id, RunDistanceJobState.COMPLETED.name(), null, LocalDateTime.now());
+          log.info("Run distance job {} completed", id);
+          return;
+        }
+        lastRunId = chunk.getRunIds()[chunk.getSize() - 1];
+        if (changes != null && !changes.getUserIds().isEmpty()) {
+          eventPublisher.publishEvent(changes);
+        }
+      }
+      log.info("Run distance job {} stopped after run {}", id, lastRunId);
+    } catch (Exception ex) {
+      runDistanceRepository.updateState(id, RunDistanceJobState.FAILED.name(),
+          StringUtils.abbreviate(ex.getMessage(), MAX_ERROR_MESSAGE_LENGTH), LocalDateTime.now());
+      log.warn("Run distance job {} failed: {}", id, ex.getMessage());
+    } finally {
+      activeJob.set(null);
+    }
+  }
+
+  private RunsChangedEvent processChunk(
+      final UUID id,
+      final long afterRunId,
+      final RunCoordinatesChunk chunk,
+      final double[] computed
+  ) {
+    runDistanceRepository.findChunk(afterRunId, chunk);
+    var size = chunk.getSize();
+    if (size == 0) {
+      return null;
+    }
+    DistanceCalculator.haversine(chunk.getStartLatitudes(), chunk.getStartLongitudes(),
+        chunk.getFinishLatitudes(), chunk.getFinishLongitudes(), computed, size);
+
+    var indexes = new int[size];
+    var distances = new int[size];
+    var changed = 0;
+    for (int i = 0; i < size; i++) {
+      var distance = (int) computed[i];
+      if (distance != chunk.getDistances()[i]) {
+        indexes[changed] = i;
+        distances[changed++] = distance;
+      }
+    }
+
+    Set<Long> userIds = new HashSet<>();
+    Map<UserDailyRunStatEntity.UserDay, UserDailyRunStatEntity> stats = new LinkedHashMap<>();
+    var updated = 0;
+    if (changed > 0) {
+      var counts = runDistanceRepository.updateDistances(chunk, indexes, distances, changed);
+      for (int i = 0; i < changed; i++) {
+        if (counts[i] == 0) {
+          continue;
+        }
+        updated++;
+        addStatDelta(stats, chunk, indexes[i], distances[i]);
+        userIds.add(chunk.getUserIds()[indexes[i]]);
+      }
+      userDailyRunStatRepository.upsertAll(stats.values());
+    }
+    runDistanceRepository.updateProgress(id, chunk.getRunIds()[size - 1], size, updated);
+    return new RunsChangedEvent(userIds, List.copyOf(stats.values()));
+  }
+
+  private void addStatDelta(
+      final Map<UserDailyRunStatEntity.UserDay, UserDailyRunStatEntity> stats,
+      final RunCoordinatesChunk chunk,
+      final int index,
+      final int distance
+  ) {
+    var previous = chunk.getDistances()[index];
+    var duration = chunk.getDurations()[index];
+    var stat = stats.computeIfAbsent(
+        new UserDailyRunStatEntity.UserDay(chunk.getUserIds()[index], chunk.getStartDateTimes()[index].toLocalDate()),
+        userDay -> new UserDailyRunStatEntity(userDay.getUserId(), userDay.getDay(), 0, 0L, 0L));
+    stat.setDistance(stat.getDistance() + Math.max(distance, 0) - Math.max(previous, 0));
+    stat.setDuration(stat.getDuration() + (distance > 0 ? duration : 0) - (previous > 0 ? duration : 0));
+  }
+
+}
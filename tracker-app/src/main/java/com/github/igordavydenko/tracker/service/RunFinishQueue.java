@@ -0,0 +1,195 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.igordavydenko.tracker.exception.RunFinishQueueFullException;
+import com.github.igordavydenko.tracker.exception.RunFinishReceiptNotFoundException;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Getter;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class RunFinishQueue implements SmartLifecycle {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(RunFinishQueue.class);
+  private static final long POLL_INTERVAL_MS = 100;
+
+  private final RunService runService;
+  @Getter
+  private final boolean enabled;
+  private final int capacity;
+  private final int batchSize;
+  private final BlockingQueue<PendingFinish> queue;
+  private final Cache<UUID, RunFinishReceipt> receipts;
+  private final Counter rejectedCounter;
+  private final DistributionSummary batchSizeSummary;
+  private volatile boolean running;
+  private volatile Thread writer;
+
+  public RunFinishQueue(
+      RunService runService,
+      MeterRegistry meterRegistry,
+      @Value("${tracker.run-finish.write-behind:false}") boolean enabled,
+      @Value("${tracker.run-finish.queue-capacity:10000}") int capacity,
+      @Value("${tracker.run-finish.batch-size:500}") int batchSize,
+      @Value("${tracker.run-finish.receipt-ttl:10m}") Duration receiptTtl
+  ) {
+    this.runService = runService;
+    this.enabled = enabled;
+    this.capacity = capacity;
+    this.batchSize = batchSize;
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.receipts = Caffeine.newBuilder()
+        .expireAfterWrite(receiptTtl)
+        .build();
+    this.rejectedCounter = Counter.builder("tracker.run.finish.rejected")
+        .description("Run finishes rejected because the write-behind queue was full")
+        .register(meterRegistry);
+    this.batchSizeSummary = DistributionSummary.builder("tracker.run.finish.batch.size")
+        .description("Run finishes committed in one write-behind transaction")
+        .register(meterRegistry);
+    Gauge.builder("tracker.run.finish.queued", queue, BlockingQueue::size)
+        .description("Run finishes waiting in the write-behind queue")
+        .register(meterRegistry);
+  }
+
+  public RunFinishReceipt submit(final RunEntity source) {
+    var user = runService.validateFinishRun(source);
+    var receipt = new RunFinishReceipt(UUID.randomUUID(), user.getId());
+    receipts.put(receipt.getId(), receipt);
+    boolean accepted;
+    synchronized (this) {
+      accepted = running && queue.offer(new PendingFinish(receipt, source));
+    }
+    if (!accepted) {
+      receipts.invalidate(receipt.getId());
+      rejectedCounter.increment();
+      throw new RunFinishQueueFullException(capacity);
+    }
+    return receipt;
+  }
+
+  public RunFinishReceipt getReceipt(final UUID id) {
+    var receipt = receipts.getIfPresent(id);
+    if (receipt == null) {
+      throw new RunFinishReceiptNotFoundException(id);
+    }
+    return receipt;
+  }
+
+  @Override
+  public boolean isAutoStartup() {
+    return enabled;
+  }
+
+  @Override
+  public int getPhase() {
+    return SmartLifecycle.DEFAULT_PHASE - 4096;
+  }
+
+  @Override
+  public synchronized void start() {
+    if (running) {
+      return;
+    }
+    running = true;
+    writer = new Thread(this::write, "run-finish-writer");
+    writer.start();
+  }
+
+  @Override
+  public void stop() {
+    var current = writer;
+    synchronized (this) {
+      running = false;
+    }
+    if (current == null) {
+      return;
+    }
+    try {
+      current.join();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return running;
+  }
+
+  private void write() {
+    List<PendingFinish> batch = new ArrayList<>(batchSize);
+    while (running || !queue.isEmpty()) {
+      try {
+        var first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+        finish(batch);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        log.warn("Run finish writer interrupted with {} queued finishes", queue.size());
+        return;
+      } catch (RuntimeException ex) {
+        log.error("Can't finish {} queued runs: {}", batch.size(), ex.getMessage());
+        batch.forEach(pending -> pending.receipt().fail(ex.getMessage()));
+      } finally {
+        batch.clear();
+      }
+    }
+    log.info("Run finish queue drained");
+  }
+
+  private void finish(final List<PendingFinish> batch) {
+    List<BatchItemResult<RunEntity>> results;
+    try {
+      results = runService.finishRuns(batch.stream().map(PendingFinish::source).toList());
+    } catch (RuntimeException ex) {
+      if (batch.size() == 1) {
+        throw ex;
+      }
+      log.warn("Can't finish {} queued runs in one transaction, retrying one by one: {}",
+          batch.size(), ex.getMessage());
+      for (var pending : batch) {
+        try {
+          finish(List.of(pending));
+        } catch (RuntimeException itemEx) {
+          pending.receipt().fail(itemEx.getMessage());
+        }
+      }
+      return;
+    }
+    batchSizeSummary.record(batch.size());
+    for (int i = 0; i < batch.size(); i++) {
+      var receipt = batch.get(i).receipt();
+      var result = results.get(i);
+      if (result.isSuccess()) {
+        receipt.complete(result.getValue());
+      } else {
+        receipt.fail(result.getErrorMessage());
+      }
+    }
+  }
+
+  private record PendingFinish(RunFinishReceipt receipt, RunEntity source) {
+  }
+}
@@ -0,0 +1,38 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+public class RunFinishReceipt {
+
+  private final UUID id;
+  private final Long userId;
+  private final LocalDateTime createdAt = LocalDateTime.now();
+
+  private volatile RunFinishState state = RunFinishState.QUEUED;
+  private volatile RunEntity run;
+  private volatile String errorMessage;
+  private volatile LocalDateTime finishedAt;
+
+  public RunFinishReceipt(UUID id, Long userId) {
+    this.id = id;
+    this.userId = userId;
+  }
+
+  void complete(RunEntity run) {
+    this.run = run;
+    this.finishedAt = LocalDateTime.now();
+    this.state = RunFinishState.COMPLETED;
+  }
+
+  void fail(String errorMessage) {
+    this.errorMessage = errorMessage;
+    this.finishedAt = LocalDateTime.now();
+    this.state = RunFinishState.FAILED;
+  }
+
+}
@@ -0,0 +1,7 @@
+package com.github.igordavydenko.tracker.service;
+
+public enum RunFinishState {
+  QUEUED,
+  COMPLETED,
+  FAILED
+}
@@ -0,0 +1,6 @@
+package com.github.igordavydenko.tracker.service;
+
+public enum RunImportFormat {
+  CSV,
+  NDJSON
+}
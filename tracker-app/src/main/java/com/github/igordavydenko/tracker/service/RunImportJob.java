@@ -0,0 +1,39 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Getter
+@Setter(AccessLevel.PACKAGE)
+public class RunImportJob {
+
+  private final UUID id;
+  private final RunImportFormat format;
+  private final long totalBytes;
+  private final LocalDateTime createdAt = LocalDateTime.now();
+
+  private volatile RunImportState state = RunImportState.QUEUED;
+  private volatile long copiedBytes;
+  private volatile long copiedRows;
+  private volatile long importedRows;
+  private volatile long rejectedRows;
+  private volatile String errorMessage;
+  private volatile LocalDateTime finishedAt;
+
+  public RunImportJob(UUID id, RunImportFormat format, long totalBytes) {
+    this.id = id;
+    this.format = format;
+    this.totalBytes = totalBytes;
+  }
+
+  void finish(RunImportState state, String errorMessage) {
+    this.errorMessage = errorMessage;
+    this.finishedAt = LocalDateTime.now();
+    this.state = state;
+  }
+
+}
@@ -0,0 +1,205 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunImportNotFoundException;
+import com.github.igordavydenko.tracker.persistence.projection.RunImportReject;
+import com.github.igordavydenko.tracker.persistence.repository.RunImportRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+public class RunImportService {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(RunImportService.class);
+
+  private final RunImportRepository runImportRepository;
+  private final TransactionTemplate transactionTemplate;
+  private final ApplicationEventPublisher eventPublisher;
+  private final ThreadPoolTaskExecutor executor;
+  private final Duration jobTtl;
+  private final Cache<UUID, RunImportJob> jobs;
+
+  public RunImportService(
+      RunImportRepository runImportRepository,
+      TransactionTemplate transactionTemplate,
+      ApplicationEventPublisher eventPublisher,
+      @Value("${tracker.import.concurrency:1}") int concurrency,
+      @Value("${tracker.import.queue-capacity:16}") int queueCapacity,
+      @Value("${tracker.import.job-ttl:1h}") Duration jobTtl
+  ) {
+    this.runImportRepository = runImportRepository;
+    this.transactionTemplate = transactionTemplate;
+    this.eventPublisher = eventPublisher;
+    this.jobTtl = jobTtl;
+    this.jobs = Caffeine.newBuilder()
+        .expireAfter(new JobExpiry(jobTtl))
+        .build();
+    this.executor = new ThreadPoolTaskExecutor();
+    this.executor.setCorePoolSize(concurrency);
+    this.executor.setMaxPoolSize(concurrency);
+    this.executor.setQueueCapacity(queueCapacity);
+    this.executor.setThreadNamePrefix("run-import-");
+    this.executor.initialize();
+  }
+
+  public RunImportJob submit(final RunImportFormat format, final InputStream content) throws IOException {
+    var file = Files.createTempFile("run-import-", "." + format.name().toLowerCase());
+    try {
+      Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+      var job = new RunImportJob(UUID.randomUUID(), format, Files.size(file));
+      jobs.put(job.getId(), job);
+      try {
+        executor.execute(() -> process(job, file));
+      } catch (TaskRejectedException ex) {
+        jobs.invalidate(job.getId());
+        throw new RunBusinessLogicException("Too many run imports in progress");
+      }
+      return job;
+    } catch (IOException | RuntimeException ex) {
+      Files.deleteIfExists(file);
+      throw ex;
+    }
+  }
+
+  public RunImportJob getJob(final UUID id) {
+    var job = jobs.getIfPresent(id);
+    if (job == null) {
+      throw new RunImportNotFoundException(id);
+    }
+    return job;
+  }
+
+  @Transactional(readOnly = true)
+  public void forEachReject(final UUID id, final Consumer<RunImportReject> consumer) {
+    runImportRepository.forEachReject(getJob(id).getId(), consumer);
+  }
+
+  @Scheduled(
+      fixedDelayString = "${tracker.import.reject-cleanup-interval:PT10M}",
+      initialDelayString = "${tracker.import.reject-cleanup-interval:PT10M}")
+  public void purgeRejects() {
+    var purged = runImportRepository.deleteRejectsOlderThan(jobTtl, jobs.asMap().keySet());
+    if (purged > 0) {
+      log.info("Purged {} run import rejects older than {}", purged, jobTtl);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+
+  private void process(final RunImportJob job, final Path file) {
+    try (var content = new ProgressInputStream(Files.newInputStream(file), job)) {
+      transactionTemplate.executeWithoutResult(status -> importRuns(job, content));
+      job.finish(RunImportState.COMPLETED, null);
+      log.info("Run import {} completed: {} imported, {} rejected",
+          job.getId(), job.getImportedRows(), job.getRejectedRows());
+    } catch (Exception ex) {
+      job.finish(RunImportState.FAILED, ex.getMessage());
+      log.warn("Run import {} failed: {}", job.getId(), ex.getMessage());
+    } finally {
+      jobs.put(job.getId(), job);
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ex) {
+        log.warn("Can't delete run import file {}", file);
+      }
+    }
+  }
+
+  private void importRuns(final RunImportJob job, final InputStream content) {
+    try {
+      job.setState(RunImportState.COPYING);
+      job.setCopiedRows(job.getFormat() == RunImportFormat.CSV
+          ? runImportRepository.copyCsv(content)
+          : runImportRepository.copyNdjson(content));
+    } catch (Exception ex) {
+      throw new IllegalStateException("Can't copy run import: " + ex.getMessage(), ex);
+    }
+
+    job.setState(RunImportState.VALIDATING);
+    var accepted = runImportRepository.validate();
+    job.setRejectedRows(runImportRepository.saveRejects(job.getId()));
+
+    job.setState(RunImportState.MERGING);
+    var userIds = runImportRepository.mergeAccepted(accepted);
+    job.setImportedRows(accepted);
+    if (!userIds.isEmpty()) {
+      eventPublisher.publishEvent(new RunsChangedEvent(userIds));
+    }
+  }
+
+  private record JobExpiry(Duration ttl) implements Expiry<UUID, RunImportJob> {
+
+    @Override
+    public long expireAfterCreate(UUID id, RunImportJob job, long currentTime) {
+      return expiresIn(job);
+    }
+
+    @Override
+    public long expireAfterUpdate(UUID id, RunImportJob job, long currentTime, long currentDuration) {
+      return expiresIn(job);
+    }
+
+    @Override
+    public long expireAfterRead(UUID id, RunImportJob job, long currentTime, long currentDuration) {
+      return currentDuration;
+    }
+
+    private long expiresIn(RunImportJob job) {
+      return job.getFinishedAt() == null ? Long.MAX_VALUE : ttl.toNanos();
+    }
+  }
+
+  private static class ProgressInputStream extends FilterInputStream {
+
+    private final RunImportJob job;
+
+    ProgressInputStream(InputStream in, RunImportJob job) {
+      super(in);
+      this.job = job;
+    }
+
+    @Override
+    public int read() throws IOException {
+      var value = super.read();
+      if (value >= 0) {
+        job.setCopiedBytes(job.getCopiedBytes() + 1);
+      }
+      return value;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      var count = super.read(buffer, offset, length);
+      if (count > 0) {
+        job.setCopiedBytes(job.getCopiedBytes() + count);
+      }
+      return count;
+    }
+  }
+
+}
@@ -0,0 +1,10 @@
+package com.github.igordavydenko.tracker.service;
+
+public enum RunImportState {
+  QUEUED,
+  COPYING,
+  VALIDATING,
+  MERGING,
+  COMPLETED,
+  FAILED
+}
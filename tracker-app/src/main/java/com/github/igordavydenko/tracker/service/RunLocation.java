@@ -0,0 +1,15 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum RunLocation {
+
+  START("start"),
+  FINISH("finish");
+
+  private final String columnPrefix;
+
+}
@@ -0,0 +1,50 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.igordavydenko.tracker.persistence.repository.RunPartitionRepository;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RunPartitionService {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(RunPartitionService.class);
+
+  private final RunPartitionRepository runPartitionRepository;
+  private final StatisticCache statisticCache;
+  private final int monthsAhead;
+  private final int retentionMonths;
+
+  public RunPartitionService(
+      RunPartitionRepository runPartitionRepository,
+      StatisticCache statisticCache,
+      @Value("${tracker.partitions.months-ahead:3}") int monthsAhead,
+      @Value("${tracker.partitions.retention-months:0}") int retentionMonths
+  ) {
+    this.runPartitionRepository = runPartitionRepository;
+    this.statisticCache = statisticCache;
+    this.monthsAhead = monthsAhead;
+    this.retentionMonths = retentionMonths;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  @Scheduled(cron = "${tracker.partitions.cron:0 0 3 * * *}")
+  public void maintainPartitions() {
+    var created = runPartitionRepository.createPartitions(monthsAhead);
+    if (created > 0) {
+      log.info("Created {} runs partitions", created);
+    }
+    if (retentionMonths > 0) {
+      var detached = runPartitionRepository.detachPartitions(retentionMonths);
+      if (detached > 0) {
+        statisticCache.invalidateAll();
+        log.info("Detached {} runs partitions older than {} months", detached, retentionMonths);
+      }
+    }
+  }
+
+}
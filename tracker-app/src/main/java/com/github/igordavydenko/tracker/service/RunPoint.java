@@ -0,0 +1,18 @@
+package com.github.igordavydenko.tracker.service;
+
+import lombok.Value;
+import lombok.With;
+
+import java.time.LocalDateTime;
+
+@Value
+@With
+public class RunPoint {
+
+  Long runId;
+  Long userId;
+  LocalDateTime pointTime;
+  Double latitude;
+  Double longitude;
+
+}
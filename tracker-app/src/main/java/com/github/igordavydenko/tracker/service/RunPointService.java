@@ -0,0 +1,319 @@
+package com.github.igordavydenko.tracker.service;
+
+import ch.qos.logback.classic.Logger;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.igordavydenko.tracker.codec.TrackCodec;
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunNotFoundException;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTrack;
+import com.github.igordavydenko.tracker.persistence.repository.RunPointRepository;
+import com.github.igordavydenko.tracker.persistence.repository.RunTrackRepository;
+import com.github.igordavydenko.tracker.service.util.TrackSimplifier;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class RunPointService {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(RunPointService.class);
+  private static final int LOCK_STRIPES = 64;
+  private static final Duration CLOSED_RUN_TTL = Duration.ofHours(1);
+
+  private final RunPointRepository runPointRepository;
+  private final RunTrackRepository runTrackRepository;
+  private final int batchSize;
+  private final Map<Long, List<RunPoint>> buffers = new ConcurrentHashMap<>();
+  private final Map<Long, Set<CompletableFuture<Void>>> inFlight = new ConcurrentHashMap<>();
+  private final ReentrantLock[] locks = new ReentrantLock[LOCK_STRIPES];
+  private final Cache<Long, Boolean> closedRuns = Caffeine.newBuilder()
+      .expireAfterWrite(CLOSED_RUN_TTL)
+      .build();
+  private final AtomicLong buffered = new AtomicLong();
+  private final Counter flushedCounter;
+  private final Counter droppedCounter;
+  private final DistributionSummary trackBytesSummary;
+
+  public RunPointService(
+      RunPointRepository runPointRepository,
+      RunTrackRepository runTrackRepository,
+      MeterRegistry meterRegistry,
+      @Value("${tracker.run-points.batch-size:500}") int batchSize
+  ) {
+    this.runPointRepository = runPointRepository;
+    this.runTrackRepository = runTrackRepository;
+    this.batchSize = batchSize;
+    for (int i = 0; i < locks.length; i++) {
+      locks[i] = new ReentrantLock();
+    }
+    this.flushedCounter = Counter.builder("tracker.run.points.flushed")
+        .description("Trackpoints written to the database")
+        .register(meterRegistry);
+    this.droppedCounter = Counter.builder("tracker.run.points.dropped")
+        .description("Trackpoints that could not be written to the database")
+        .register(meterRegistry);
+    this.trackBytesSummary = DistributionSummary.builder("tracker.run.track.size")
+        .description("Size of compacted run tracks")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("tracker.run.points.buffered", buffered, AtomicLong::get)
+        .description("Trackpoints waiting in memory to be written")
+        .register(meterRegistry);
+  }
+
+  public void append(final Long runId, final List<RunPoint> points) {
+    var pendingWrite = withLocks(List.of(runId), () -> {
+      if (closedRuns.getIfPresent(runId) != null) {
+        throw new RunBusinessLogicException(String.format("Run with id '%s' is already finished", runId));
+      }
+      var buffer = buffers.computeIfAbsent(runId, key -> new ArrayList<>());
+      buffer.addAll(points);
+      buffered.addAndGet(points.size());
+      return buffer.size() >= batchSize ? drainForWrite(List.of(runId)) : null;
+    });
+    if (pendingWrite != null) {
+      try {
+        write(pendingWrite.points());
+      } finally {
+        finishWrite(pendingWrite);
+      }
+    }
+  }
+
+  public Map<Long, List<RunPoint>> compactTracks(final Collection<RunEntity> runs) {
+    if (runs.isEmpty()) {
+      return Map.of();
+    }
+    var runIds = runs.stream()
+        .map(RunEntity::getId)
+        .collect(Collectors.toSet());
+    Map<Long, Map<LocalDateTime, RunPoint>> points = new HashMap<>();
+    List<RunPoint> drained = new ArrayList<>();
+    while (!withLocks(runIds, () -> closeRuns(runIds, points, drained))) {
+      awaitWrites(runIds);
+    }
+    reopenOnRollback(runIds, drained);
+    drained.forEach(point -> addPoint(points, point));
+
+    Map<Long, List<RunPoint>> tracks = new HashMap<>();
+    List<RunTrack> encodedTracks = new ArrayList<>();
+    for (var run : runs) {
+      var runPoints = points.get(run.getId());
+      if (runPoints == null) {
+        continue;
+      }
+      var track = List.copyOf(runPoints.values());
+      tracks.put(run.getId(), track);
+      var trackPoints = track.stream()
+          .map(point -> new TrackPoint(point.getPointTime(), point.getLatitude(), point.getLongitude()))
+          .toList();
+      var encoded = TrackCodec.encode(trackPoints);
+      encodedTracks.add(new RunTrack(
+          run.getId(), run.getStartDateTime(), encoded, TrackSimplifier.levels(trackPoints)));
+      trackBytesSummary.record(encoded.length);
+    }
+    runTrackRepository.saveAll(encodedTracks);
+    return tracks;
+  }
+
+  public List<TrackPoint> getTrack(final Long userId, final Long runId, final Integer zoom, final Double tolerance) {
+    var runTrack = runTrackRepository.findByUserIdAndRunId(userId, runId)
+        .orElseThrow(() -> new RunNotFoundException(runId));
+    if (runTrack.getTrack() == null) {
+      return List.of();
+    }
+    var points = TrackCodec.decode(runTrack.getTrack());
+    if (points.isEmpty() || (zoom == null && tolerance == null)) {
+      return points;
+    }
+    var levels = runTrack.getLevels() != null ? runTrack.getLevels() : TrackSimplifier.levels(points);
+    var threshold = tolerance != null
+        ? tolerance
+        : TrackSimplifier.zoomTolerance(zoom, points.get(0).getLatitude());
+    return TrackSimplifier.simplify(points, levels, threshold);
+  }
+
+  @Scheduled(fixedDelayString = "${tracker.run-points.flush-interval:PT1S}")
+  public void flush() {
+    List<Long> runIds = new ArrayList<>(buffers.keySet());
+    if (runIds.isEmpty()) {
+      return;
+    }
+    var pendingWrite = withLocks(runIds, () -> drainForWrite(runIds));
+    if (pendingWrite == null) {
+      return;
+    }
+    var drained = pendingWrite.points();
+    try {
+      runPointRepository.insert(drained);
+      flushedCounter.increment(drained.size());
+    } catch (DataAccessException ex) {
+      log.warn("Can't flush {} run points in one batch, retrying per run: {}", drained.size(), ex.getMessage());
+      drained.stream()
+          .collect(Collectors.groupingBy(RunPoint::getRunId))
+          .values()
+          .forEach(this::write);
+    } finally {
+      finishWrite(pendingWrite);
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    flush();
+  }
+
+  private void drain(final Long runId, final List<RunPoint> target) {
+    var buffer = buffers.remove(runId);
+    if (buffer != null) {
+      target.addAll(buffer);
+      buffered.addAndGet(-buffer.size());
+    }
+  }
+
+  private boolean closeRuns(
+      final Set<Long> runIds,
+      final Map<Long, Map<LocalDateTime, RunPoint>> points,
+      final List<RunPoint> drained
+  ) {
+    if (runIds.stream().anyMatch(inFlight::containsKey)) {
+      return false;
+    }
+    runPointRepository.deleteByRunIds(runIds).forEach(point -> addPoint(points, point));
+    runIds.forEach(runId -> {
+      drain(runId, drained);
+      closedRuns.put(runId, Boolean.TRUE);
+    });
+    return true;
+  }
+
+  private PendingWrite drainForWrite(final Collection<Long> runIds) {
+    List<RunPoint> drained = new ArrayList<>();
+    runIds.forEach(runId -> drain(runId, drained));
+    if (drained.isEmpty()) {
+      return null;
+    }
+    var drainedRunIds = drained.stream()
+        .map(RunPoint::getRunId)
+        .collect(Collectors.toSet());
+    var done = new CompletableFuture<Void>();
+    drainedRunIds.forEach(runId -> inFlight.compute(runId, (key, writes) -> {
+      var runWrites = writes != null ? writes : new HashSet<CompletableFuture<Void>>();
+      runWrites.add(done);
+      return runWrites;
+    }));
+    return new PendingWrite(drained, drainedRunIds, done);
+  }
+
+  private void finishWrite(final PendingWrite pendingWrite) {
+    pendingWrite.runIds().forEach(runId -> inFlight.computeIfPresent(runId, (key, writes) -> {
+      writes.remove(pendingWrite.done());
+      return writes.isEmpty() ? null : writes;
+    }));
+    pendingWrite.done().complete(null);
+  }
+
+  private void awaitWrites(final Collection<Long> runIds) {
+    List<CompletableFuture<Void>> writes = new ArrayList<>();
+    runIds.forEach(runId -> inFlight.computeIfPresent(runId, (key, runWrites) -> {
+      writes.addAll(runWrites);
+      return runWrites;
+    }));
+    CompletableFuture.allOf(writes.toArray(CompletableFuture[]::new)).join();
+  }
+
+  private void reopenOnRollback(final Collection<Long> runIds, final List<RunPoint> drained) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      return;
+    }
+    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+      @Override
+      public void afterCompletion(int status) {
+        if (status != STATUS_ROLLED_BACK) {
+          return;
+        }
+        var pointsByRun = drained.stream()
+            .collect(Collectors.groupingBy(RunPoint::getRunId));
+        withLocks(runIds, () -> {
+          runIds.forEach(runId -> {
+            var points = pointsByRun.get(runId);
+            if (points != null) {
+              buffers.computeIfAbsent(runId, key -> new ArrayList<>()).addAll(0, points);
+              buffered.addAndGet(points.size());
+            }
+            closedRuns.invalidate(runId);
+          });
+          return null;
+        });
+      }
+    });
+  }
+
+  private <T> T withLocks(final Collection<Long> runIds, final Supplier<T> action) {
+    var stripes = runIds.stream()
+        .mapToInt(runId -> Math.floorMod(runId.hashCode(), LOCK_STRIPES))
+        .distinct()
+        .sorted()
+        .toArray();
+    for (var stripe : stripes) {
+      locks[stripe].lock();
+    }
+    try {
+      return action.get();
+    } finally {
+      for (int i = stripes.length - 1; i >= 0; i--) {
+        locks[stripes[i]].unlock();
+      }
+    }
+  }
+
+  private void addPoint(final Map<Long, Map<LocalDateTime, RunPoint>> points, final RunPoint point) {
+    points.computeIfAbsent(point.getRunId(), runId -> new TreeMap<>())
+        .putIfAbsent(point.getPointTime(), point);
+  }
+
+  private void write(final List<RunPoint> points) {
+    if (points.isEmpty()) {
+      return;
+    }
+    try {
+      runPointRepository.insert(points);
+      flushedCounter.increment(points.size());
+    } catch (DataAccessException ex) {
+      droppedCounter.increment(points.size());
+      log.error("Can't write {} points of run {}: {}", points.size(), points.get(0).getRunId(), ex.getMessage());
+    }
+  }
+
+  private record PendingWrite(List<RunPoint> points, Set<Long> runIds, CompletableFuture<Void> done) {
+  }
+}
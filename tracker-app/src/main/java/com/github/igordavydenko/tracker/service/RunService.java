@@ -1,25 +1,52 @@
 package com.github.igordavydenko.tracker.service;
 
 import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.UserNotFoundException;
 import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
 import com.github.igordavydenko.tracker.persistence.repository.RunRepository;
+import com.github.igordavydenko.tracker.persistence.repository.UserDailyRunStatRepository;
+import com.github.igordavydenko.tracker.rest.dto.RunCursor;
+import com.github.igordavydenko.tracker.service.util.DistanceCalculator;
+import com.github.igordavydenko.tracker.service.util.GeoHash;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("tracker.service")
 public class RunService {
 
-  private static final int EARTH_RADIUS = 6371000;
-
   private final RunRepository runRepository;
+  private final UserDailyRunStatRepository userDailyRunStatRepository;
   private final UserService userService;
+  private final EntityManager entityManager;
+  private final ApplicationEventPublisher eventPublisher;
+  private final RunPointService runPointService;
 
   @Transactional(readOnly = true)
   public UserEntity getUser(Long id) {
@@ -44,24 +71,108 @@ public class RunService {
     return runRepository.findByUserIdAndPeriod(user.getId(), fromDateTime, toDateTime);
   }
 
+  @Transactional(readOnly = true)
+  public void forEachByUserAndPeriod(
+      final UserEntity user,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final Consumer<RunEntity> consumer
+  ) {
+    try (var runs = runRepository.streamByUserIdAndPeriod(user.getId(), fromDateTime, toDateTime)) {
+      runs.forEach(run -> {
+        consumer.accept(run);
+        entityManager.detach(run);
+      });
+    }
+  }
+
+  @Transactional(readOnly = true)
+  public List<RunEntity> findPageByUserAndPeriod(
+      final UserEntity user,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final RunCursor cursor,
+      final int limit
+  ) {
+    if (cursor != null) {
+      return runRepository.findPageByUserId(user.getId(), fromDateTime, toDateTime,
+          cursor.getStartDateTime(), cursor.getId(), Limit.of(limit));
+    }
+    return runRepository.findPageByUserId(user.getId(), fromDateTime, toDateTime, null, null, Limit.of(limit));
+  }
+
+  @Transactional(readOnly = true)
+  public RunTotals getRunTotalsByUserAndPeriod(
+      final UserEntity user,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime
+  ) {
+    var firstFullDay = getFirstFullDay(fromDateTime, toDateTime == null);
+    var lastFullDay = getLastFullDay(toDateTime);
+    if (firstFullDay != null && lastFullDay != null && firstFullDay.isAfter(lastFullDay)) {
+      return runRepository.getRunTotalsByUserIdAndPeriod(user.getId(), fromDateTime, toDateTime);
+    }
+
+    var runTotals = userDailyRunStatRepository.getRunTotalsByUserIdAndDays(user.getId(), firstFullDay, lastFullDay);
+    if (fromDateTime != null && toDateTime == null) {
+      runTotals = runTotals.plus(runRepository.getRunTotalsByUserIdAndStartDateTimeAfterUntil(
+          user.getId(), fromDateTime, firstFullDay.atStartOfDay()));
+    } else if (fromDateTime != null && fromDateTime.isBefore(firstFullDay.atStartOfDay())) {
+      runTotals = runTotals.plus(runRepository.getRunTotalsByUserIdAndStartDateTimeFromUntil(
+          user.getId(), fromDateTime, firstFullDay.atStartOfDay()));
+    }
+    if (toDateTime != null && fromDateTime == null) {
+      runTotals = runTotals.plus(runRepository.getRunTotalsByUserIdAndStartDateTimeFromUntil(
+          user.getId(), toDateTime.toLocalDate().atStartOfDay(), toDateTime));
+    } else if (toDateTime != null) {
+      runTotals = runTotals.plus(runRepository.getRunTotalsByUserIdAndStartDateTimeBetween(
+          user.getId(), toDateTime.toLocalDate().atStartOfDay(), toDateTime));
+    }
+
+    var activeRunOptional = getActiveRun(user);
+    if (activeRunOptional.isPresent() && isInDays(activeRunOptional.get(), firstFullDay, lastFullDay)) {
+      runTotals = runTotals.plus(RunTotals.of(1, 0, 0));
+    }
+    return runTotals;
+  }
+
   @Transactional
   public RunEntity finishRun(final RunEntity source) {
     var user = getUserByRun(source);
+    userService.lockUsers(List.of(user.getId()));
     var activeRunOptional = getActiveRun(user);
 
     if (activeRunOptional.isPresent()) {
       var activeRun = activeRunOptional.get();
       updateProperties(source, activeRun);
       validateRun(activeRun);
-      return save(activeRun);
+      applyTrack(activeRun, runPointService.compactTracks(List.of(activeRun)).get(activeRun.getId()));
+      var finishedRun = save(activeRun);
+      var dailyStat = updateDailyRunStat(finishedRun);
+      eventPublisher.publishEvent(new RunsChangedEvent(Set.of(user.getId()), List.of(dailyStat)));
+      return finishedRun;
     } else {
       throw new RunBusinessLogicException(String.format("No active run found for user with id: '%s'", user.getId()));
     }
   }
 
+  @Transactional(readOnly = true)
+  public UserEntity validateFinishRun(final RunEntity source) {
+    var user = getUserByRun(source);
+    var activeRun = getActiveRun(user)
+        .orElseThrow(() -> new RunBusinessLogicException(
+            String.format("No active run found for user with id: '%s'", user.getId())));
+    var finishedRun = new RunEntity();
+    setProperties(activeRun, finishedRun);
+    updateProperties(source, finishedRun);
+    validateRun(finishedRun);
+    return user;
+  }
+
   @Transactional
   public RunEntity startRun(final RunEntity source) {
     var user = getUserByRun(source);
+    userService.lockUsers(List.of(user.getId()));
     var activeRunOptional = getActiveRun(user);
     if (activeRunOptional.isPresent()) {
       throw new RunBusinessLogicException("Other run in progress");
@@ -71,7 +182,94 @@ public class RunService {
     setProperties(source, target);
     target.setUser(user);
     validateStartRun(target);
-    return save(target);
+    var startedRun = save(target);
+    eventPublisher.publishEvent(new RunsChangedEvent(Set.of(user.getId()), List.of()));
+    return startedRun;
+  }
+
+  @Transactional
+  public List<BatchItemResult<RunEntity>> startRuns(final List<RunEntity> sources) {
+    var users = getUsersByRuns(sources);
+    userService.lockUsers(users.keySet());
+    var activeRuns = getActiveRunsByUsers(users.keySet());
+
+    List<BatchItemResult<RunEntity>> results = new ArrayList<>(sources.size());
+    List<RunEntity> targets = new ArrayList<>(sources.size());
+    for (var source : sources) {
+      try {
+        var user = getBatchUser(source, users);
+        if (activeRuns.containsKey(user.getId())) {
+          throw new RunBusinessLogicException("Other run in progress");
+        }
+
+        var target = new RunEntity();
+        setProperties(source, target);
+        target.setUser(user);
+        validateStartRun(target);
+        activeRuns.put(user.getId(), target);
+        targets.add(target);
+        results.add(BatchItemResult.success(target));
+      } catch (RunBusinessLogicException | UserNotFoundException ex) {
+        results.add(BatchItemResult.failure(ex.getMessage()));
+      }
+    }
+
+    runRepository.saveAll(targets);
+    publishRunsChanged(targets, List.of());
+    return results;
+  }
+
+  @Transactional
+  public List<BatchItemResult<RunEntity>> finishRuns(final List<RunEntity> sources) {
+    var users = getUsersByRuns(sources);
+    userService.lockUsers(users.keySet());
+    var activeRuns = getActiveRunsByUsers(users.keySet());
+
+    List<BatchItemResult<RunEntity>> results = new ArrayList<>(sources.size());
+    List<RunEntity> finishedRuns = new ArrayList<>(sources.size());
+    for (var source : sources) {
+      try {
+        var user = getBatchUser(source, users);
+        var activeRun = activeRuns.get(user.getId());
+        if (activeRun == null) {
+          throw new RunBusinessLogicException(
+              String.format("No active run found for user with id: '%s'", user.getId()));
+        }
+
+        var finishedRun = new RunEntity();
+        setProperties(activeRun, finishedRun);
+        updateProperties(source, finishedRun);
+        validateRun(finishedRun);
+        updateProperties(finishedRun, activeRun);
+        activeRuns.remove(user.getId());
+        finishedRuns.add(activeRun);
+        results.add(BatchItemResult.success(activeRun));
+      } catch (RunBusinessLogicException | UserNotFoundException ex) {
+        results.add(BatchItemResult.failure(ex.getMessage()));
+      }
+    }
+
+    var tracks = runPointService.compactTracks(finishedRuns);
+    finishedRuns.forEach(run -> applyTrack(run, tracks.get(run.getId())));
+    publishRunsChanged(finishedRuns, updateDailyRunStats(finishedRuns));
+    return results;
+  }
+
+  public int appendPoints(final Long userId, final List<RunPoint> points) {
+    var user = getUser(userId);
+    var activeRun = getActiveRun(user)
+        .orElseThrow(() -> new RunBusinessLogicException(
+            String.format("No active run found for user with id: '%s'", user.getId())));
+
+    List<RunPoint> runPoints = new ArrayList<>(points.size());
+    for (var point : points) {
+      if (point.getPointTime().isBefore(activeRun.getStartDateTime())) {
+        throw new RunBusinessLogicException("Point time should be after start time");
+      }
+      runPoints.add(point.withRunId(activeRun.getId()).withUserId(user.getId()));
+    }
+    runPointService.append(activeRun.getId(), runPoints);
+    return runPoints.size();
   }
 
   @Transactional
@@ -79,10 +277,114 @@ public class RunService {
     return runRepository.save(runEntity);
   }
 
+  private void publishRunsChanged(
+      final List<RunEntity> runs,
+      final Collection<UserDailyRunStatEntity> dailyStatChanges
+  ) {
+    if (!runs.isEmpty()) {
+      eventPublisher.publishEvent(new RunsChangedEvent(runs.stream()
+          .map(run -> run.getUser().getId())
+          .collect(Collectors.toSet()), dailyStatChanges));
+    }
+  }
+
   private Optional<RunEntity> getActiveRun(UserEntity user) {
-    return user.getRuns().stream()
-        .filter(run -> run.getFinishDateTime() == null)
-        .findFirst();
+    return runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId());
+  }
+
+  private Map<Long, UserEntity> getUsersByRuns(final List<RunEntity> runs) {
+    var userIds = runs.stream()
+        .map(RunEntity::getUser)
+        .filter(Objects::nonNull)
+        .map(UserEntity::getId)
+        .collect(Collectors.toSet());
+    return userService.getUsersByIds(userIds).stream()
+        .collect(Collectors.toMap(UserEntity::getId, Function.identity()));
+  }
+
+  private Map<Long, RunEntity> getActiveRunsByUsers(final Collection<Long> userIds) {
+    if (userIds.isEmpty()) {
+      return new HashMap<>();
+    }
+    return runRepository.findByUserIdInAndFinishDateTimeIsNull(userIds).stream()
+        .collect(Collectors.toMap(run -> run.getUser().getId(), Function.identity()));
+  }
+
+  private UserEntity getBatchUser(final RunEntity run, final Map<Long, UserEntity> users) {
+    if (run.getUser() == null || run.getUser().getId() == null) {
+      throw new RunBusinessLogicException("Field user must be filled with a valid user");
+    }
+    var user = users.get(run.getUser().getId());
+    if (user == null) {
+      throw new UserNotFoundException(run.getUser().getId());
+    }
+    return user;
+  }
+
+  private Collection<UserDailyRunStatEntity> updateDailyRunStats(final List<RunEntity> runs) {
+    Map<UserDailyRunStatEntity.UserDay, UserDailyRunStatEntity> stats = new LinkedHashMap<>();
+    for (var run : runs) {
+      var counted = run.getDistance() > 0;
+      var stat = stats.computeIfAbsent(
+          new UserDailyRunStatEntity.UserDay(run.getUser().getId(), run.getStartDateTime().toLocalDate()),
+          userDay -> new UserDailyRunStatEntity(userDay.getUserId(), userDay.getDay(), 0, 0L, 0L));
+      stat.setRunCount(stat.getRunCount() + 1);
+      if (counted) {
+        stat.setDistance(stat.getDistance() + run.getDistance());
+        stat.setDuration(stat.getDuration()
+            + Duration.between(run.getStartDateTime(), run.getFinishDateTime()).getSeconds());
+      }
+    }
+    userDailyRunStatRepository.upsertAll(stats.values());
+    return stats.values();
+  }
+
+  private UserDailyRunStatEntity updateDailyRunStat(final RunEntity run) {
+    var counted = run.getDistance() > 0;
+    var stat = new UserDailyRunStatEntity(
+        run.getUser().getId(),
+        run.getStartDateTime().toLocalDate(),
+        1,
+        counted ? (long) run.getDistance() : 0L,
+        counted ? Duration.between(run.getStartDateTime(), run.getFinishDateTime()).getSeconds() : 0L);
+    userDailyRunStatRepository.upsert(
+        stat.getUserId(), stat.getDay(), stat.getRunCount(), stat.getDistance(), stat.getDuration());
+    return stat;
+  }
+
+  private LocalDate getFirstFullDay(final LocalDateTime fromDateTime, final boolean exclusive) {
+    if (fromDateTime == null) {
+      return null;
+    }
+    return !exclusive && fromDateTime.toLocalTime().equals(LocalTime.MIDNIGHT)
+        ? fromDateTime.toLocalDate()
+        : fromDateTime.toLocalDate().plusDays(1);
+  }
+
+  private LocalDate getLastFullDay(final LocalDateTime toDateTime) {
+    return toDateTime == null ? null : toDateTime.toLocalDate().minusDays(1);
+  }
+
+  private boolean isInDays(final RunEntity run, final LocalDate fromDay, final LocalDate toDay) {
+    var day = run.getStartDateTime().toLocalDate();
+    return (fromDay == null || !day.isBefore(fromDay)) && (toDay == null || !day.isAfter(toDay));
+  }
+
+  private void applyTrack(final RunEntity runEntity, final List<RunPoint> track) {
+    if (track == null || track.isEmpty()) {
+      return;
+    }
+    double distance = 0;
+    double latitude = runEntity.getStartLatitude();
+    double longitude = runEntity.getStartLongitude();
+    for (var point : track) {
+      distance += DistanceCalculator.haversine(latitude, longitude, point.getLatitude(), point.getLongitude());
+      latitude = point.getLatitude();
+      longitude = point.getLongitude();
+    }
+    distance += DistanceCalculator.haversine(
+        latitude, longitude, runEntity.getFinishLatitude(), runEntity.getFinishLongitude());
+    runEntity.setDistance((int) distance);
   }
 
   private double calculateDistance(final RunEntity runEntity) {
@@ -93,14 +395,9 @@ public class RunService {
     ) {
       throw new RunBusinessLogicException("Can't calculate distance. Some latitude or longitude params is null");
     }
-    double latitude = Math.toRadians(runEntity.getFinishLatitude() - runEntity.getStartLatitude());
-    double longitude = Math.toRadians(runEntity.getFinishLongitude() - runEntity.getStartLongitude());
-
-    double a = Math.cos(Math.toRadians(runEntity.getStartLatitude()))
-        * Math.cos(Math.toRadians(runEntity.getFinishLatitude()))
-        * Math.sin(longitude / 2) * Math.sin(longitude / 2)
-        + Math.sin(latitude / 2) * Math.sin(latitude / 2);
-    return EARTH_RADIUS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    return DistanceCalculator.haversine(
+        runEntity.getStartLatitude(), runEntity.getStartLongitude(),
+        runEntity.getFinishLatitude(), runEntity.getFinishLongitude());
   }
 
   private void setProperties(
@@ -116,6 +413,9 @@ public class RunService {
     if (source.getStartLongitude() != null) {
       target.setStartLongitude(source.getStartLongitude());
     }
+    if (target.getStartLatitude() != null && target.getStartLongitude() != null) {
+      target.setStartGeohash(GeoHash.encode(target.getStartLatitude(), target.getStartLongitude()));
+    }
   }
 
   private void updateProperties(
@@ -131,6 +431,9 @@ public class RunService {
     if (source.getFinishLongitude() != null) {
       target.setFinishLongitude(source.getFinishLongitude());
     }
+    if (target.getFinishLatitude() != null && target.getFinishLongitude() != null) {
+      target.setFinishGeohash(GeoHash.encode(target.getFinishLatitude(), target.getFinishLongitude()));
+    }
     if (source.getDistance() != null) {
       target.setDistance(source.getDistance());
     } else {
@@ -0,0 +1,19 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Collection;
+import java.util.Set;
+
+@Value
+@AllArgsConstructor
+public class RunsChangedEvent {
+  Set<Long> userIds;
+  Collection<UserDailyRunStatEntity> dailyStatChanges;
+
+  public RunsChangedEvent(Set<Long> userIds) {
+    this(userIds, null);
+  }
+}
@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.service;
+
+import java.util.Locale;
+
+public enum StatisticBucket {
+  DAY,
+  WEEK,
+  MONTH;
+
+  public String getUnit() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,98 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+public class StatisticCache {
+
+  static final String CACHE_NAME = "statistics";
+
+  private final AtomicLong versionSequence = new AtomicLong();
+  private final Cache<Long, Long> versions;
+  private final Cache<Key, Object> results;
+
+  public StatisticCache(
+      MeterRegistry meterRegistry,
+      @Value("${tracker.statistic-cache.maximum-size:10000}") long maximumSize,
+      @Value("${tracker.statistic-cache.ttl:1m}") Duration ttl
+  ) {
+    this.versions = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterAccess(ttl)
+        .build();
+    this.results = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, results, CACHE_NAME);
+  }
+
+  public StatisticDto getStatistic(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final Supplier<StatisticDto> loader
+  ) {
+    return get(new Key(userId, getVersion(userId), Kind.STATISTIC, fromDateTime, toDateTime, null, 0), loader);
+  }
+
+  public CursorPageDto<RunDto.RunStatistic> getRunsPage(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final String cursor,
+      final int limit,
+      final Supplier<CursorPageDto<RunDto.RunStatistic>> loader
+  ) {
+    return get(new Key(userId, getVersion(userId), Kind.RUNS_PAGE, fromDateTime, toDateTime, cursor, limit), loader);
+  }
+
+  @TransactionalEventListener(fallbackExecution = true)
+  public void onRunsChanged(final RunsChangedEvent event) {
+    event.getUserIds().forEach(userId -> versions.put(userId, versionSequence.incrementAndGet()));
+  }
+
+  public void invalidateAll() {
+    results.invalidateAll();
+  }
+
+  private long getVersion(final Long userId) {
+    return versions.get(userId, key -> versionSequence.incrementAndGet());
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T get(final Key key, final Supplier<T> loader) {
+    return (T) results.get(key, ignored -> loader.get());
+  }
+
+  private enum Kind {
+    STATISTIC,
+    RUNS_PAGE
+  }
+
+  private record Key(
+      Long userId,
+      long version,
+      Kind kind,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime,
+      String cursor,
+      int limit
+  ) {
+  }
+}
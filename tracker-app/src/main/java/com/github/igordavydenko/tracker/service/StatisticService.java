@@ -1,75 +1,149 @@
 package com.github.igordavydenko.tracker.service;
 
-import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
+import com.github.igordavydenko.tracker.persistence.repository.RunSeriesRepository;
+import com.github.igordavydenko.tracker.rest.converter.RunEntityToStatisticConverter;
+import com.github.igordavydenko.tracker.rest.converter.TrackPointToResponseConverter;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.RunCursor;
 import com.github.igordavydenko.tracker.rest.dto.RunDto;
 import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticSeriesDto;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("tracker.service")
 public class StatisticService {
 
+  private static final double SECONDS_PER_HOUR = 3600.0;
+
   private final RunService runService;
+  private final RunEntityToStatisticConverter runStatisticConverter;
+  private final StatisticCache statisticCache;
+  private final RunPointService runPointService;
+  private final TrackPointToResponseConverter trackPointConverter;
+  private final RunSeriesRepository runSeriesRepository;
+
+  public CursorPageDto<RunDto.RunStatistic> getUserRuns(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final String cursor,
+      final int limit
+  ) {
+    return statisticCache.getRunsPage(userId, fromDateTime, toDateTime, cursor, limit,
+        () -> loadUserRuns(userId, fromDateTime, toDateTime, cursor, limit));
+  }
 
   @Transactional(readOnly = true)
-  public List<RunDto.RunStatistic> getUserRuns(
+  public void exportUserRuns(
       final Long userId,
       final LocalDateTime fromDateTime,
-      final LocalDateTime toDateTime
+      final LocalDateTime toDateTime,
+      final Consumer<RunDto.RunStatistic> consumer
   ) {
     var user = runService.getUser(userId);
-    var userRuns = runService.findByUserAndPeriod(user, fromDateTime, toDateTime);
-    return userRuns.stream()
-        .map(this::convertToRunStatistic)
-        .collect(Collectors.toList());
+    runService.forEachByUserAndPeriod(user, fromDateTime, toDateTime,
+        run -> consumer.accept(runStatisticConverter.convert(run)));
   }
 
-  @Transactional(readOnly = true)
   public StatisticDto getUserStatistic(
       final Long userId,
       final LocalDateTime fromDateTime,
       final LocalDateTime toDateTime
   ) {
-    var userRuns = getUserRuns(userId, fromDateTime, toDateTime);
-
-    int totalDistance = 0;
-    double totalTime = 0.0;
-
-    for (RunDto.RunStatistic run : userRuns) {
-      if (run.getDistance() != null
-          && run.getDistance() > 0
-          && run.getStartDateTime() != null
-          && run.getFinishDateTime() != null
-      ) {
-        totalDistance += run.getDistance();
-        totalTime += Duration.between(run.getStartDateTime(), run.getFinishDateTime()).toHours();
-      }
-    }
+    return statisticCache.getStatistic(userId, fromDateTime, toDateTime,
+        () -> loadUserStatistic(userId, fromDateTime, toDateTime));
+  }
 
-    return StatisticDto.builder()
-        .totalRuns(userRuns.size())
-        .totalDistance(totalDistance)
-        .averageSpeed((totalTime > 0) ? calculateAverageSpeed(totalDistance, totalTime) : 0.0)
+  public StatisticSeriesDto getUserSeries(
+      final Long userId,
+      final StatisticBucket bucket,
+      final LocalDate fromDate,
+      final LocalDate toDate
+  ) {
+    var user = runService.getUser(userId);
+    var series = runSeriesRepository.findSeries(bucket.getUnit(), user.getId(), fromDate, toDate);
+    return StatisticSeriesDto.builder()
+        .bucket(bucket.getUnit())
+        .items(series.stream()
+            .map(item -> StatisticSeriesDto.Bucket.builder()
+                .start(item.getStart())
+                .totalRuns((int) item.getTotals().getTotalRuns())
+                .totalDistance((int) item.getTotals().getTotalDistance())
+                .averageSpeed(averageSpeed(item.getTotals()))
+                .build())
+            .collect(Collectors.toList()))
         .build();
   }
 
-  private double calculateAverageSpeed(final RunEntity run) {
-    if (run.getDistance() == null || run.getDistance() == 0) {
-      return 0;
-    }
-    var duration = Duration.between(run.getStartDateTime(), run.getFinishDateTime());
-    if (duration.isZero()) {
-      return 0;
+  public RunDto.RunTrack getRunTrack(
+      final Long userId,
+      final Long runId,
+      final Integer zoom,
+      final Double tolerance
+  ) {
+    var user = runService.getUser(userId);
+    var points = runPointService.getTrack(user.getId(), runId, zoom, tolerance);
+    return new RunDto.RunTrack(runId, points.stream()
+        .map(trackPointConverter::convert)
+        .collect(Collectors.toList()));
+  }
+
+  private CursorPageDto<RunDto.RunStatistic> loadUserRuns(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final String cursor,
+      final int limit
+  ) {
+    var user = runService.getUser(userId);
+    var runCursor = cursor != null ? RunCursor.decode(cursor) : null;
+    var userRuns = runService.findPageByUserAndPeriod(user, fromDateTime, toDateTime, runCursor, limit + 1);
+
+    String nextCursor = null;
+    if (userRuns.size() > limit) {
+      userRuns = userRuns.subList(0, limit);
+      var lastRun = userRuns.get(limit - 1);
+      nextCursor = new RunCursor(lastRun.getStartDateTime(), lastRun.getId()).encode();
     }
 
-    return calculateAverageSpeed(run.getDistance(), duration.toHours());
+    return CursorPageDto.<RunDto.RunStatistic>builder()
+        .items(userRuns.stream()
+            .map(runStatisticConverter::convert)
+            .collect(Collectors.toList()))
+        .limit(limit)
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  private StatisticDto loadUserStatistic(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime
+  ) {
+    var user = runService.getUser(userId);
+    var runTotals = runService.getRunTotalsByUserAndPeriod(user, fromDateTime, toDateTime);
+
+    return StatisticDto.builder()
+        .totalRuns((int) runTotals.getTotalRuns())
+        .totalDistance((int) runTotals.getTotalDistance())
+        .averageSpeed(averageSpeed(runTotals))
+        .build();
+  }
+
+  private double averageSpeed(final RunTotals runTotals) {
+    double totalTime = (double) runTotals.getTotalDurationSeconds() / SECONDS_PER_HOUR;
+    return (totalTime > 0) ? calculateAverageSpeed(runTotals.getTotalDistance(), totalTime) : 0.0;
   }
 
   private double calculateAverageSpeed(
@@ -77,20 +151,4 @@ public class StatisticService {
       final double durationHour) {
     return distanceMeter / (durationHour * 1000);
   }
-
-  private RunDto.RunStatistic convertToRunStatistic(final RunEntity runEntity) {
-    var runStatistic = new RunDto.RunStatistic();
-
-    runStatistic.setUserId(runEntity.getUser().getId());
-    runStatistic.setStartDateTime(runEntity.getStartDateTime());
-    runStatistic.setFinishDateTime(runEntity.getFinishDateTime());
-    runStatistic.setStartLatitude(runEntity.getStartLatitude());
-    runStatistic.setFinishLatitude(runEntity.getFinishLatitude());
-    runStatistic.setStartLongitude(runEntity.getStartLongitude());
-    runStatistic.setFinishLongitude(runEntity.getFinishLongitude());
-    runStatistic.setDistance(runEntity.getDistance());
-    runStatistic.setAverageSpeed(calculateAverageSpeed(runEntity));
-
-    return runStatistic;
-  }
 }
@@ -0,0 +1,61 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+@Component
+public class UserCache {
+
+  static final String CACHE_NAME = "users";
+
+  private final Cache<Long, UserEntity> cache;
+
+  public UserCache(
+      MeterRegistry meterRegistry,
+      @Value("${tracker.user-cache.maximum-size:10000}") long maximumSize,
+      @Value("${tracker.user-cache.ttl:5m}") Duration ttl
+  ) {
+    this.cache = Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .expireAfterWrite(ttl)
+        .recordStats()
+        .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+  }
+
+  public UserEntity get(final Long id, final Function<Long, UserEntity> loader) {
+    return copy(cache.get(id, key -> copy(loader.apply(key))));
+  }
+
+  public void evict(final Long id) {
+    cache.invalidate(id);
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+        @Override
+        public void afterCompletion(int status) {
+          cache.invalidate(id);
+        }
+      });
+    }
+  }
+
+  private static UserEntity copy(final UserEntity source) {
+    return UserEntity.builder()
+        .id(source.getId())
+        .firstName(source.getFirstName())
+        .lastName(source.getLastName())
+        .birthDate(source.getBirthDate())
+        .sex(source.getSex())
+        .build();
+  }
+}
@@ -3,31 +3,58 @@ package com.github.igordavydenko.tracker.service;
 import com.github.igordavydenko.tracker.exception.UserNotFoundException;
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
 import com.github.igordavydenko.tracker.persistence.repository.UserRepository;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
   private final UserRepository userRepository;
+  private final EntityManager entityManager;
+  private final UserCache userCache;
+  private final ApplicationEventPublisher eventPublisher;
 
   @Transactional(readOnly = true)
-  public List<UserEntity> getAllUsers() {
-    return userRepository.findAll();
+  public List<UserEntity> findPage(Long afterId, int limit) {
+    return userRepository.findByIdGreaterThanOrderByIdAsc(afterId != null ? afterId : 0L, Limit.of(limit));
   }
 
   @Transactional(readOnly = true)
+  public void forEachUser(final Consumer<UserEntity> consumer) {
+    try (var users = userRepository.streamAllByOrderByIdAsc()) {
+      users.forEach(user -> {
+        consumer.accept(user);
+        entityManager.detach(user);
+      });
+    }
+  }
+
   public UserEntity getUserById(Long id) {
-    Optional<UserEntity> foundedUser = userRepository.findById(id);
-    if (foundedUser.isEmpty()) {
-      throw new UserNotFoundException(id);
+    return userCache.get(id, this::findUserById);
+  }
+
+  @Transactional(readOnly = true)
+  public List<UserEntity> getUsersByIds(Collection<Long> ids) {
+    return userRepository.findAllById(ids);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void lockUsers(Collection<Long> ids) {
+    if (!ids.isEmpty()) {
+      userRepository.lockAllById(ids);
     }
-    return foundedUser.get();
   }
 
   @Transactional
@@ -37,15 +64,18 @@ public class UserService {
 
   @Transactional
   public UserEntity update(Long id, UserEntity source) {
-    var target = getUserById(id);
+    var target = findUserById(id);
     setProperties(source, target);
+    userCache.evict(id);
     return save(target);
   }
 
   @Transactional
   public void delete(Long id) {
-    var user = getUserById(id);
+    var user = findUserById(id);
+    userCache.evict(id);
     userRepository.delete(user);
+    eventPublisher.publishEvent(new RunsChangedEvent(Set.of(id)));
   }
 
   @Transactional
@@ -53,6 +83,14 @@ public class UserService {
     return userRepository.save(userEntity);
   }
 
+  private UserEntity findUserById(Long id) {
+    Optional<UserEntity> foundedUser = userRepository.findById(id);
+    if (foundedUser.isEmpty()) {
+      throw new UserNotFoundException(id);
+    }
+    return foundedUser.get();
+  }
+
   private void setProperties(
       final UserEntity source,
       final UserEntity target
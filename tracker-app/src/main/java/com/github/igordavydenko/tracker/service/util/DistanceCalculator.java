@@ -0,0 +1,45 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class DistanceCalculator {
+
+  public static final boolean VECTORIZED = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+  static final int EARTH_RADIUS = 6371000;
+
+  public static double haversine(
+      final double startLatitude,
+      final double startLongitude,
+      final double finishLatitude,
+      final double finishLongitude
+  ) {
+    double latitude = Math.toRadians(finishLatitude - startLatitude);
+    double longitude = Math.toRadians(finishLongitude - startLongitude);
+
+    double a = Math.cos(Math.toRadians(startLatitude))
+        * Math.cos(Math.toRadians(finishLatitude))
+        * Math.sin(longitude / 2) * Math.sin(longitude / 2)
+        + Math.sin(latitude / 2) * Math.sin(latitude / 2);
+    return EARTH_RADIUS * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+  }
+
+  public static void haversine(
+      final double[] startLatitudes,
+      final double[] startLongitudes,
+      final double[] finishLatitudes,
+      final double[] finishLongitudes,
+      final double[] distances,
+      final int length
+  ) {
+    var offset = VECTORIZED
+        ? VectorDistanceCalculator.haversine(
+            startLatitudes, startLongitudes, finishLatitudes, finishLongitudes, distances, length)
+        : 0;
+    for (int i = offset; i < length; i++) {
+      distances[i] = haversine(startLatitudes[i], startLongitudes[i], finishLatitudes[i], finishLongitudes[i]);
+    }
+  }
+}
@@ -0,0 +1,142 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class GeoHash {
+
+  public static final int PRECISION = 9;
+  public static final char RANGE_END = '{';
+
+  private static final String ALPHABET = "0123456789bcdefghjkmnpqrstuvwxyz";
+  private static final int EARTH_RADIUS = 6371000;
+
+  public static String encode(final double latitude, final double longitude) {
+    return encode(latitude, longitude, PRECISION);
+  }
+
+  public static String encode(final double latitude, final double longitude, final int precision) {
+    var hash = new StringBuilder(precision);
+    double minLatitude = -90;
+    double maxLatitude = 90;
+    double minLongitude = -180;
+    double maxLongitude = 180;
+    var even = true;
+    var bits = 0;
+    var value = 0;
+    while (hash.length() < precision) {
+      if (even) {
+        var middle = (minLongitude + maxLongitude) / 2;
+        if (longitude >= middle) {
+          value = value * 2 + 1;
+          minLongitude = middle;
+        } else {
+          value = value * 2;
+          maxLongitude = middle;
+        }
+      } else {
+        var middle = (minLatitude + maxLatitude) / 2;
+        if (latitude >= middle) {
+          value = value * 2 + 1;
+          minLatitude = middle;
+        } else {
+          value = value * 2;
+          maxLatitude = middle;
+        }
+      }
+      even = !even;
+      if (++bits == 5) {
+        hash.append(ALPHABET.charAt(value));
+        bits = 0;
+        value = 0;
+      }
+    }
+    return hash.toString();
+  }
+
+  public static List<String> coverBox(
+      final double minLatitude,
+      final double minLongitude,
+      final double maxLatitude,
+      final double maxLongitude,
+      final int maxCells
+  ) {
+    if (minLongitude > maxLongitude) {
+      var cells = new TreeSet<>(coverBox(minLatitude, minLongitude, maxLatitude, 180, maxCells / 2));
+      cells.addAll(coverBox(minLatitude, -180, maxLatitude, maxLongitude, maxCells / 2));
+      return new ArrayList<>(cells);
+    }
+    for (int precision = PRECISION; precision > 0; precision--) {
+      var cells = cells(minLatitude, minLongitude, maxLatitude, maxLongitude, precision, maxCells);
+      if (cells != null) {
+        return cells;
+      }
+    }
+    return List.of("");
+  }
+
+  public static List<String> coverRadius(
+      final double latitude,
+      final double longitude,
+      final double radius,
+      final int maxCells
+  ) {
+    var angularRadius = radius / EARTH_RADIUS;
+    var minLatitude = latitude - Math.toDegrees(angularRadius);
+    var maxLatitude = latitude + Math.toDegrees(angularRadius);
+    var sinLongitudeDelta = Math.sin(angularRadius) / Math.cos(Math.toRadians(latitude));
+    if (minLatitude <= -90 || maxLatitude >= 90 || sinLongitudeDelta >= 1) {
+      return coverBox(Math.max(minLatitude, -90), -180, Math.min(maxLatitude, 90), 180, maxCells);
+    }
+    var longitudeDelta = Math.toDegrees(Math.asin(sinLongitudeDelta));
+    return coverBox(minLatitude, normalizeLongitude(longitude - longitudeDelta),
+        maxLatitude, normalizeLongitude(longitude + longitudeDelta), maxCells);
+  }
+
+  private static List<String> cells(
+      final double minLatitude,
+      final double minLongitude,
+      final double maxLatitude,
+      final double maxLongitude,
+      final int precision,
+      final int maxCells
+  ) {
+    var latitudeBits = precision * 5 / 2;
+    var longitudeBits = precision * 5 - latitudeBits;
+    var height = 180.0 / (1L << latitudeBits);
+    var width = 360.0 / (1L << longitudeBits);
+    var firstRow = index(minLatitude + 90, height, latitudeBits);
+    var lastRow = index(maxLatitude + 90, height, latitudeBits);
+    var firstColumn = index(minLongitude + 180, width, longitudeBits);
+    var lastColumn = index(maxLongitude + 180, width, longitudeBits);
+    if ((lastRow - firstRow + 1) * (lastColumn - firstColumn + 1) > maxCells) {
+      return null;
+    }
+    var cells = new TreeSet<String>();
+    for (long row = firstRow; row <= lastRow; row++) {
+      for (long column = firstColumn; column <= lastColumn; column++) {
+        cells.add(encode(-90 + (row + 0.5) * height, -180 + (column + 0.5) * width, precision));
+      }
+    }
+    return new ArrayList<>(cells);
+  }
+
+  private static long index(final double offset, final double size, final int bits) {
+    return Math.max(0, Math.min((1L << bits) - 1, (long) Math.floor(offset / size)));
+  }
+
+  private static double normalizeLongitude(final double longitude) {
+    if (longitude < -180) {
+      return longitude + 360;
+    }
+    if (longitude > 180) {
+      return longitude - 360;
+    }
+    return longitude;
+  }
+}
@@ -0,0 +1,117 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TrackSimplifier {
+
+  public static final double[] TOLERANCES = {1, 4, 16, 64, 256};
+
+  private static final int EARTH_RADIUS = 6371000;
+  private static final double METERS_PER_PIXEL_AT_ZOOM_0 = 156543.03392;
+
+  public static byte[] levels(final List<TrackPoint> points) {
+    var significance = significance(points);
+    var levels = new byte[points.size()];
+    for (int i = 0; i < levels.length; i++) {
+      byte level = 0;
+      while (level < TOLERANCES.length && significance[i] > TOLERANCES[level]) {
+        level++;
+      }
+      levels[i] = level;
+    }
+    return levels;
+  }
+
+  public static List<TrackPoint> simplify(
+      final List<TrackPoint> points,
+      final byte[] levels,
+      final double tolerance
+  ) {
+    var level = -1;
+    while (level + 1 < TOLERANCES.length && TOLERANCES[level + 1] <= tolerance) {
+      level++;
+    }
+    if (level < 0) {
+      return points;
+    }
+    List<TrackPoint> simplified = new ArrayList<>();
+    for (int i = 0; i < points.size(); i++) {
+      if (levels[i] > level) {
+        simplified.add(points.get(i));
+      }
+    }
+    return simplified;
+  }
+
+  public static double zoomTolerance(final int zoom, final double latitude) {
+    return METERS_PER_PIXEL_AT_ZOOM_0 * Math.cos(Math.toRadians(latitude)) / (1L << zoom);
+  }
+
+  private static double[] significance(final List<TrackPoint> points) {
+    var size = points.size();
+    var significance = new double[size];
+    if (size == 0) {
+      return significance;
+    }
+    var x = new double[size];
+    var y = new double[size];
+    var scale = Math.cos(Math.toRadians(points.get(0).getLatitude()));
+    for (int i = 0; i < size; i++) {
+      x[i] = Math.toRadians(points.get(i).getLongitude()) * EARTH_RADIUS * scale;
+      y[i] = Math.toRadians(points.get(i).getLatitude()) * EARTH_RADIUS;
+    }
+
+    significance[0] = Double.POSITIVE_INFINITY;
+    significance[size - 1] = Double.POSITIVE_INFINITY;
+    Deque<Segment> segments = new ArrayDeque<>();
+    segments.push(new Segment(0, size - 1, Double.POSITIVE_INFINITY));
+    while (!segments.isEmpty()) {
+      var segment = segments.pop();
+      var farthest = -1;
+      var maxDistance = -1.0;
+      for (int i = segment.first() + 1; i < segment.last(); i++) {
+        var distance = segmentDistance(x, y, i, segment.first(), segment.last());
+        if (distance > maxDistance) {
+          maxDistance = distance;
+          farthest = i;
+        }
+      }
+      if (farthest < 0) {
+        continue;
+      }
+      var value = Math.min(maxDistance, segment.limit());
+      significance[farthest] = value;
+      segments.push(new Segment(segment.first(), farthest, value));
+      segments.push(new Segment(farthest, segment.last(), value));
+    }
+    return significance;
+  }
+
+  private static double segmentDistance(
+      final double[] x,
+      final double[] y,
+      final int point,
+      final int first,
+      final int last
+  ) {
+    var dx = x[last] - x[first];
+    var dy = y[last] - y[first];
+    var lengthSquared = dx * dx + dy * dy;
+    var t = lengthSquared == 0 ? 0 : ((x[point] - x[first]) * dx + (y[point] - y[first]) * dy) / lengthSquared;
+    t = Math.max(0, Math.min(1, t));
+    var offsetX = x[point] - x[first] - t * dx;
+    var offsetY = y[point] - y[first] - t * dy;
+    return Math.sqrt(offsetX * offsetX + offsetY * offsetY);
+  }
+
+  private record Segment(int first, int last, double limit) {
+  }
+}
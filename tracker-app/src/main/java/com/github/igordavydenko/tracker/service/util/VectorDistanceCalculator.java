@@ -0,0 +1,47 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class VectorDistanceCalculator {
+
+  private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+  private static final double DEGREES_TO_RADIANS = Math.PI / 180;
+  private static final double DIAMETER = 2.0 * DistanceCalculator.EARTH_RADIUS;
+
+  static int haversine(
+      final double[] startLatitudes,
+      final double[] startLongitudes,
+      final double[] finishLatitudes,
+      final double[] finishLongitudes,
+      final double[] distances,
+      final int length
+  ) {
+    var bound = SPECIES.loopBound(length);
+    for (int i = 0; i < bound; i += SPECIES.length()) {
+      var startLatitude = DoubleVector.fromArray(SPECIES, startLatitudes, i);
+      var finishLatitude = DoubleVector.fromArray(SPECIES, finishLatitudes, i);
+      var startLongitude = DoubleVector.fromArray(SPECIES, startLongitudes, i);
+      var finishLongitude = DoubleVector.fromArray(SPECIES, finishLongitudes, i);
+
+      var latitude = finishLatitude.sub(startLatitude).mul(DEGREES_TO_RADIANS);
+      var longitude = finishLongitude.sub(startLongitude).mul(DEGREES_TO_RADIANS);
+      var sinLatitude = latitude.div(2).lanewise(VectorOperators.SIN);
+      var sinLongitude = longitude.div(2).lanewise(VectorOperators.SIN);
+
+      var a = startLatitude.mul(DEGREES_TO_RADIANS).lanewise(VectorOperators.COS)
+          .mul(finishLatitude.mul(DEGREES_TO_RADIANS).lanewise(VectorOperators.COS))
+          .mul(sinLongitude).mul(sinLongitude)
+          .add(sinLatitude.mul(sinLatitude));
+      a.sqrt()
+          .lanewise(VectorOperators.ATAN2, a.neg().add(1).sqrt())
+          .mul(DIAMETER)
+          .intoArray(distances, i);
+    }
+    return bound;
+  }
+}
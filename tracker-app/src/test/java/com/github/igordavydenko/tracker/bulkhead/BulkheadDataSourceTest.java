@@ -0,0 +1,83 @@
+package com.github.igordavydenko.tracker.bulkhead;
+
+import com.github.igordavydenko.tracker.exception.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BulkheadDataSourceTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final DatabaseBulkhead databaseBulkhead = new DatabaseBulkhead(meterRegistry, 1, Duration.ofMillis(10));
+  private final DataSource targetDataSource = mock(DataSource.class);
+  private final Connection targetConnection = mock(Connection.class);
+  private final BulkheadDataSource dataSource = new BulkheadDataSource(targetDataSource, databaseBulkhead);
+
+  @Test
+  public void When_ConnectionClosed_PermitReleased() throws Exception {
+    when(targetDataSource.getConnection())
+        .thenReturn(targetConnection);
+
+    var connection = dataSource.getConnection();
+    connection.prepareStatement("SELECT 1");
+    assertEquals(0.0, meterRegistry.get("tracker.bulkhead.available").gauge().value());
+    connection.close();
+    connection.close();
+    dataSource.getConnection().close();
+
+    verify(targetConnection).prepareStatement("SELECT 1");
+    assertEquals(1.0, meterRegistry.get("tracker.bulkhead.available").gauge().value());
+    assertEquals(2, waitTimer("acquired"));
+  }
+
+  @Test
+  public void When_BulkheadFull_Rejected() throws Exception {
+    databaseBulkhead.acquire();
+
+    assertThrows(BulkheadFullException.class, dataSource::getConnection);
+
+    verify(targetDataSource, never()).getConnection();
+    assertEquals(1, waitTimer("rejected"));
+    assertEquals(0.0, meterRegistry.get("tracker.bulkhead.available").gauge().value());
+  }
+
+  @Test
+  public void When_TargetConnectionFails_PermitReleased() throws Exception {
+    when(targetDataSource.getConnection())
+        .thenThrow(new SQLException("Connection refused"));
+
+    var exception = assertThrows(SQLException.class, dataSource::getConnection);
+
+    assertEquals("Connection refused", exception.getMessage());
+    assertEquals(1.0, meterRegistry.get("tracker.bulkhead.available").gauge().value());
+  }
+
+  @Test
+  public void When_Released_PermitReused() {
+    databaseBulkhead.acquire();
+    assertThrows(BulkheadFullException.class, databaseBulkhead::acquire);
+
+    databaseBulkhead.release();
+
+    assertDoesNotThrow(databaseBulkhead::acquire);
+  }
+
+  private long waitTimer(String outcome) {
+    return meterRegistry.get(DatabaseBulkhead.WAIT_METRIC_NAME)
+        .tag("outcome", outcome)
+        .timer()
+        .count();
+  }
+}
@@ -0,0 +1,147 @@
+package com.github.igordavydenko.tracker.codec;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrackCodecTest {
+
+  private static final double COORDINATE_TOLERANCE = 0.5 / TrackCodec.COORDINATE_SCALE;
+  private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 6, 30, 15, 123_000_000);
+
+  @Test
+  public void When_RoundTrip_Success() {
+    var points = List.of(
+        new TrackPoint(START, 55.751244, 37.618423),
+        new TrackPoint(START.plusSeconds(1), 55.751301, 37.618398),
+        new TrackPoint(START.plusSeconds(2).plusNanos(500_000_000), -33.868820, 151.209296),
+        new TrackPoint(START.plusSeconds(3), -90.0, -180.0),
+        new TrackPoint(START.plusSeconds(3), 90.0, 180.0));
+
+    var decoded = TrackCodec.decode(TrackCodec.encode(points));
+
+    assertTrack(points, decoded);
+  }
+
+  @Test
+  public void When_RoundTripEmpty_Success() {
+    var encoded = TrackCodec.encode(List.of());
+
+    assertArrayEquals(new byte[] {TrackCodec.VERSION, 0}, encoded);
+    assertEquals(List.of(), TrackCodec.decode(encoded));
+  }
+
+  @Test
+  public void When_Zigzag_RoundTrip() {
+    for (long value : new long[] {0, 1, -1, 63, -64, Integer.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE}) {
+      assertEquals(value, TrackCodec.unzigzag(TrackCodec.zigzag(value)));
+    }
+    assertEquals(1, TrackCodec.zigzag(-1));
+    assertEquals(2, TrackCodec.zigzag(1));
+  }
+
+  @Test
+  public void When_RunningTrack_Compact() {
+    var random = new SplittableRandom(7);
+    var points = runningTrack(random, 1000);
+
+    var encoded = TrackCodec.encode(points);
+
+    assertTrue(encoded.length < points.size() * 8, "Encoded size " + encoded.length);
+    assertTrack(points, TrackCodec.decode(encoded));
+  }
+
+  @Test
+  public void When_FuzzRandomTracks_RoundTrip() {
+    var random = new SplittableRandom(42);
+    for (int i = 0; i < 500; i++) {
+      List<TrackPoint> points = new ArrayList<>();
+      var time = START.plusSeconds(random.nextLong(-1_000_000_000L, 1_000_000_000L)).truncatedTo(ChronoUnit.MILLIS);
+      var size = random.nextInt(0, 200);
+      for (int j = 0; j < size; j++) {
+        time = time.plus(random.nextLong(-100_000, 10_000_000), ChronoUnit.MILLIS);
+        points.add(new TrackPoint(time, random.nextDouble(-90, 90), random.nextDouble(-180, 180)));
+      }
+
+      assertTrack(points, TrackCodec.decode(TrackCodec.encode(points)));
+    }
+  }
+
+  @Test
+  public void When_FuzzCorruptedData_IllegalArgumentOnly() {
+    var random = new SplittableRandom(13);
+    var encoded = TrackCodec.encode(runningTrack(random, 50));
+    for (int i = 0; i < 5000; i++) {
+      byte[] bytes;
+      if (i % 2 == 0) {
+        bytes = new byte[random.nextInt(0, 64)];
+        for (int j = 0; j < bytes.length; j++) {
+          bytes[j] = (byte) random.nextInt(256);
+        }
+      } else {
+        bytes = Arrays.copyOf(encoded, encoded.length);
+        bytes[random.nextInt(bytes.length)] = (byte) random.nextInt(256);
+      }
+      try {
+        TrackCodec.decode(bytes);
+      } catch (IllegalArgumentException ignored) {
+      }
+    }
+  }
+
+  @Test
+  public void When_Truncated_IllegalArgument() {
+    var encoded = TrackCodec.encode(runningTrack(new SplittableRandom(3), 10));
+
+    for (int length = 0; length < encoded.length; length++) {
+      var truncated = Arrays.copyOf(encoded, length);
+      assertThrows(IllegalArgumentException.class, () -> TrackCodec.decode(truncated));
+    }
+  }
+
+  @Test
+  public void When_TrailingBytes_IllegalArgument() {
+    var encoded = TrackCodec.encode(runningTrack(new SplittableRandom(5), 10));
+    var extended = Arrays.copyOf(encoded, encoded.length + 1);
+
+    var exception = assertThrows(IllegalArgumentException.class, () -> TrackCodec.decode(extended));
+    assertEquals("Malformed track: trailing bytes", exception.getMessage());
+  }
+
+  @Test
+  public void When_UnsupportedVersion_IllegalArgument() {
+    var exception = assertThrows(IllegalArgumentException.class, () -> TrackCodec.decode(new byte[] {2, 0}));
+    assertEquals("Unsupported track version '2'", exception.getMessage());
+  }
+
+  private static List<TrackPoint> runningTrack(final SplittableRandom random, final int size) {
+    List<TrackPoint> points = new ArrayList<>(size);
+    var latitude = 55.75;
+    var longitude = 37.61;
+    for (int i = 0; i < size; i++) {
+      latitude += random.nextDouble(-0.00003, 0.00003);
+      longitude += random.nextDouble(-0.00005, 0.00005);
+      points.add(new TrackPoint(START.plusSeconds(i), latitude, longitude));
+    }
+    return points;
+  }
+
+  private static void assertTrack(final List<TrackPoint> expected, final List<TrackPoint> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i).getTime(), actual.get(i).getTime());
+      assertEquals(expected.get(i).getLatitude(), actual.get(i).getLatitude(), COORDINATE_TOLERANCE);
+      assertEquals(expected.get(i).getLongitude(), actual.get(i).getLongitude(), COORDINATE_TOLERANCE);
+    }
+  }
+}
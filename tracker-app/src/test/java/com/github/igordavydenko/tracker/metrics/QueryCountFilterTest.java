@@ -0,0 +1,118 @@
+package com.github.igordavydenko.tracker.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryCountFilterTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final QueryCountFilter filter = new QueryCountFilter(meterRegistry);
+  private final DataSource targetDataSource = mock(DataSource.class);
+  private final QueryCountDataSource dataSource = new QueryCountDataSource(targetDataSource);
+
+  @Test
+  public void When_Request_RecordsQueryCount() throws Exception {
+    when(targetDataSource.getConnection())
+        .thenReturn(mock(Connection.class));
+    var request = new MockHttpServletRequest("GET", "/api/v1/statistics/1");
+    var response = new MockHttpServletResponse();
+
+    filter.doFilter(request, response, new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest req, ServletResponse res) {
+        query("SELECT 1");
+        query("SELECT 2");
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/statistics/{userId}");
+      }
+    });
+
+    assertEquals(1, summaryCount("/api/v1/statistics/{userId}"));
+    assertEquals(2.0, summaryTotal("/api/v1/statistics/{userId}"));
+  }
+
+  @Test
+  public void When_AsyncRequest_RecordsQueryCountOnComplete() throws Exception {
+    when(targetDataSource.getConnection())
+        .thenReturn(mock(Connection.class));
+    var request = new MockHttpServletRequest("GET", "/api/v1/statistics/1/runs/export");
+    request.setAsyncSupported(true);
+    var response = new MockHttpServletResponse();
+    List<Runnable> asyncTasks = new ArrayList<>();
+
+    filter.doFilter(request, response, new MockFilterChain() {
+      @Override
+      public void doFilter(ServletRequest req, ServletResponse res) {
+        query("SELECT 1");
+        req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/v1/statistics/{userId}/runs/export");
+        req.startAsync();
+        asyncTasks.add(QueryCountDataSource.propagate(() -> {
+          query("SELECT 2");
+          query("SELECT 3");
+        }));
+      }
+    });
+
+    assertTrue(meterRegistry.find(QueryCountFilter.METRIC_NAME).summaries().isEmpty());
+
+    var worker = new Thread(asyncTasks.get(0));
+    worker.start();
+    worker.join();
+    request.getAsyncContext().complete();
+
+    assertEquals(1, summaryCount("/api/v1/statistics/{userId}/runs/export"));
+    assertEquals(3.0, summaryTotal("/api/v1/statistics/{userId}/runs/export"));
+  }
+
+  @Test
+  public void When_QueryOutsideRequest_NotCounted() throws Exception {
+    when(targetDataSource.getConnection())
+        .thenReturn(mock(Connection.class));
+    var counter = QueryCountDataSource.start();
+    QueryCountDataSource.stop();
+
+    query("SELECT 1");
+
+    assertEquals(0, counter.get());
+  }
+
+  private void query(String sql) {
+    try (var connection = dataSource.getConnection()) {
+      connection.prepareStatement(sql);
+    } catch (SQLException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private long summaryCount(String uri) {
+    return meterRegistry.get(QueryCountFilter.METRIC_NAME)
+        .tag("method", "GET")
+        .tag("uri", uri)
+        .tag("status", "200")
+        .summary()
+        .count();
+  }
+
+  private double summaryTotal(String uri) {
+    return meterRegistry.get(QueryCountFilter.METRIC_NAME)
+        .tag("uri", uri)
+        .summary()
+        .totalAmount();
+  }
+}
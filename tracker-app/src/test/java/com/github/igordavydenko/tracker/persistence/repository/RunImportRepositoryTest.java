@@ -0,0 +1,42 @@
+package com.github.igordavydenko.tracker.persistence.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RunImportRepositoryTest {
+
+  private static final Pattern NUMBER = Pattern.compile(RunImportRepository.NUMBER_REGEX);
+
+  @Test
+  public void When_NumberFitsDouble_Accepted() {
+    var values = List.of(
+        "55.75", " -37.62 ", "+1", "1.", ".5", "1e2", "1.5E-3",
+        "9".repeat(30) + "e99",
+        "." + "0".repeat(99) + "1e-99");
+
+    values.forEach(value -> {
+      assertTrue(NUMBER.matcher(value).matches(), value);
+      var parsed = Double.parseDouble(value.trim());
+      assertTrue(Double.isFinite(parsed), value);
+      assertNotEquals(0.0, parsed, value);
+    });
+  }
+
+  @Test
+  public void When_NumberOutOfDoubleRange_NotAccepted() {
+    var values = List.of(
+        "1e400", "1e-400", "-1E+308",
+        "1" + "0".repeat(400),
+        "." + "0".repeat(400) + "1",
+        "NaN", "Infinity", "1e", "", "abc");
+
+    values.forEach(value -> assertFalse(NUMBER.matcher(value).matches(), value));
+  }
+
+}
@@ -0,0 +1,74 @@
+package com.github.igordavydenko.tracker.rest.controller;
+
+import com.github.igordavydenko.tracker.service.LeaderboardEntry;
+import com.github.igordavydenko.tracker.service.LeaderboardMetric;
+import com.github.igordavydenko.tracker.service.LeaderboardPage;
+import com.github.igordavydenko.tracker.service.LeaderboardPeriod;
+import com.github.igordavydenko.tracker.service.LeaderboardService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {LeaderboardController.class})
+public class LeaderboardControllerTest {
+
+  private static final String PATH_PREFIX = "/api/v1/leaderboards";
+
+  @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private LeaderboardService leaderboardService;
+
+  @Test
+  public void Whet_GetLeaderboard_Success() throws Exception {
+    var page = new LeaderboardPage(LeaderboardPeriod.ALL_TIME, LeaderboardMetric.RUNS, null, 3,
+        List.of(new LeaderboardEntry(2, 7L, 15), new LeaderboardEntry(3, 9L, 4)));
+
+    when(leaderboardService.getPage(LeaderboardPeriod.ALL_TIME, LeaderboardMetric.RUNS, 1, 2))
+        .thenReturn(page);
+
+    mockMvc.perform(get(PATH_PREFIX)
+            .param("period", "ALL_TIME")
+            .param("metric", "RUNS")
+            .param("offset", "1")
+            .param("limit", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.period").value("ALL_TIME"))
+        .andExpect(jsonPath("$.periodStart").doesNotExist())
+        .andExpect(jsonPath("$.totalUsers").value(3))
+        .andExpect(jsonPath("$.entries[0].rank").value(2))
+        .andExpect(jsonPath("$.entries[0].userId").value(7))
+        .andExpect(jsonPath("$.entries[1].value").value(4));
+  }
+
+  @Test
+  public void Whet_GetLeaderboard_OffsetValidationError() throws Exception {
+    mockMvc.perform(get(PATH_PREFIX)
+            .param("offset", "-1"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'offset' must be positive or zero"));
+  }
+
+  @Test
+  public void Whet_GetLeaderboard_UnknownPeriodError() throws Exception {
+    mockMvc.perform(get(PATH_PREFIX)
+            .param("period", "YEAR"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'period' has invalid value"))
+        .andExpect(jsonPath("$.errorDetails[0].rejectedValue").value("YEAR"));
+  }
+
+}
@@ -1,8 +1,16 @@
 package com.github.igordavydenko.tracker.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.igordavydenko.tracker.exception.RunFinishQueueFullException;
+import com.github.igordavydenko.tracker.exception.RunFinishReceiptNotFoundException;
 import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
 import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.service.BatchItemResult;
+import com.github.igordavydenko.tracker.service.RunAreaService;
+import com.github.igordavydenko.tracker.service.RunFinishQueue;
+import com.github.igordavydenko.tracker.service.RunFinishReceipt;
+import com.github.igordavydenko.tracker.service.RunLocation;
+import com.github.igordavydenko.tracker.service.RunPoint;
 import com.github.igordavydenko.tracker.service.RunService;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -16,14 +24,21 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -45,9 +60,21 @@ public class RunControllerTest {
   @MockBean
   private RunService runService;
 
+  @MockBean
+  private RunAreaService runAreaService;
+
+  @MockBean
+  private RunFinishQueue runFinishQueue;
+
   @Captor
   private ArgumentCaptor<RunEntity> runEntityCaptor;
 
+  @Captor
+  private ArgumentCaptor<List<RunEntity>> runEntitiesCaptor;
+
+  @Captor
+  private ArgumentCaptor<List<RunPoint>> runPointsCaptor;
+
   @Test
   public void Whet_StartRun_Success() throws Exception {
     var id = random.nextLong(0, Long.MAX_VALUE);
@@ -316,6 +343,180 @@ public class RunControllerTest {
         .andExpect(jsonPath("$.errorDetails[0].fieldName").value("distance"));
   }
 
+  @Test
+  public void Whet_StartRuns_PartialSuccess() throws Exception {
+    RunDto.RunStart validRunStart = new RunDto.RunStart();
+    validRunStart.setUserId(random.nextLong(1L, Long.MAX_VALUE));
+    validRunStart.setStartDateTime(LocalDateTime.now());
+    validRunStart.setStartLatitude(random.nextDouble(-90, 90));
+    validRunStart.setStartLongitude(random.nextDouble(-180, 180));
+
+    RunDto.RunStart invalidRunStart = new RunDto.RunStart();
+    invalidRunStart.setUserId(random.nextLong(1L, Long.MAX_VALUE));
+    invalidRunStart.setStartDateTime(LocalDateTime.now());
+    invalidRunStart.setStartLatitude(100.0);
+    invalidRunStart.setStartLongitude(random.nextDouble(-180, 180));
+
+    when(runService.startRuns(anyList()))
+        .thenAnswer(answer -> {
+          List<RunEntity> runs = answer.getArgument(0);
+          return List.of(
+              BatchItemResult.success(runs.get(0)),
+              BatchItemResult.failure("Other run in progress"));
+        });
+
+    mockMvc.perform(post(PATH_PREFIX + "/start/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(List.of(validRunStart, invalidRunStart, validRunStart))))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.length()").value(3))
+        .andExpect(jsonPath("$[0].index").value(0))
+        .andExpect(jsonPath("$[0].run.userId").value(validRunStart.getUserId()))
+        .andExpect(jsonPath("$[0].errorDetails").doesNotExist())
+        .andExpect(jsonPath("$[1].index").value(1))
+        .andExpect(jsonPath("$[1].run").doesNotExist())
+        .andExpect(jsonPath("$[1].errorDetails[0].fieldName").value("startLatitude"))
+        .andExpect(jsonPath("$[1].errorDetails[0].message")
+            .value("Field 'startLatitude' must be less than or equal to 90.0"))
+        .andExpect(jsonPath("$[2].index").value(2))
+        .andExpect(jsonPath("$[2].errorDetails[0].message").value("Other run in progress"));
+
+    verify(runService).startRuns(runEntitiesCaptor.capture());
+    assertEquals(2, runEntitiesCaptor.getValue().size());
+  }
+
+  @Test
+  public void Whet_FinishRuns_EmptyBatchValidationError() throws Exception {
+    mockMvc.perform(post(PATH_PREFIX + "/finish/batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("[]"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Batch must contain between 1 and 1000 items"));
+  }
+
+  @Test
+  public void Whet_AppendPoints_Accepted() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var point = new RunDto.RunPoint(LocalDateTime.now(), random.nextDouble(-90, 90), random.nextDouble(-180, 180));
+    var runPoints = new RunDto.RunPoints(List.of(point));
+    runPoints.setUserId(userId);
+
+    when(runService.appendPoints(eq(userId), anyList()))
+        .thenReturn(1);
+
+    mockMvc.perform(post(PATH_PREFIX + "/points")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(runPoints)))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.accepted").value(1));
+
+    verify(runService).appendPoints(eq(userId), runPointsCaptor.capture());
+    var pointCaptor = runPointsCaptor.getValue().get(0);
+    assertEquals(point.getTimestamp().format(formatter), pointCaptor.getPointTime().format(formatter));
+    assertEquals(point.getLatitude(), pointCaptor.getLatitude());
+    assertEquals(point.getLongitude(), pointCaptor.getLongitude());
+  }
+
+  @Test
+  public void Whet_AppendPoints_EmptyPointsValidationError() throws Exception {
+    var runPoints = new RunDto.RunPoints(List.of());
+    runPoints.setUserId(random.nextLong(1L, Long.MAX_VALUE));
+
+    mockMvc.perform(post(PATH_PREFIX + "/points")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(runPoints)))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'points' must contain between 1 and 1000 items"));
+  }
+
+  @Test
+  public void Whet_FindWithinRadius_Success() throws Exception {
+    var runEntity = new RunEntity();
+    runEntity.setId(random.nextLong(1L, Long.MAX_VALUE));
+    runEntity.setStartDateTime(LocalDateTime.of(2024, 1, 1, 10, 0));
+    runEntity.setStartLatitude(55.75);
+    runEntity.setStartLongitude(37.61);
+
+    when(runAreaService.findWithinRadius(RunLocation.START, 55.75, 37.61, 500.0, null, null, 100))
+        .thenReturn(List.of(runEntity));
+
+    mockMvc.perform(get(PATH_PREFIX + "/within-radius")
+            .param("latitude", "55.75")
+            .param("longitude", "37.61")
+            .param("radius", "500"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(runEntity.getId()))
+        .andExpect(jsonPath("$[0].startLatitude").value(55.75))
+        .andExpect(jsonPath("$[0].startLongitude").value(37.61));
+  }
+
+  @Test
+  public void Whet_FindWithinBox_LatitudeValidationError() throws Exception {
+    mockMvc.perform(get(PATH_PREFIX + "/within-box")
+            .param("minLatitude", "-91")
+            .param("minLongitude", "37.60")
+            .param("maxLatitude", "55.76")
+            .param("maxLongitude", "37.62")
+            .param("location", "FINISH"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Latitude must be between -90.0 and 90.0"));
+  }
+
+  @Test
+  public void Whet_FinishRun_Queued() throws Exception {
+    var runFinish = generateRunFinish();
+    var receipt = new RunFinishReceipt(UUID.randomUUID(), runFinish.getUserId());
+
+    when(runFinishQueue.isEnabled())
+        .thenReturn(true);
+    when(runFinishQueue.submit(any(RunEntity.class)))
+        .thenReturn(receipt);
+
+    mockMvc.perform(post(PATH_PREFIX + "/finish")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(runFinish)))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value(receipt.getId().toString()))
+        .andExpect(jsonPath("$.userId").value(runFinish.getUserId()))
+        .andExpect(jsonPath("$.state").value("QUEUED"))
+        .andExpect(jsonPath("$.run").doesNotExist());
+
+    verify(runFinishQueue).submit(runEntityCaptor.capture());
+    assertEquals(runFinish.getDistance(), runEntityCaptor.getValue().getDistance());
+    verify(runService, never()).finishRun(any());
+  }
+
+  @Test
+  public void Whet_FinishRun_QueueFull() throws Exception {
+    when(runFinishQueue.isEnabled())
+        .thenReturn(true);
+    when(runFinishQueue.submit(any(RunEntity.class)))
+        .thenThrow(new RunFinishQueueFullException(10));
+
+    mockMvc.perform(post(PATH_PREFIX + "/finish")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(generateRunFinish())))
+        .andExpect(status().isTooManyRequests())
+        .andExpect(header().string("Retry-After", "1"))
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.TOO_MANY_REQUESTS.value()));
+  }
+
+  @Test
+  public void Whet_GetFinishReceipt_NotFound() throws Exception {
+    var id = UUID.randomUUID();
+
+    when(runFinishQueue.getReceipt(id))
+        .thenThrow(new RunFinishReceiptNotFoundException(id));
+
+    mockMvc.perform(get(PATH_PREFIX + "/finish/receipts/" + id))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.errorDetails[0].message")
+            .value(String.format("Run finish receipt by id '%s' not found", id)));
+  }
+
   private RunDto.RunStart generateRunStart() {
     RunDto.RunStart runStart = new RunDto.RunStart();
     runStart.setUserId(random.nextLong(1, Long.MAX_VALUE));
@@ -334,5 +535,4 @@ public class RunControllerTest {
     runFinish.setDistance(random.nextInt(0, Integer.MAX_VALUE));
     return runFinish;
   }
-
 }
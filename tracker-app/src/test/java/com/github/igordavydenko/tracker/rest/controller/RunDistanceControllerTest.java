@@ -0,0 +1,76 @@
+package com.github.igordavydenko.tracker.rest.controller;
+
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunDistanceJobNotFoundException;
+import com.github.igordavydenko.tracker.persistence.projection.RunDistanceJob;
+import com.github.igordavydenko.tracker.service.RunDistanceService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {RunDistanceController.class})
+public class RunDistanceControllerTest {
+
+  private static final String PATH_PREFIX = "/api/v1/admin/distances";
+
+  @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private RunDistanceService runDistanceService;
+
+  @Test
+  public void Whet_Recompute_Accepted() throws Exception {
+    var job = new RunDistanceJob(UUID.randomUUID(), "RUNNING", 0, 0, 0, null,
+        LocalDateTime.of(2024, 3, 1, 10, 0), null);
+
+    when(runDistanceService.start())
+        .thenReturn(job);
+
+    mockMvc.perform(post(PATH_PREFIX))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value(job.getId().toString()))
+        .andExpect(jsonPath("$.state").value("RUNNING"))
+        .andExpect(jsonPath("$.createdAt").value("2024-03-01T10:00:00.000Z"))
+        .andExpect(jsonPath("$.errorMessage").doesNotExist());
+  }
+
+  @Test
+  public void Whet_Resume_AlreadyRunningError() throws Exception {
+    var id = UUID.randomUUID();
+
+    when(runDistanceService.resume(id))
+        .thenThrow(new RunBusinessLogicException("Run distance job '" + id + "' is already running"));
+
+    mockMvc.perform(post(PATH_PREFIX + "/" + id + "/resume"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Run distance job '" + id + "' is already running"));
+  }
+
+  @Test
+  public void Whet_GetJob_NotFound() throws Exception {
+    var id = UUID.randomUUID();
+
+    when(runDistanceService.getJob(id))
+        .thenThrow(new RunDistanceJobNotFoundException(id));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + id))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Run distance job by id '" + id + "' not found"));
+  }
+
+}
@@ -0,0 +1,82 @@
+package com.github.igordavydenko.tracker.rest.controller;
+
+import com.github.igordavydenko.tracker.exception.RunImportNotFoundException;
+import com.github.igordavydenko.tracker.service.RunImportFormat;
+import com.github.igordavydenko.tracker.service.RunImportJob;
+import com.github.igordavydenko.tracker.service.RunImportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = {RunImportController.class})
+public class RunImportControllerTest {
+
+  private static final String PATH_PREFIX = "/api/v1/admin/imports";
+
+  @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+  @Autowired
+  private MockMvc mockMvc;
+
+  @MockBean
+  private RunImportService runImportService;
+
+  @Test
+  public void Whet_ImportCsv_Success() throws Exception {
+    var job = new RunImportJob(UUID.randomUUID(), RunImportFormat.CSV, 42L);
+
+    when(runImportService.submit(eq(RunImportFormat.CSV), any(InputStream.class)))
+        .thenReturn(job);
+
+    mockMvc.perform(post(PATH_PREFIX)
+            .contentType("text/csv")
+            .content("user_id,start_date_time\n"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.id").value(job.getId().toString()))
+        .andExpect(jsonPath("$.format").value("CSV"))
+        .andExpect(jsonPath("$.state").value("QUEUED"))
+        .andExpect(jsonPath("$.totalBytes").value(42));
+  }
+
+  @Test
+  public void Whet_ImportNdjson_Success() throws Exception {
+    var job = new RunImportJob(UUID.randomUUID(), RunImportFormat.NDJSON, 3L);
+
+    when(runImportService.submit(eq(RunImportFormat.NDJSON), any(InputStream.class)))
+        .thenReturn(job);
+
+    mockMvc.perform(post(PATH_PREFIX)
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .content("{}\n"))
+        .andExpect(status().isAccepted())
+        .andExpect(jsonPath("$.format").value("NDJSON"));
+  }
+
+  @Test
+  public void Whet_GetImport_NotFound() throws Exception {
+    var id = UUID.randomUUID();
+
+    when(runImportService.getJob(id))
+        .thenThrow(new RunImportNotFoundException(id));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + id))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Run import by id '" + id + "' not found"));
+  }
+
+}
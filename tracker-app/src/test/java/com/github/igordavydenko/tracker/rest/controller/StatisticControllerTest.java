@@ -1,21 +1,46 @@
 package com.github.igordavydenko.tracker.rest.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.igordavydenko.tracker.exception.BulkheadFullException;
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunNotFoundException;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
 import com.github.igordavydenko.tracker.rest.dto.RunDto;
 import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticSeriesDto;
+import com.github.igordavydenko.tracker.service.PaceCohort;
+import com.github.igordavydenko.tracker.service.PaceRank;
+import com.github.igordavydenko.tracker.service.PaceRankService;
+import com.github.igordavydenko.tracker.service.StatisticBucket;
 import com.github.igordavydenko.tracker.service.StatisticService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = {StatisticController.class})
@@ -35,6 +60,9 @@ public class StatisticControllerTest {
   @MockBean
   private StatisticService statisticService;
 
+  @MockBean
+  private PaceRankService paceRankService;
+
   @Test
   public void Whet_GetUserStatistics_Success() throws Exception {
     var id = random.nextLong(0, Long.MAX_VALUE);
@@ -55,15 +83,200 @@ public class StatisticControllerTest {
         .andExpect(jsonPath("$.averageSpeed").value(statistic.getAverageSpeed()));
   }
 
+  @Test
+  public void Whet_GetUserStatistics_BulkheadFull() throws Exception {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    when(statisticService.getUserStatistic(id, null, null))
+        .thenThrow(new CannotCreateTransactionException(
+            "Could not open JPA EntityManager for transaction", new BulkheadFullException(Duration.ofSeconds(1))));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + id))
+        .andExpect(status().is(HttpStatus.SERVICE_UNAVAILABLE.value()))
+        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.SERVICE_UNAVAILABLE.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("No database capacity available within 1000 ms"));
+  }
+
   @Test
   public void Whet_GetUserRuns_Success() throws Exception {
     var id = random.nextLong(0, Long.MAX_VALUE);
 
-    when(statisticService.getUserRuns(id, null, null))
-        .thenReturn(List.of(new RunDto.RunStatistic(), new RunDto.RunStatistic()));
+    when(statisticService.getUserRuns(id, null, null, null, 100))
+        .thenReturn(CursorPageDto.<RunDto.RunStatistic>builder()
+            .items(List.of(new RunDto.RunStatistic(), new RunDto.RunStatistic()))
+            .limit(100)
+            .nextCursor("next")
+            .build());
 
     mockMvc.perform(get(PATH_PREFIX + "/" + id + "/runs"))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(2));
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.limit").value(100))
+        .andExpect(jsonPath("$.nextCursor").value("next"));
+  }
+
+  @Test
+  public void Whet_GetUserRuns_LimitValidationError() throws Exception {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + id + "/runs")
+            .param("limit", "1001"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'limit' must be between 1 and 1000"))
+        .andExpect(jsonPath("$.errorDetails[0].fieldName").value("limit"));
+  }
+
+  @Test
+  public void Whet_ExportUserRuns_Success() throws Exception {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    var firstRun = new RunDto.RunStatistic();
+    firstRun.setDistance(random.nextInt(0, Integer.MAX_VALUE));
+    var secondRun = new RunDto.RunStatistic();
+    secondRun.setDistance(random.nextInt(0, Integer.MAX_VALUE));
+
+    doAnswer(invocation -> {
+      Consumer<RunDto.RunStatistic> consumer = invocation.getArgument(3);
+      consumer.accept(firstRun);
+      consumer.accept(secondRun);
+      return null;
+    }).when(statisticService).exportUserRuns(eq(id), isNull(), isNull(), any());
+
+    var result = mockMvc.perform(get(PATH_PREFIX + "/" + id + "/runs/export"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andExpect(content().string(
+            objectMapper.writeValueAsString(firstRun) + "\n" + objectMapper.writeValueAsString(secondRun) + "\n"));
+  }
+
+  @Test
+  public void Whet_GetRunTrack_Success() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var runId = random.nextLong(1L, Long.MAX_VALUE);
+    var point = new RunDto.RunPoint(LocalDateTime.of(2024, 5, 1, 6, 0), 55.75, 37.61);
+
+    when(statisticService.getRunTrack(userId, runId, null, null))
+        .thenReturn(new RunDto.RunTrack(runId, List.of(point)));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/runs/" + runId + "/track"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.runId").value(runId))
+        .andExpect(jsonPath("$.points[0].timestamp").value("2024-05-01T06:00:00.000Z"))
+        .andExpect(jsonPath("$.points[0].latitude").value(55.75))
+        .andExpect(jsonPath("$.points[0].longitude").value(37.61));
+  }
+
+  @Test
+  public void Whet_GetRunTrack_RunNotFound() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var runId = random.nextLong(1L, Long.MAX_VALUE);
+
+    when(statisticService.getRunTrack(userId, runId, null, null))
+        .thenThrow(new RunNotFoundException(runId));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/runs/" + runId + "/track"))
+        .andExpect(status().isNotFound())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.NOT_FOUND.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value(String.format("Run by id '%s' not found", runId)));
+  }
+
+  @Test
+  public void Whet_GetRunTrack_WithZoom() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var runId = random.nextLong(1L, Long.MAX_VALUE);
+
+    when(statisticService.getRunTrack(userId, runId, 15, null))
+        .thenReturn(new RunDto.RunTrack(runId, List.of()));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/runs/" + runId + "/track").param("zoom", "15"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.runId").value(runId))
+        .andExpect(jsonPath("$.points").isEmpty());
+  }
+
+  @Test
+  public void Whet_GetRunTrack_ZoomValidationError() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var runId = random.nextLong(1L, Long.MAX_VALUE);
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/runs/" + runId + "/track").param("zoom", "23"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'zoom' must be between 0 and 22"));
+  }
+
+  @Test
+  public void Whet_GetPaceRank_Success() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+
+    when(paceRankService.getRank(userId))
+        .thenReturn(new PaceRank(userId, LocalDate.of(2024, 5, 1), new PaceCohort(false, 30), 312.5, 120, 75.0));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/pace-rank"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.userId").value(userId))
+        .andExpect(jsonPath("$.periodStart").value("2024-05-01"))
+        .andExpect(jsonPath("$.sex").value(false))
+        .andExpect(jsonPath("$.ageGroup").value(30))
+        .andExpect(jsonPath("$.averagePace").value(312.5))
+        .andExpect(jsonPath("$.cohortSize").value(120))
+        .andExpect(jsonPath("$.beatsPercent").value(75.0));
+  }
+
+  @Test
+  public void Whet_GetPaceRank_NoRunsError() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+
+    when(paceRankService.getRank(userId))
+        .thenThrow(new RunBusinessLogicException("No runs"));
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/pace-rank"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("No runs"));
+  }
+
+  @Test
+  public void Whet_GetUserSeries_Success() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var fromDate = LocalDate.of(2024, 1, 1);
+    var toDate = LocalDate.of(2024, 12, 31);
+
+    when(statisticService.getUserSeries(userId, StatisticBucket.MONTH, fromDate, toDate))
+        .thenReturn(StatisticSeriesDto.builder()
+            .bucket("month")
+            .items(List.of(StatisticSeriesDto.Bucket.builder()
+                .start(LocalDate.of(2024, 3, 1))
+                .totalRuns(4)
+                .totalDistance(20000)
+                .averageSpeed(10.5)
+                .build()))
+            .build());
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/series")
+            .param("bucket", "month")
+            .param("fromDate", "2024-01-01")
+            .param("toDate", "2024-12-31"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.bucket").value("month"))
+        .andExpect(jsonPath("$.items[0].start").value("2024-03-01"))
+        .andExpect(jsonPath("$.items[0].totalRuns").value(4))
+        .andExpect(jsonPath("$.items[0].totalDistance").value(20000))
+        .andExpect(jsonPath("$.items[0].averageSpeed").value(10.5));
+  }
+
+  @Test
+  public void Whet_GetUserSeries_UnknownBucketError() throws Exception {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+
+    mockMvc.perform(get(PATH_PREFIX + "/" + userId + "/series").param("bucket", "year"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'bucket' has invalid value"));
   }
 }
@@ -17,18 +17,24 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 import static com.github.igordavydenko.tracker.service.UserServiceTest.generateUserEntity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(controllers = {UserController.class})
@@ -50,12 +56,70 @@ public class UserControllerTest {
 
   @Test
   public void Whet_FindAllUsers_Success() throws Exception {
-    when(userService.getAllUsers())
+    when(userService.findPage(null, 101))
         .thenReturn(List.of(new UserEntity(), new UserEntity()));
 
     mockMvc.perform(get(PATH_PREFIX))
         .andExpect(status().isOk())
-        .andExpect(jsonPath("$.length()").value(2));
+        .andExpect(jsonPath("$.items.length()").value(2))
+        .andExpect(jsonPath("$.limit").value(100))
+        .andExpect(jsonPath("$.nextCursor").doesNotExist());
+  }
+
+  @Test
+  public void Whet_FindAllUsers_HasNextPage() throws Exception {
+    var firstUser = generateUserEntity();
+    var secondUser = generateUserEntity();
+
+    when(userService.findPage(42L, 2))
+        .thenReturn(List.of(firstUser, secondUser));
+
+    mockMvc.perform(get(PATH_PREFIX)
+            .param("cursor", "42")
+            .param("limit", "1"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.items.length()").value(1))
+        .andExpect(jsonPath("$.items[0].id").value(firstUser.getId()))
+        .andExpect(jsonPath("$.nextCursor").value(String.valueOf(firstUser.getId())));
+  }
+
+  @Test
+  public void Whet_FindAllUsers_CursorValidationError() throws Exception {
+    mockMvc.perform(get(PATH_PREFIX)
+            .param("cursor", "-1"))
+        .andExpect(status().isBadRequest())
+        .andExpect(jsonPath("$.errorCode").value(HttpStatus.BAD_REQUEST.value()))
+        .andExpect(jsonPath("$.errorDetails[0].message").value("Field 'cursor' must be positive integer"))
+        .andExpect(jsonPath("$.errorDetails[0].fieldName").value("cursor"));
+  }
+
+  @Test
+  public void Whet_StreamAllUsers_Success() throws Exception {
+    var firstUser = generateUserEntity();
+    var secondUser = generateUserEntity();
+
+    doAnswer(invocation -> {
+      Consumer<UserEntity> consumer = invocation.getArgument(0);
+      consumer.accept(firstUser);
+      consumer.accept(secondUser);
+      return null;
+    }).when(userService).forEachUser(any());
+
+    var result = mockMvc.perform(get(PATH_PREFIX + "/stream"))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+
+    var lines = mockMvc.perform(asyncDispatch(result))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+        .andReturn()
+        .getResponse()
+        .getContentAsString()
+        .split("\n");
+
+    assertEquals(2, lines.length);
+    assertEquals(firstUser.getId(), objectMapper.readValue(lines[0], UserDto.UserResponse.class).getId());
+    assertEquals(secondUser.getId(), objectMapper.readValue(lines[1], UserDto.UserResponse.class).getId());
   }
 
   @Test
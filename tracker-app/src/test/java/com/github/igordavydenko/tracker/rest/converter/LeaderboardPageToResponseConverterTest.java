@@ -0,0 +1,40 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.service.LeaderboardEntry;
+import com.github.igordavydenko.tracker.service.LeaderboardMetric;
+import com.github.igordavydenko.tracker.service.LeaderboardPage;
+import com.github.igordavydenko.tracker.service.LeaderboardPeriod;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class LeaderboardPageToResponseConverterTest {
+
+  private static final Random random = new Random();
+
+  private final LeaderboardPageToResponseConverter converter = new LeaderboardPageToResponseConverter();
+
+  @Test
+  public void TestFullFilledData() {
+    var entry = new LeaderboardEntry(1, random.nextLong(1, Long.MAX_VALUE), random.nextInt(0, Integer.MAX_VALUE));
+    var page = new LeaderboardPage(LeaderboardPeriod.MONTH, LeaderboardMetric.RUNS,
+        LocalDate.of(2024, 5, 1), 42, List.of(entry));
+
+    var result = converter.convert(page);
+
+    assertNotNull(result);
+    assertEquals("MONTH", result.getPeriod());
+    assertEquals("RUNS", result.getMetric());
+    assertEquals(page.getPeriodStart(), result.getPeriodStart());
+    assertEquals(42, result.getTotalUsers());
+    assertEquals(1, result.getEntries().size());
+    assertEquals(entry.getRank(), result.getEntries().get(0).getRank());
+    assertEquals(entry.getUserId(), result.getEntries().get(0).getUserId());
+    assertEquals(entry.getValue(), result.getEntries().get(0).getValue());
+  }
+}
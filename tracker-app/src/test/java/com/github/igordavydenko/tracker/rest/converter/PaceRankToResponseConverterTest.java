@@ -0,0 +1,35 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.service.PaceCohort;
+import com.github.igordavydenko.tracker.service.PaceRank;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class PaceRankToResponseConverterTest {
+
+  private static final Random random = new Random();
+
+  private final PaceRankToResponseConverter converter = new PaceRankToResponseConverter();
+
+  @Test
+  public void TestFullFilledData() {
+    var rank = new PaceRank(random.nextLong(1, Long.MAX_VALUE), LocalDate.of(2024, 5, 1),
+        new PaceCohort(random.nextBoolean(), 40), random.nextDouble(), random.nextLong(1, 1000), random.nextDouble());
+
+    var result = converter.convert(rank);
+
+    assertNotNull(result);
+    assertEquals(rank.getUserId(), result.getUserId());
+    assertEquals(rank.getPeriodStart(), result.getPeriodStart());
+    assertEquals(rank.getCohort().getSex(), result.getSex());
+    assertEquals(40, result.getAgeGroup());
+    assertEquals(rank.getAveragePace(), result.getAveragePace());
+    assertEquals(rank.getCohortSize(), result.getCohortSize());
+    assertEquals(rank.getBeatsPercent(), result.getBeatsPercent());
+  }
+}
@@ -37,6 +37,7 @@ public class RunEntityToResponseConverterTest {
     RunDto.RunInfo result = converter.convert(runEntity);
 
     assertNotNull(result);
+    assertEquals(runEntity.getId(), result.getId());
     assertEquals(runEntity.getStartDateTime(), result.getStartDateTime());
     assertEquals(runEntity.getStartLatitude(), result.getStartLatitude());
     assertEquals(runEntity.getStartLongitude(), result.getStartLongitude());
@@ -54,6 +55,7 @@ public class RunEntityToResponseConverterTest {
     RunDto.RunInfo result = converter.convert(runEntity);
 
     assertNotNull(result);
+    assertNull(result.getId());
     assertNull(result.getStartDateTime());
     assertNull(result.getStartLatitude());
     assertNull(result.getStartLongitude());
@@ -0,0 +1,66 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RunEntityToStatisticConverterTest {
+
+  private static final Random random = new Random();
+
+  private final RunEntityToStatisticConverter converter = new RunEntityToStatisticConverter();
+
+  @Test
+  public void TestFullFilledData() {
+    var runEntity = new RunEntity();
+    runEntity.setId(random.nextLong());
+    runEntity.setStartDateTime(LocalDateTime.of(2023, 1, 1, 10, 0));
+    runEntity.setStartLatitude(random.nextDouble());
+    runEntity.setStartLongitude(random.nextDouble());
+    runEntity.setFinishDateTime(LocalDateTime.of(2023, 1, 1, 10, 30));
+    runEntity.setFinishLatitude(random.nextDouble());
+    runEntity.setFinishLongitude(random.nextDouble());
+    runEntity.setDistance(5000);
+
+    var userEntity = new UserEntity();
+    userEntity.setId(random.nextLong());
+    runEntity.setUser(userEntity);
+
+    RunDto.RunStatistic result = converter.convert(runEntity);
+
+    assertNotNull(result);
+    assertEquals(runEntity.getId(), result.getId());
+    assertEquals(runEntity.getStartDateTime(), result.getStartDateTime());
+    assertEquals(runEntity.getStartLatitude(), result.getStartLatitude());
+    assertEquals(runEntity.getStartLongitude(), result.getStartLongitude());
+    assertEquals(runEntity.getFinishDateTime(), result.getFinishDateTime());
+    assertEquals(runEntity.getFinishLatitude(), result.getFinishLatitude());
+    assertEquals(runEntity.getFinishLongitude(), result.getFinishLongitude());
+    assertEquals(runEntity.getDistance(), result.getDistance());
+    assertEquals(runEntity.getUser().getId(), result.getUserId());
+    assertEquals(10.0, result.getAverageSpeed());
+  }
+
+  @Test
+  public void TestEmptyData() {
+    var runEntity = new RunEntity();
+
+    RunDto.RunStatistic result = converter.convert(runEntity);
+
+    assertNotNull(result);
+    assertNull(result.getId());
+    assertNull(result.getStartDateTime());
+    assertNull(result.getFinishDateTime());
+    assertNull(result.getDistance());
+    assertNull(result.getUserId());
+    assertEquals(0.0, result.getAverageSpeed());
+  }
+}
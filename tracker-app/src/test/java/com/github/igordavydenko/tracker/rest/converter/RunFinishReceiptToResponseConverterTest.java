@@ -0,0 +1,35 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.service.RunFinishReceipt;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class RunFinishReceiptToResponseConverterTest {
+
+  private static final Random random = new Random();
+
+  private final RunFinishReceiptToResponseConverter converter =
+      new RunFinishReceiptToResponseConverter(new RunEntityToResponseConverter());
+
+  @Test
+  public void TestFullFilledData() {
+    var receipt = new RunFinishReceipt(UUID.randomUUID(), random.nextLong(1, Long.MAX_VALUE));
+
+    var result = converter.convert(receipt);
+
+    assertNotNull(result);
+    assertEquals(receipt.getId(), result.getId());
+    assertEquals(receipt.getUserId(), result.getUserId());
+    assertEquals("QUEUED", result.getState());
+    assertEquals(receipt.getCreatedAt(), result.getCreatedAt());
+    assertNull(result.getRun());
+    assertNull(result.getErrorMessage());
+    assertNull(result.getFinishedAt());
+  }
+}
@@ -0,0 +1,29 @@
+package com.github.igordavydenko.tracker.rest.converter;
+
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+public class TrackPointToResponseConverterTest {
+
+  private static final Random random = new Random();
+
+  private final TrackPointToResponseConverter converter = new TrackPointToResponseConverter();
+
+  @Test
+  public void TestFullFilledData() {
+    var trackPoint = new TrackPoint(LocalDateTime.of(2024, 5, 1, 6, 0), random.nextDouble(), random.nextDouble());
+
+    var result = converter.convert(trackPoint);
+
+    assertNotNull(result);
+    assertEquals(trackPoint.getTime(), result.getTimestamp());
+    assertEquals(trackPoint.getLatitude(), result.getLatitude());
+    assertEquals(trackPoint.getLongitude(), result.getLongitude());
+  }
+}
@@ -0,0 +1,229 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.projection.UserRunTotals;
+import com.github.igordavydenko.tracker.persistence.repository.LeaderboardRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class LeaderboardServiceTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2024, 5, 15);
+  private static final LocalDate WEEK_START = LocalDate.of(2024, 5, 13);
+  private static final LocalDate MONTH_START = LocalDate.of(2024, 5, 1);
+
+  @Mock
+  private LeaderboardRepository leaderboardRepository;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private final MutableClock clock = new MutableClock(TODAY);
+  private final List<Runnable> rebuildTasks = new ArrayList<>();
+
+  private LeaderboardService leaderboardService;
+
+  @BeforeEach
+  public void setUp() {
+    leaderboardService = new LeaderboardService(leaderboardRepository, transactionTemplate, clock, rebuildTasks::add);
+    lenient().doAnswer(answer -> {
+      Consumer<TransactionStatus> action = answer.getArgument(0);
+      action.accept(mock(TransactionStatus.class));
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+  }
+
+  @Test
+  public void When_Rebuild_LoadedFromRollup() {
+    mockTotals(WEEK_START, MONTH_START,
+        new UserRunTotals(1L, 1, 5000, 3, 15000, 10, 50000),
+        new UserRunTotals(2L, 2, 8000, 2, 8000, 20, 40000),
+        new UserRunTotals(3L, 0, 0, 0, 0, 1, 100));
+
+    leaderboardService.rebuild();
+
+    var week = leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.DISTANCE, 0, 10);
+    assertEquals(WEEK_START, week.getPeriodStart());
+    assertEquals(2, week.getTotalUsers());
+    assertEquals(List.of(new LeaderboardEntry(1, 2L, 8000), new LeaderboardEntry(2, 1L, 5000)), week.getEntries());
+
+    var allTime = leaderboardService.getPage(LeaderboardPeriod.ALL_TIME, LeaderboardMetric.RUNS, 1, 1);
+    assertNull(allTime.getPeriodStart());
+    assertEquals(3, allTime.getTotalUsers());
+    assertEquals(List.of(new LeaderboardEntry(2, 1L, 10)), allTime.getEntries());
+  }
+
+  @Test
+  public void When_RunsFinished_UpdatedInMemory() {
+    mockTotals(WEEK_START, MONTH_START,
+        new UserRunTotals(1L, 1, 5000, 1, 5000, 1, 5000),
+        new UserRunTotals(2L, 1, 6000, 1, 6000, 1, 6000));
+    leaderboardService.rebuild();
+
+    leaderboardService.onRunsChanged(new RunsChangedEvent(Set.of(1L, 3L), List.of(
+        new UserDailyRunStatEntity(1L, TODAY, 1, 2000L, 600L),
+        new UserDailyRunStatEntity(3L, MONTH_START, 1, 3000L, 900L))));
+
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 1L, 7000), new LeaderboardEntry(2, 2L, 6000)),
+        leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.DISTANCE, 0, 10).getEntries());
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 1L, 7000), new LeaderboardEntry(2, 2L, 6000),
+            new LeaderboardEntry(3, 3L, 3000)),
+        leaderboardService.getPage(LeaderboardPeriod.MONTH, LeaderboardMetric.DISTANCE, 0, 10).getEntries());
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 1L, 2), new LeaderboardEntry(2, 2L, 1), new LeaderboardEntry(3, 3L, 1)),
+        leaderboardService.getPage(LeaderboardPeriod.ALL_TIME, LeaderboardMetric.RUNS, 0, 10).getEntries());
+    verify(leaderboardRepository, times(1)).forEachTotals(any(), any(), any());
+  }
+
+  @Test
+  public void When_RunsChangedWithoutStats_UsersReloaded() {
+    mockTotals(WEEK_START, MONTH_START,
+        new UserRunTotals(1L, 1, 5000, 1, 5000, 1, 5000),
+        new UserRunTotals(2L, 1, 6000, 1, 6000, 1, 6000));
+    leaderboardService.rebuild();
+    doAnswer(answer -> {
+      Consumer<UserRunTotals> consumer = answer.getArgument(3);
+      consumer.accept(new UserRunTotals(1L, 2, 9000, 2, 9000, 2, 9000));
+      return null;
+    }).when(leaderboardRepository).forEachTotals(eq(WEEK_START), eq(MONTH_START), eq(Set.of(1L, 2L)), any());
+
+    leaderboardService.onRunsChanged(new RunsChangedEvent(Set.of(1L, 2L)));
+
+    var page = leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.DISTANCE, 0, 10);
+    assertEquals(1, page.getTotalUsers());
+    assertEquals(List.of(new LeaderboardEntry(1, 1L, 9000)), page.getEntries());
+  }
+
+  @Test
+  public void When_WeekChanged_Rebuilt() {
+    mockTotals(WEEK_START, MONTH_START, new UserRunTotals(1L, 1, 5000, 1, 5000, 1, 5000));
+    leaderboardService.rebuild();
+    var nextWeekStart = WEEK_START.plusWeeks(1);
+    mockTotals(nextWeekStart, MONTH_START, new UserRunTotals(1L, 0, 0, 1, 5000, 1, 5000));
+    clock.setToday(nextWeekStart);
+
+    var page = leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.DISTANCE, 0, 10);
+
+    assertEquals(nextWeekStart, page.getPeriodStart());
+    assertEquals(0, page.getTotalUsers());
+    assertEquals(1, leaderboardService.getPage(LeaderboardPeriod.MONTH, LeaderboardMetric.RUNS, 0, 10)
+        .getTotalUsers());
+    verify(leaderboardRepository, never()).forEachTotals(eq(nextWeekStart), eq(MONTH_START), any());
+    assertEquals(1, rebuildTasks.size());
+
+    rebuildTasks.forEach(Runnable::run);
+
+    verify(leaderboardRepository).forEachTotals(eq(nextWeekStart), eq(MONTH_START), any());
+    assertEquals(0, leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.RUNS, 0, 10)
+        .getTotalUsers());
+    assertEquals(1, leaderboardService.getPage(LeaderboardPeriod.MONTH, LeaderboardMetric.RUNS, 0, 10)
+        .getTotalUsers());
+  }
+
+  @Test
+  public void When_WeekChanged_RunsOfNewWeekCounted() {
+    mockTotals(WEEK_START, MONTH_START, new UserRunTotals(1L, 1, 5000, 1, 5000, 1, 5000));
+    leaderboardService.rebuild();
+    var nextWeekStart = WEEK_START.plusWeeks(1);
+    clock.setToday(nextWeekStart);
+
+    leaderboardService.onRunsChanged(new RunsChangedEvent(Set.of(2L), List.of(
+        new UserDailyRunStatEntity(2L, nextWeekStart, 1, 3000L, 900L))));
+
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 2L, 3000)),
+        leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.DISTANCE, 0, 10).getEntries());
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 1L, 5000), new LeaderboardEntry(2, 2L, 3000)),
+        leaderboardService.getPage(LeaderboardPeriod.MONTH, LeaderboardMetric.DISTANCE, 0, 10).getEntries());
+  }
+
+  @Test
+  public void When_RunsChangedDuringRebuild_ReplayedOnNewBoards() {
+    mockTotals(WEEK_START, MONTH_START, new UserRunTotals(1L, 1, 5000, 1, 5000, 1, 5000));
+    leaderboardService.rebuild();
+    doAnswer(answer -> {
+      Consumer<UserRunTotals> consumer = answer.getArgument(2);
+      consumer.accept(new UserRunTotals(1L, 1, 5000, 1, 5000, 1, 5000));
+      leaderboardService.onRunsChanged(new RunsChangedEvent(Set.of(1L), List.of(
+          new UserDailyRunStatEntity(1L, TODAY, 1, 2000L, 600L))));
+      consumer.accept(new UserRunTotals(2L, 1, 6000, 1, 6000, 1, 6000));
+      return null;
+    }).when(leaderboardRepository).forEachTotals(eq(WEEK_START), eq(MONTH_START), any());
+
+    leaderboardService.rebuild();
+
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 1L, 7000), new LeaderboardEntry(2, 2L, 6000)),
+        leaderboardService.getPage(LeaderboardPeriod.WEEK, LeaderboardMetric.DISTANCE, 0, 10).getEntries());
+    assertEquals(
+        List.of(new LeaderboardEntry(1, 1L, 2), new LeaderboardEntry(2, 2L, 1)),
+        leaderboardService.getPage(LeaderboardPeriod.ALL_TIME, LeaderboardMetric.RUNS, 0, 10).getEntries());
+  }
+
+  private void mockTotals(LocalDate weekStart, LocalDate monthStart, UserRunTotals... totals) {
+    doAnswer(answer -> {
+      Consumer<UserRunTotals> consumer = answer.getArgument(2);
+      List.of(totals).forEach(consumer);
+      return null;
+    }).when(leaderboardRepository).forEachTotals(eq(weekStart), eq(monthStart), any());
+  }
+
+  private static class MutableClock extends Clock {
+
+    private volatile Instant instant;
+
+    MutableClock(LocalDate today) {
+      setToday(today);
+    }
+
+    void setToday(LocalDate today) {
+      instant = today.atTime(12, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+
+}
@@ -0,0 +1,245 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.persistence.projection.PaceSketchSnapshot;
+import com.github.igordavydenko.tracker.persistence.projection.UserPeriodTotals;
+import com.github.igordavydenko.tracker.persistence.repository.PaceSketchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class PaceRankServiceTest {
+
+  private static final LocalDate TODAY = LocalDate.of(2024, 5, 15);
+  private static final LocalDate MONTH_START = LocalDate.of(2024, 5, 1);
+  private static final LocalDate MONTH_END = LocalDate.of(2024, 6, 1);
+  private static final LocalDate NEXT_MONTH_END = LocalDate.of(2024, 7, 1);
+  private static final LocalDate BIRTH_DATE = LocalDate.of(1990, 3, 10);
+
+  @Mock
+  private PaceSketchRepository paceSketchRepository;
+
+  @Mock
+  private UserService userService;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  private final MutableClock clock = new MutableClock(TODAY);
+  private final List<Runnable> rebuildTasks = new ArrayList<>();
+
+  private PaceRankService paceRankService;
+
+  @BeforeEach
+  public void setUp() {
+    paceRankService = new PaceRankService(
+        paceSketchRepository, userService, transactionTemplate, clock, rebuildTasks::add);
+    lenient().doAnswer(answer -> {
+      Consumer<TransactionStatus> action = answer.getArgument(0);
+      action.accept(mock(TransactionStatus.class));
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void When_Rebuild_RankedAgainstCohort() {
+    mockTotals(MONTH_START, MONTH_END,
+        new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 3000),
+        new UserPeriodTotals(2L, true, BIRTH_DATE, 6000, 2160),
+        new UserPeriodTotals(3L, true, BIRTH_DATE.minusYears(1), 5000, 2100),
+        new UserPeriodTotals(4L, false, BIRTH_DATE, 5000, 3000),
+        new UserPeriodTotals(5L, true, BIRTH_DATE, 0, 0));
+    mockUser(2L);
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(List.of(2L))))
+        .thenReturn(List.of(new UserPeriodTotals(2L, true, BIRTH_DATE, 6000, 2160)));
+
+    paceRankService.rebuild();
+    var rank = paceRankService.getRank(2L);
+
+    assertEquals(MONTH_START, rank.getPeriodStart());
+    assertEquals(new PaceCohort(true, 30), rank.getCohort());
+    assertEquals(360.0, rank.getAveragePace());
+    assertEquals(3, rank.getCohortSize());
+    assertEquals(50.0, rank.getBeatsPercent());
+
+    ArgumentCaptor<List<PaceSketchSnapshot>> snapshots = ArgumentCaptor.forClass(List.class);
+    verify(paceSketchRepository).saveSketches(snapshots.capture(), any());
+    assertEquals(2, snapshots.getValue().size());
+  }
+
+  @Test
+  public void When_RunFinished_PaceMovedInSketch() {
+    mockTotals(MONTH_START, MONTH_END,
+        new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 3000),
+        new UserPeriodTotals(2L, true, BIRTH_DATE, 4000, 1680));
+    paceRankService.rebuild();
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(Set.of(2L))))
+        .thenReturn(List.of(new UserPeriodTotals(2L, true, BIRTH_DATE, 8000, 2400)));
+
+    paceRankService.onRunsChanged(new RunsChangedEvent(Set.of(2L), List.of(
+        new UserDailyRunStatEntity(2L, TODAY, 1, 4000L, 720L),
+        new UserDailyRunStatEntity(2L, MONTH_START.minusDays(1), 1, 5000L, 1000L))));
+
+    mockUser(1L);
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(List.of(1L))))
+        .thenReturn(List.of(new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 3000)));
+    var rank = paceRankService.getRank(1L);
+    assertEquals(2, rank.getCohortSize());
+    assertEquals(0.0, rank.getBeatsPercent());
+  }
+
+  @Test
+  public void When_LoadPersisted_NotRebuilt() {
+    var sketch = new PaceSketch();
+    sketch.record(280);
+    sketch.record(300);
+    sketch.record(330);
+    when(paceSketchRepository.findSketches(MONTH_START))
+        .thenReturn(List.of(new PaceSketchSnapshot(MONTH_START, true, 30, sketch.encode())));
+    mockUser(1L);
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(List.of(1L))))
+        .thenReturn(List.of(new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 2800)));
+
+    paceRankService.load();
+    var rank = paceRankService.getRank(1L);
+
+    assertEquals(3, rank.getCohortSize());
+    assertEquals(100.0, rank.getBeatsPercent());
+    verify(paceSketchRepository, never()).forEachTotals(any(), any(), any());
+  }
+
+  @Test
+  public void When_NoDistanceThisMonth_Exception() {
+    mockUser(1L);
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(List.of(1L))))
+        .thenReturn(List.of());
+
+    assertThrows(RunBusinessLogicException.class, () -> paceRankService.getRank(1L));
+  }
+
+  @Test
+  public void When_MonthChanged_RebuiltInBackground() {
+    mockTotals(MONTH_START, MONTH_END, new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 3000));
+    paceRankService.rebuild();
+    mockTotals(MONTH_END, NEXT_MONTH_END,
+        new UserPeriodTotals(1L, true, BIRTH_DATE, 5000, 1500),
+        new UserPeriodTotals(2L, true, BIRTH_DATE, 6000, 2160));
+    clock.setToday(MONTH_END.plusDays(1));
+    mockUser(1L);
+    when(paceSketchRepository.findTotals(eq(MONTH_END), eq(NEXT_MONTH_END), eq(List.of(1L))))
+        .thenReturn(List.of(new UserPeriodTotals(1L, true, BIRTH_DATE, 5000, 1500)));
+
+    var rank = paceRankService.getRank(1L);
+
+    assertEquals(MONTH_END, rank.getPeriodStart());
+    assertEquals(0, rank.getCohortSize());
+    verify(paceSketchRepository, never()).forEachTotals(eq(MONTH_END), eq(NEXT_MONTH_END), any());
+    assertEquals(1, rebuildTasks.size());
+
+    rebuildTasks.forEach(Runnable::run);
+
+    verify(paceSketchRepository).forEachTotals(eq(MONTH_END), eq(NEXT_MONTH_END), any());
+    rank = paceRankService.getRank(1L);
+    assertEquals(MONTH_END, rank.getPeriodStart());
+    assertEquals(2, rank.getCohortSize());
+    assertEquals(100.0, rank.getBeatsPercent());
+  }
+
+  @Test
+  public void When_RunsChangedDuringRebuild_ReplayedOnNewSketches() {
+    mockTotals(MONTH_START, MONTH_END, new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 3000));
+    paceRankService.rebuild();
+    doAnswer(answer -> {
+      Consumer<UserPeriodTotals> consumer = answer.getArgument(2);
+      consumer.accept(new UserPeriodTotals(1L, true, BIRTH_DATE, 10000, 3000));
+      paceRankService.onRunsChanged(new RunsChangedEvent(Set.of(2L), List.of(
+          new UserDailyRunStatEntity(2L, TODAY, 1, 6000L, 2160L))));
+      return null;
+    }).when(paceSketchRepository).forEachTotals(eq(MONTH_START), eq(MONTH_END), any());
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(Set.of(2L))))
+        .thenReturn(List.of(new UserPeriodTotals(2L, true, BIRTH_DATE, 6000, 2160)));
+
+    paceRankService.rebuild();
+
+    mockUser(2L);
+    when(paceSketchRepository.findTotals(eq(MONTH_START), eq(MONTH_END), eq(List.of(2L))))
+        .thenReturn(List.of(new UserPeriodTotals(2L, true, BIRTH_DATE, 6000, 2160)));
+    var rank = paceRankService.getRank(2L);
+    assertEquals(2, rank.getCohortSize());
+    assertEquals(0.0, rank.getBeatsPercent());
+  }
+
+  private void mockUser(Long userId) {
+    var user = new UserEntity();
+    user.setId(userId);
+    user.setSex(true);
+    user.setBirthDate(BIRTH_DATE);
+    when(userService.getUserById(userId)).thenReturn(user);
+  }
+
+  private void mockTotals(LocalDate start, LocalDate end, UserPeriodTotals... totals) {
+    doAnswer(answer -> {
+      Consumer<UserPeriodTotals> consumer = answer.getArgument(2);
+      List.of(totals).forEach(consumer);
+      return null;
+    }).when(paceSketchRepository).forEachTotals(eq(start), eq(end), any());
+  }
+
+  private static class MutableClock extends Clock {
+
+    private volatile Instant instant;
+
+    MutableClock(LocalDate today) {
+      setToday(today);
+    }
+
+    void setToday(LocalDate today) {
+      instant = today.atTime(12, 0).toInstant(ZoneOffset.UTC);
+    }
+
+    @Override
+    public ZoneOffset getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
@@ -0,0 +1,71 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.repository.RunAreaRepository;
+import com.github.igordavydenko.tracker.service.util.GeoHash;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class RunAreaServiceTest {
+
+  private final RunAreaRepository runAreaRepository = mock(RunAreaRepository.class);
+  private final RunAreaService runAreaService = new RunAreaService(runAreaRepository, 32);
+
+  @SuppressWarnings("unchecked")
+  private final ArgumentCaptor<List<String>> cellsCaptor = ArgumentCaptor.forClass(List.class);
+
+  @Test
+  public void When_FindWithinRadius_CoveringCellsPassed() {
+    var run = new RunEntity();
+    var fromDateTime = LocalDateTime.of(2024, 1, 1, 0, 0);
+    var toDateTime = LocalDateTime.of(2024, 2, 1, 0, 0);
+    when(runAreaRepository.findWithinRadius(eq(RunLocation.START), anyList(),
+        eq(55.75), eq(37.61), eq(500.0), eq(fromDateTime), eq(toDateTime), eq(10)))
+        .thenReturn(List.of(run));
+
+    var result = runAreaService.findWithinRadius(RunLocation.START, 55.75, 37.61, 500, fromDateTime, toDateTime, 10);
+
+    assertEquals(List.of(run), result);
+    verify(runAreaRepository).findWithinRadius(eq(RunLocation.START), cellsCaptor.capture(),
+        anyDouble(), anyDouble(), anyDouble(), any(), any(), anyInt());
+    var cells = cellsCaptor.getValue();
+    assertTrue(cells.size() <= 32);
+    assertTrue(cells.get(0).length() >= 5, "Cells " + cells);
+    assertTrue(cells.stream().anyMatch(GeoHash.encode(55.75, 37.61)::startsWith));
+  }
+
+  @Test
+  public void When_FindWithinBox_CoveringCellsPassed() {
+    runAreaService.findWithinBox(RunLocation.FINISH, 55.74, 37.60, 55.76, 37.62, null, null, 100);
+
+    verify(runAreaRepository).findWithinBox(eq(RunLocation.FINISH), cellsCaptor.capture(),
+        eq(55.74), eq(37.60), eq(55.76), eq(37.62), eq(null), eq(null), eq(100));
+    assertTrue(cellsCaptor.getValue().stream().anyMatch(GeoHash.encode(55.75, 37.61)::startsWith));
+  }
+
+  @Test
+  public void When_FindWithinBox_InvalidLatitudesException() {
+    var exception = assertThrows(RunBusinessLogicException.class,
+        () -> runAreaService.findWithinBox(RunLocation.START, 56, 37.60, 55, 37.62, null, null, 100));
+
+    assertEquals("Min latitude should be less than or equal to max latitude", exception.getMessage());
+    verifyNoInteractions(runAreaRepository);
+  }
+}
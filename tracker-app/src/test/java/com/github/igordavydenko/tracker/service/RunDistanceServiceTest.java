@@ -0,0 +1,176 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunDistanceJobNotFoundException;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunCoordinatesChunk;
+import com.github.igordavydenko.tracker.persistence.projection.RunDistanceJob;
+import com.github.igordavydenko.tracker.persistence.repository.RunDistanceRepository;
+import com.github.igordavydenko.tracker.persistence.repository.UserDailyRunStatRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RunDistanceServiceTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 3, 1, 10, 0);
+
+  @Mock
+  private RunDistanceRepository runDistanceRepository;
+
+  @Mock
+  private UserDailyRunStatRepository userDailyRunStatRepository;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Captor
+  private ArgumentCaptor<Collection<UserDailyRunStatEntity>> statsCaptor;
+
+  private RunDistanceService runDistanceService;
+
+  @BeforeEach
+  public void setUp() {
+    runDistanceService = new RunDistanceService(
+        runDistanceRepository, userDailyRunStatRepository, transactionTemplate, eventPublisher, 16);
+    lenient().when(transactionTemplate.execute(any()))
+        .thenAnswer(answer -> answer.getArgument(0, TransactionCallback.class).doInTransaction(null));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    runDistanceService.shutdown();
+  }
+
+  @Test
+  public void When_Start_DistancesRecomputed() {
+    when(runDistanceRepository.findJob(any()))
+        .thenAnswer(answer -> Optional.of(new RunDistanceJob(
+            answer.getArgument(0), "RUNNING", 0, 0, 0, null, START, null)));
+    doAnswer(answer -> {
+      var chunk = answer.getArgument(1, RunCoordinatesChunk.class);
+      chunk.clear();
+      if (answer.getArgument(0, Long.class) == 0L) {
+        chunk.add(1L, 7L, START, START.plusMinutes(30), 0, 0, 0.01, 0, 1111);
+        chunk.add(2L, 7L, START, START.plusMinutes(10), 0, 0, 0.01, 0, 0);
+        chunk.add(3L, 8L, START, START.plusMinutes(20), 0, 0, 0, 0, 500);
+      }
+      return null;
+    }).when(runDistanceRepository).findChunk(anyLong(), any());
+    when(runDistanceRepository.updateDistances(any(), any(), any(), eq(2)))
+        .thenAnswer(answer -> {
+          assertArrayEquals(new int[] {1, 2}, Arrays.copyOf(answer.getArgument(1, int[].class), 2));
+          assertArrayEquals(new int[] {1111, 0}, Arrays.copyOf(answer.getArgument(2, int[].class), 2));
+          return new int[] {1, 1};
+        });
+
+    var job = runDistanceService.start();
+
+    verify(runDistanceRepository).createJob(eq(job.getId()), eq("RUNNING"), any(LocalDateTime.class));
+    verify(runDistanceRepository, timeout(1000)).updateState(
+        eq(job.getId()), eq("COMPLETED"), isNull(), any(LocalDateTime.class));
+    verify(runDistanceRepository).updateProgress(job.getId(), 3L, 3, 2);
+    verify(userDailyRunStatRepository).upsertAll(statsCaptor.capture());
+    var stats = new ArrayList<>(statsCaptor.getValue());
+    assertEquals(2, stats.size());
+    assertStat(stats.get(0), 7L, 1111L, 600L);
+    assertStat(stats.get(1), 8L, -500L, -1200L);
+    verify(eventPublisher).publishEvent(new RunsChangedEvent(Set.of(7L, 8L), stats));
+  }
+
+  @Test
+  public void When_Resume_ContinuesFromCheckpoint() {
+    var job = job(RunDistanceJobState.FAILED, 42);
+    when(runDistanceRepository.findJob(job.getId()))
+        .thenReturn(Optional.of(job));
+
+    runDistanceService.resume(job.getId());
+
+    verify(runDistanceRepository, timeout(1000)).updateState(
+        eq(job.getId()), eq("COMPLETED"), isNull(), any(LocalDateTime.class));
+    verify(runDistanceRepository).updateState(job.getId(), "RUNNING", null, null);
+    verify(runDistanceRepository).findChunk(eq(42L), any());
+  }
+
+  @Test
+  public void When_Resume_CompletedException() {
+    var job = job(RunDistanceJobState.COMPLETED, 42);
+    when(runDistanceRepository.findJob(job.getId()))
+        .thenReturn(Optional.of(job));
+
+    var exception = assertThrows(RunBusinessLogicException.class, () -> runDistanceService.resume(job.getId()));
+
+    assertEquals("Run distance job '" + job.getId() + "' is already completed", exception.getMessage());
+  }
+
+  @Test
+  public void When_ChunkFailed_JobFailed() {
+    var job = job(RunDistanceJobState.FAILED, 0);
+    when(runDistanceRepository.findJob(job.getId()))
+        .thenReturn(Optional.of(job));
+    doThrow(new DataAccessResourceFailureException("connection lost"))
+        .when(runDistanceRepository).findChunk(anyLong(), any());
+
+    runDistanceService.resume(job.getId());
+
+    verify(runDistanceRepository, timeout(1000)).updateState(
+        eq(job.getId()), eq("FAILED"), eq("connection lost"), any(LocalDateTime.class));
+  }
+
+  @Test
+  public void When_GetJob_NotFound() {
+    assertThrows(
+        RunDistanceJobNotFoundException.class,
+        () -> runDistanceService.getJob(UUID.randomUUID())
+    );
+  }
+
+  private static RunDistanceJob job(RunDistanceJobState state, long lastRunId) {
+    return new RunDistanceJob(UUID.randomUUID(), state.name(), lastRunId, 0, 0, null, START, null);
+  }
+
+  private static void assertStat(UserDailyRunStatEntity stat, long userId, long distance, long duration) {
+    assertEquals(userId, stat.getUserId());
+    assertEquals(LocalDate.of(2024, 3, 1), stat.getDay());
+    assertEquals(0, stat.getRunCount());
+    assertEquals(distance, stat.getDistance());
+    assertEquals(duration, stat.getDuration());
+  }
+
+}
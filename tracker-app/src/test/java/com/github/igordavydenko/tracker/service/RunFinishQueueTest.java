@@ -0,0 +1,236 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunFinishQueueFullException;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.persistence.repository.RunPointRepository;
+import com.github.igordavydenko.tracker.persistence.repository.RunTrackRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RunFinishQueueTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final List<Long> finishedUserIds = Collections.synchronizedList(new ArrayList<>());
+
+  @Mock
+  private RunService runService;
+
+  @BeforeEach
+  public void setUp() {
+    lenient().when(runService.validateFinishRun(any(RunEntity.class)))
+        .thenAnswer(answer -> answer.getArgument(0, RunEntity.class).getUser());
+  }
+
+  @Test
+  public void When_Stopped_QueueDrainedInOrder() {
+    var queue = createQueue(100, 2);
+    when(runService.finishRuns(anyList()))
+        .thenAnswer(answer -> finish(answer.getArgument(0)));
+    queue.start();
+
+    List<RunFinishReceipt> receipts = new ArrayList<>();
+    for (long userId = 1; userId <= 5; userId++) {
+      receipts.add(queue.submit(runOf(userId)));
+    }
+    queue.stop();
+
+    assertEquals(List.of(1L, 2L, 3L, 4L, 5L), finishedUserIds);
+    receipts.forEach(receipt -> {
+      assertEquals(RunFinishState.COMPLETED, receipt.getState());
+      assertEquals(receipt.getUserId(), receipt.getRun().getUser().getId());
+    });
+  }
+
+  @Test
+  public void When_QueueFull_Rejected() throws InterruptedException {
+    var queue = createQueue(1, 10);
+    var writing = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    when(runService.finishRuns(anyList()))
+        .thenAnswer(answer -> {
+          writing.countDown();
+          release.await();
+          return finish(answer.getArgument(0));
+        });
+    queue.start();
+
+    var first = queue.submit(runOf(1L));
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+    var second = queue.submit(runOf(2L));
+    assertThrows(RunFinishQueueFullException.class, () -> queue.submit(runOf(3L)));
+    release.countDown();
+    queue.stop();
+
+    assertEquals(RunFinishState.COMPLETED, first.getState());
+    assertEquals(RunFinishState.COMPLETED, second.getState());
+    assertEquals(1.0, meterRegistry.get("tracker.run.finish.rejected").counter().count());
+  }
+
+  @Test
+  public void When_BatchFails_RetriedOneByOne() throws InterruptedException {
+    var queue = createQueue(10, 10);
+    var writing = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    when(runService.finishRuns(anyList()))
+        .thenAnswer(answer -> {
+          List<RunEntity> sources = answer.getArgument(0);
+          var userId = sources.get(0).getUser().getId();
+          if (userId == 1L) {
+            writing.countDown();
+            release.await();
+          } else if (sources.size() > 1) {
+            throw new IllegalStateException("Batch failed");
+          } else if (userId == 3L) {
+            return List.of(BatchItemResult.failure("No active run"));
+          }
+          return finish(sources);
+        });
+    queue.start();
+
+    var first = queue.submit(runOf(1L));
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+    var second = queue.submit(runOf(2L));
+    var third = queue.submit(runOf(3L));
+    release.countDown();
+    queue.stop();
+
+    assertEquals(RunFinishState.COMPLETED, first.getState());
+    assertEquals(RunFinishState.COMPLETED, second.getState());
+    assertEquals(RunFinishState.FAILED, third.getState());
+    assertEquals("No active run", third.getErrorMessage());
+  }
+
+  @Test
+  public void When_BatchWithBufferedPointsFails_TracksKeptOnRetry() throws InterruptedException {
+    var runPointService = new RunPointService(
+        mock(RunPointRepository.class), mock(RunTrackRepository.class), meterRegistry, 100);
+    Map<Long, List<RunPoint>> tracks = new ConcurrentHashMap<>();
+    var queue = createQueue(10, 10);
+    var writing = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    when(runService.finishRuns(anyList()))
+        .thenAnswer(answer -> {
+          List<RunEntity> sources = answer.getArgument(0);
+          if (sources.get(0).getUser().getId() == 1L) {
+            writing.countDown();
+            release.await();
+          }
+          TransactionSynchronizationManager.initSynchronization();
+          var status = TransactionSynchronization.STATUS_ROLLED_BACK;
+          try {
+            var runs = sources.stream().map(source -> activeRunOf(source.getUser().getId())).toList();
+            var compacted = runPointService.compactTracks(runs);
+            if (sources.size() > 1) {
+              throw new IllegalStateException("Batch failed");
+            }
+            tracks.putAll(compacted);
+            status = TransactionSynchronization.STATUS_COMMITTED;
+            return finish(sources);
+          } finally {
+            var completed = status;
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(completed));
+            TransactionSynchronizationManager.clearSynchronization();
+          }
+        });
+    var secondPoints = List.of(new RunPoint(2L, 2L, LocalDateTime.of(2024, 5, 1, 6, 1), 55.75, 37.61));
+    var thirdPoints = List.of(new RunPoint(3L, 3L, LocalDateTime.of(2024, 5, 1, 6, 2), 55.76, 37.62));
+    runPointService.append(2L, secondPoints);
+    runPointService.append(3L, thirdPoints);
+    queue.start();
+
+    queue.submit(runOf(1L));
+    assertTrue(writing.await(5, TimeUnit.SECONDS));
+    var second = queue.submit(runOf(2L));
+    var third = queue.submit(runOf(3L));
+    release.countDown();
+    queue.stop();
+
+    assertEquals(RunFinishState.COMPLETED, second.getState());
+    assertEquals(RunFinishState.COMPLETED, third.getState());
+    assertEquals(secondPoints, tracks.get(2L));
+    assertEquals(thirdPoints, tracks.get(3L));
+    assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+  }
+
+  @Test
+  public void When_InvalidFinish_RejectedBeforeQueued() {
+    var queue = createQueue(10, 10);
+    var source = runOf(1L);
+    when(runService.validateFinishRun(source))
+        .thenThrow(new RunBusinessLogicException("Finish time should be after start time"));
+    queue.start();
+
+    var exception = assertThrows(RunBusinessLogicException.class, () -> queue.submit(source));
+    queue.stop();
+
+    assertEquals("Finish time should be after start time", exception.getMessage());
+    assertEquals(0.0, meterRegistry.get("tracker.run.finish.queued").gauge().value());
+    verify(runService, never()).finishRuns(anyList());
+  }
+
+  @Test
+  public void When_NotStarted_Rejected() {
+    var queue = createQueue(10, 10);
+
+    assertThrows(RunFinishQueueFullException.class, () -> queue.submit(runOf(1L)));
+  }
+
+  private RunFinishQueue createQueue(int capacity, int batchSize) {
+    return new RunFinishQueue(runService, meterRegistry, true, capacity, batchSize, Duration.ofMinutes(1));
+  }
+
+  private List<BatchItemResult<RunEntity>> finish(List<RunEntity> sources) {
+    List<BatchItemResult<RunEntity>> results = new ArrayList<>();
+    for (var source : sources) {
+      finishedUserIds.add(source.getUser().getId());
+      results.add(BatchItemResult.success(source));
+    }
+    return results;
+  }
+
+  private static RunEntity activeRunOf(Long userId) {
+    var run = runOf(userId);
+    run.setId(userId);
+    run.setStartDateTime(LocalDateTime.of(2024, 5, 1, 6, 0));
+    return run;
+  }
+
+  private static RunEntity runOf(Long userId) {
+    var user = new UserEntity();
+    user.setId(userId);
+    var run = new RunEntity();
+    run.setUser(user);
+    return run;
+  }
+}
@@ -0,0 +1,175 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.exception.RunImportNotFoundException;
+import com.github.igordavydenko.tracker.persistence.repository.RunImportRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RunImportServiceTest {
+
+  private static final String CSV_CONTENT = "user_id,start_date_time\n1,2020-01-01T00:00:00\n";
+
+  @Mock
+  private RunImportRepository runImportRepository;
+
+  @Mock
+  private TransactionTemplate transactionTemplate;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  private RunImportService runImportService;
+
+  @BeforeEach
+  public void setUp() {
+    runImportService = new RunImportService(
+        runImportRepository, transactionTemplate, eventPublisher, 1, 1, Duration.ofHours(1));
+  }
+
+  @AfterEach
+  public void tearDown() {
+    runImportService.shutdown();
+  }
+
+  @Test
+  public void When_Submit_Success() throws Exception {
+    mockTransaction();
+    when(runImportRepository.copyCsv(any(InputStream.class)))
+        .thenAnswer(answer -> {
+          answer.getArgument(0, InputStream.class).readAllBytes();
+          return 10L;
+        });
+    when(runImportRepository.validate())
+        .thenReturn(7L);
+    when(runImportRepository.mergeAccepted(7L))
+        .thenReturn(Set.of(1L));
+
+    var job = runImportService.submit(RunImportFormat.CSV, toInputStream(CSV_CONTENT));
+    assertEquals(job, runImportService.getJob(job.getId()));
+    awaitFinish(job);
+
+    assertEquals(RunImportState.COMPLETED, job.getState());
+    assertEquals(CSV_CONTENT.length(), job.getTotalBytes());
+    assertEquals(CSV_CONTENT.length(), job.getCopiedBytes());
+    assertEquals(10L, job.getCopiedRows());
+    assertEquals(7L, job.getImportedRows());
+    assertNull(job.getErrorMessage());
+    verify(runImportRepository).saveRejects(job.getId());
+    verify(runImportRepository).mergeAccepted(7L);
+    verify(eventPublisher).publishEvent(new RunsChangedEvent(Set.of(1L)));
+  }
+
+  @Test
+  public void When_Submit_CopyFailed() throws Exception {
+    mockTransaction();
+    when(runImportRepository.copyNdjson(any(InputStream.class)))
+        .thenThrow(new SQLException("extra data after last expected column"));
+
+    var job = runImportService.submit(RunImportFormat.NDJSON, toInputStream("{}\n"));
+    awaitFinish(job);
+
+    assertEquals(RunImportState.FAILED, job.getState());
+    assertEquals("Can't copy run import: extra data after last expected column", job.getErrorMessage());
+    assertNotNull(job.getFinishedAt());
+  }
+
+  @Test
+  public void When_GetJob_NotFound() {
+    assertThrows(
+        RunImportNotFoundException.class,
+        () -> runImportService.getJob(UUID.randomUUID())
+    );
+  }
+
+  @Test
+  public void When_JobFinished_ExpiredAfterTtl() throws Exception {
+    runImportService.shutdown();
+    runImportService = new RunImportService(
+        runImportRepository, transactionTemplate, eventPublisher, 1, 1, Duration.ZERO);
+    mockTransaction();
+    when(runImportRepository.copyCsv(any(InputStream.class)))
+        .thenThrow(new SQLException("extra data after last expected column"));
+
+    var job = runImportService.submit(RunImportFormat.CSV, toInputStream(CSV_CONTENT));
+    awaitFinish(job);
+
+    assertEquals(RunImportState.FAILED, job.getState());
+    awaitExpired(job);
+    assertThrows(
+        RunImportNotFoundException.class,
+        () -> runImportService.getJob(job.getId())
+    );
+  }
+
+  @Test
+  public void When_PurgeRejects_KnownJobsKept() throws Exception {
+    mockTransaction();
+    when(runImportRepository.copyCsv(any(InputStream.class)))
+        .thenThrow(new SQLException("extra data after last expected column"));
+    var job = runImportService.submit(RunImportFormat.CSV, toInputStream(CSV_CONTENT));
+    awaitFinish(job);
+
+    runImportService.purgeRejects();
+
+    assertEquals(job, runImportService.getJob(job.getId()));
+    verify(runImportRepository).deleteRejectsOlderThan(eq(Duration.ofHours(1)), eq(Set.of(job.getId())));
+  }
+
+  private void mockTransaction() {
+    doAnswer(answer -> {
+      Consumer<TransactionStatus> action = answer.getArgument(0);
+      action.accept(mock(TransactionStatus.class));
+      return null;
+    }).when(transactionTemplate).executeWithoutResult(any());
+  }
+
+  private static InputStream toInputStream(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+
+  private void awaitExpired(RunImportJob job) throws InterruptedException {
+    for (int i = 0; i < 100; i++) {
+      try {
+        runImportService.getJob(job.getId());
+      } catch (RunImportNotFoundException ex) {
+        return;
+      }
+      Thread.sleep(50);
+    }
+  }
+
+  private static void awaitFinish(RunImportJob job) throws InterruptedException {
+    for (int i = 0; i < 100 && job.getFinishedAt() == null; i++) {
+      Thread.sleep(50);
+    }
+  }
+
+}
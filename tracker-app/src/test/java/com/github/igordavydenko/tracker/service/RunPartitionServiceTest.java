@@ -0,0 +1,45 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.persistence.repository.RunPartitionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RunPartitionServiceTest {
+
+  @Mock
+  private RunPartitionRepository runPartitionRepository;
+
+  @Mock
+  private StatisticCache statisticCache;
+
+  @Test
+  public void When_MaintainPartitions_RetentionDisabled_Success() {
+    when(runPartitionRepository.createPartitions(3)).thenReturn(1);
+
+    new RunPartitionService(runPartitionRepository, statisticCache, 3, 0).maintainPartitions();
+
+    verify(runPartitionRepository).createPartitions(3);
+    verify(runPartitionRepository, never()).detachPartitions(anyInt());
+  }
+
+  @Test
+  public void When_MaintainPartitions_RetentionEnabled_Success() {
+    when(runPartitionRepository.createPartitions(2)).thenReturn(0);
+    when(runPartitionRepository.detachPartitions(24)).thenReturn(1);
+
+    new RunPartitionService(runPartitionRepository, statisticCache, 2, 24).maintainPartitions();
+
+    verify(runPartitionRepository).createPartitions(2);
+    verify(runPartitionRepository).detachPartitions(24);
+    verify(statisticCache).invalidateAll();
+  }
+
+}
@@ -0,0 +1,299 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.codec.TrackCodec;
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
+import com.github.igordavydenko.tracker.exception.RunNotFoundException;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTrack;
+import com.github.igordavydenko.tracker.persistence.repository.RunPointRepository;
+import com.github.igordavydenko.tracker.persistence.repository.RunTrackRepository;
+import com.github.igordavydenko.tracker.service.util.TrackSimplifier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RunPointServiceTest {
+
+  @SuppressWarnings("unchecked")
+  private final ArgumentCaptor<List<RunTrack>> runTracksCaptor = ArgumentCaptor.forClass(List.class);
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final RunPointRepository runPointRepository = mock(RunPointRepository.class);
+  private final RunTrackRepository runTrackRepository = mock(RunTrackRepository.class);
+  private final RunPointService runPointService =
+      new RunPointService(runPointRepository, runTrackRepository, meterRegistry, 3);
+
+  @Test
+  public void When_AppendBelowBatchSize_Buffered() {
+    runPointService.append(1L, points(1L, 2));
+
+    verify(runPointRepository, never()).insert(anyList());
+    assertEquals(2.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+  }
+
+  @Test
+  public void When_AppendReachesBatchSize_Written() {
+    var first = points(1L, 2);
+    var second = points(1L, 2);
+
+    runPointService.append(1L, first);
+    runPointService.append(1L, second);
+
+    verify(runPointRepository).insert(List.of(first.get(0), first.get(1), second.get(0), second.get(1)));
+    assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+    assertEquals(4.0, meterRegistry.get("tracker.run.points.flushed").counter().count());
+  }
+
+  @Test
+  public void When_CompactTracks_StoredAndBufferedPointsMerged() {
+    var run = new RunEntity();
+    run.setId(1L);
+    run.setStartDateTime(LocalDateTime.of(2024, 5, 1, 6, 0));
+    var start = run.getStartDateTime();
+    var stored = List.of(
+        new RunPoint(1L, 1L, start.plusSeconds(2), 55.752, 37.612),
+        new RunPoint(1L, 1L, start.plusSeconds(1), 55.751, 37.611));
+    var buffered = List.of(
+        new RunPoint(1L, 1L, start.plusSeconds(2), 55.0, 37.0),
+        new RunPoint(1L, 1L, start.plusSeconds(3), 55.753, 37.613));
+    runPointService.append(1L, buffered);
+    when(runPointRepository.deleteByRunIds(Set.of(1L)))
+        .thenReturn(stored);
+
+    var result = runPointService.compactTracks(List.of(run));
+
+    var track = result.get(1L);
+    assertEquals(List.of(stored.get(1), stored.get(0), buffered.get(1)), track);
+    verify(runPointRepository, never()).insert(anyList());
+    verify(runTrackRepository).saveAll(runTracksCaptor.capture());
+    var runTrack = runTracksCaptor.getValue().get(0);
+    assertEquals(1L, runTrack.getRunId());
+    assertEquals(run.getStartDateTime(), runTrack.getStartDateTime());
+    var decoded = TrackCodec.decode(runTrack.getTrack());
+    assertEquals(3, decoded.size());
+    assertEquals(stored.get(1).getPointTime(), decoded.get(0).getTime());
+    assertEquals(buffered.get(1).getLatitude(), decoded.get(2).getLatitude(), 1e-6);
+    assertArrayEquals(TrackSimplifier.levels(decoded), runTrack.getLevels());
+    assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+  }
+
+  @Test
+  public void When_CompactTracks_NoPoints() {
+    var run = new RunEntity();
+    run.setId(1L);
+
+    var result = runPointService.compactTracks(List.of(run));
+
+    assertTrue(result.isEmpty());
+    verify(runTrackRepository).saveAll(List.of());
+  }
+
+  @Test
+  public void When_GetTrack_Success() {
+    var time = LocalDateTime.of(2024, 5, 1, 6, 0);
+    var points = List.of(new TrackPoint(time, 55.75, 37.61), new TrackPoint(time.plusSeconds(1), 55.76, 37.62));
+    when(runTrackRepository.findByUserIdAndRunId(2L, 1L))
+        .thenReturn(Optional.of(new RunTrack(1L, time, TrackCodec.encode(points), null)));
+
+    var result = runPointService.getTrack(2L, 1L, null, null);
+
+    assertEquals(points, result);
+  }
+
+  @Test
+  public void When_GetTrackWithTolerance_Simplified() {
+    var time = LocalDateTime.of(2024, 5, 1, 6, 0);
+    var points = List.of(
+        new TrackPoint(time, 55.75, 37.61),
+        new TrackPoint(time.plusSeconds(1), 55.75001, 37.61005),
+        new TrackPoint(time.plusSeconds(2), 55.75, 37.6101));
+    var encoded = TrackCodec.encode(points);
+    when(runTrackRepository.findByUserIdAndRunId(2L, 1L))
+        .thenReturn(Optional.of(new RunTrack(1L, time, encoded, TrackSimplifier.levels(points))));
+
+    assertEquals(3, runPointService.getTrack(2L, 1L, null, 1.0).size());
+    assertEquals(List.of(points.get(0), points.get(2)), runPointService.getTrack(2L, 1L, null, 4.0));
+    assertEquals(List.of(points.get(0), points.get(2)), runPointService.getTrack(2L, 1L, 10, null));
+  }
+
+  @Test
+  public void When_GetTrackWithoutPoints_Empty() {
+    when(runTrackRepository.findByUserIdAndRunId(2L, 1L))
+        .thenReturn(Optional.of(new RunTrack(1L, LocalDateTime.now(), null, null)));
+
+    assertTrue(runPointService.getTrack(2L, 1L, null, null).isEmpty());
+  }
+
+  @Test
+  public void When_GetTrack_RunNotFoundException() {
+    when(runTrackRepository.findByUserIdAndRunId(2L, 1L))
+        .thenReturn(Optional.empty());
+
+    var exception = assertThrows(RunNotFoundException.class, () -> runPointService.getTrack(2L, 1L, null, null));
+    assertEquals("Run by id '1' not found", exception.getMessage());
+  }
+
+  @Test
+  public void When_FlushBatchFails_RetriedPerRun() {
+    var firstRun = points(1L, 1);
+    var secondRun = points(2L, 1);
+    runPointService.append(1L, firstRun);
+    runPointService.append(2L, secondRun);
+    doThrow(new DataIntegrityViolationException("batch"))
+        .when(runPointRepository).insert(List.of(firstRun.get(0), secondRun.get(0)));
+    doThrow(new DataIntegrityViolationException("run"))
+        .when(runPointRepository).insert(secondRun);
+
+    runPointService.flush();
+
+    verify(runPointRepository).insert(firstRun);
+    assertEquals(1.0, meterRegistry.get("tracker.run.points.flushed").counter().count());
+    assertEquals(1.0, meterRegistry.get("tracker.run.points.dropped").counter().count());
+    assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+  }
+
+  @Test
+  public void When_AppendAfterCompactTracks_RunBusinessLogicException() {
+    var run = new RunEntity();
+    run.setId(1L);
+    run.setStartDateTime(LocalDateTime.now());
+
+    runPointService.compactTracks(List.of(run));
+
+    var exception = assertThrows(RunBusinessLogicException.class, () -> runPointService.append(1L, points(1L, 1)));
+    assertEquals("Run with id '1' is already finished", exception.getMessage());
+    assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+  }
+
+  @Test
+  public void When_CompactTracksRolledBack_PointsRequeued() {
+    var run = new RunEntity();
+    run.setId(1L);
+    run.setStartDateTime(LocalDateTime.now());
+    var buffered = points(1L, 2);
+    runPointService.append(1L, buffered);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      runPointService.compactTracks(List.of(run));
+      assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(2.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+    var appended = points(1L, 1);
+    runPointService.append(1L, appended);
+    verify(runPointRepository).insert(List.of(buffered.get(0), buffered.get(1), appended.get(0)));
+  }
+
+  @Test
+  public void When_CompactTracksCommitted_RunStaysClosed() {
+    var run = new RunEntity();
+    run.setId(1L);
+    run.setStartDateTime(LocalDateTime.now());
+    runPointService.append(1L, points(1L, 1));
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      runPointService.compactTracks(List.of(run));
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertEquals(0.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+    assertThrows(RunBusinessLogicException.class, () -> runPointService.append(1L, points(1L, 1)));
+  }
+
+  @Test
+  public void When_FlushInProgress_CompactTracksWaitsForInsert() throws Exception {
+    var run = new RunEntity();
+    run.setId(1L);
+    run.setStartDateTime(LocalDateTime.now());
+    var buffered = points(1L, 1);
+    runPointService.append(1L, buffered);
+    var inserting = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      inserting.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(runPointRepository).insert(buffered);
+    when(runPointRepository.deleteByRunIds(Set.of(1L)))
+        .thenReturn(buffered);
+
+    var flush = CompletableFuture.runAsync(runPointService::flush);
+    assertTrue(inserting.await(5, TimeUnit.SECONDS));
+    var compact = CompletableFuture.supplyAsync(() -> runPointService.compactTracks(List.of(run)));
+    Thread.sleep(100);
+    assertFalse(compact.isDone());
+    verify(runPointRepository, never()).deleteByRunIds(anyCollection());
+
+    release.countDown();
+    flush.get(5, TimeUnit.SECONDS);
+    var result = compact.get(5, TimeUnit.SECONDS);
+
+    assertEquals(buffered, result.get(1L));
+  }
+
+  @Test
+  public void When_FlushInProgress_AppendNotBlocked() throws Exception {
+    var buffered = points(1L, 1);
+    runPointService.append(1L, buffered);
+    var inserting = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    doAnswer(invocation -> {
+      inserting.countDown();
+      release.await(5, TimeUnit.SECONDS);
+      return null;
+    }).when(runPointRepository).insert(buffered);
+
+    var flush = CompletableFuture.runAsync(runPointService::flush);
+    assertTrue(inserting.await(5, TimeUnit.SECONDS));
+    try {
+      CompletableFuture.runAsync(() -> runPointService.append(1L, points(1L, 1)))
+          .get(1, TimeUnit.SECONDS);
+      assertEquals(1.0, meterRegistry.get("tracker.run.points.buffered").gauge().value());
+    } finally {
+      release.countDown();
+    }
+    flush.get(5, TimeUnit.SECONDS);
+  }
+
+  private static List<RunPoint> points(Long runId, int count) {
+    var start = LocalDateTime.now();
+    return IntStream.range(0, count)
+        .mapToObj(index -> new RunPoint(runId, 1L, start.plusSeconds(index), 55.75, 37.61))
+        .toList();
+  }
+}
@@ -2,8 +2,15 @@ package com.github.igordavydenko.tracker.service;
 
 import com.github.igordavydenko.tracker.exception.RunBusinessLogicException;
 import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserDailyRunStatEntity;
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
 import com.github.igordavydenko.tracker.persistence.repository.RunRepository;
+import com.github.igordavydenko.tracker.persistence.repository.UserDailyRunStatRepository;
+import com.github.igordavydenko.tracker.rest.dto.RunCursor;
+import com.github.igordavydenko.tracker.service.util.DistanceCalculator;
+import com.github.igordavydenko.tracker.service.util.GeoHash;
+import jakarta.persistence.EntityManager;
 import org.apache.commons.math3.random.RandomDataGenerator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,19 +19,32 @@ import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -40,12 +60,30 @@ public class RunServiceTest {
   @Mock
   private RunRepository runRepository;
 
+  @Mock
+  private UserDailyRunStatRepository userDailyRunStatRepository;
+
   @Mock
   private UserService userService;
 
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private RunPointService runPointService;
+
   @Captor
   private ArgumentCaptor<RunEntity> runEntityCaptor;
 
+  @Captor
+  private ArgumentCaptor<List<RunPoint>> runPointsCaptor;
+
+  @Captor
+  private ArgumentCaptor<Collection<UserDailyRunStatEntity>> userDailyRunStatsCaptor;
+
   @Test
   public void When_GetUser_Success() {
     var userId = random.nextLong();
@@ -123,20 +161,298 @@ public class RunServiceTest {
     assertEquals(expectedRuns, result);
   }
 
+  @Test
+  public void When_FindPageByUserAndPeriod_FirstPage() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var fromDateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+    var toDateTime = LocalDateTime.of(2100, 12, 31, 23, 59);
+
+    List<RunEntity> expectedRuns = List.of(new RunEntity(), new RunEntity());
+
+    when(runRepository.findPageByUserId(user.getId(), fromDateTime, toDateTime, null, null, Limit.of(10)))
+        .thenReturn(expectedRuns);
+
+    var result = runService.findPageByUserAndPeriod(user, fromDateTime, toDateTime, null, 10);
+    assertEquals(expectedRuns, result);
+  }
+
+  @Test
+  public void When_FindPageByUserAndPeriodFromOnly_RunAtFromExcluded() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var fromDateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    List<RunEntity> expectedRuns = List.of(new RunEntity(), new RunEntity());
+
+    when(runRepository.findPageByUserId(user.getId(), fromDateTime, null, null, null, Limit.of(10)))
+        .thenCallRealMethod();
+    when(runRepository.findByUserIdAndStartDateTimeAfterOrderByStartDateTimeAscIdAsc(
+        user.getId(), fromDateTime, Limit.of(10)))
+        .thenReturn(expectedRuns);
+
+    var result = runService.findPageByUserAndPeriod(user, fromDateTime, null, null, 10);
+    assertEquals(expectedRuns, result);
+    verify(runRepository, never()).findPageByUserIdAfter(any(), any(), any(), any());
+  }
+
+  @Test
+  public void When_FindPageByUserAndPeriodToOnly_RunAtToExcluded() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var toDateTime = LocalDateTime.of(2000, 1, 10, 12, 0);
+
+    List<RunEntity> expectedRuns = List.of(new RunEntity(), new RunEntity());
+
+    when(runRepository.findPageByUserId(user.getId(), null, toDateTime, null, null, Limit.of(10)))
+        .thenCallRealMethod();
+    when(runRepository.findByUserIdAndStartDateTimeBeforeOrderByStartDateTimeAscIdAsc(
+        user.getId(), toDateTime, Limit.of(10)))
+        .thenReturn(expectedRuns);
+
+    var result = runService.findPageByUserAndPeriod(user, null, toDateTime, null, 10);
+    assertEquals(expectedRuns, result);
+  }
+
+  @Test
+  public void When_FindPageByUserAndPeriodToOnlyNextPage_RunAtToExcluded() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var toDateTime = LocalDateTime.of(2000, 1, 10, 12, 0);
+    var cursor = new RunCursor(LocalDateTime.of(2000, 1, 1, 0, 0), random.nextLong());
+
+    List<RunEntity> expectedRuns = List.of(new RunEntity(), new RunEntity());
+
+    when(runRepository.findPageByUserId(
+        user.getId(), null, toDateTime, cursor.getStartDateTime(), cursor.getId(), Limit.of(10)))
+        .thenCallRealMethod();
+    when(runRepository.findPageByUserIdAfterAndUntil(
+        user.getId(), cursor.getStartDateTime(), cursor.getId(), toDateTime, Limit.of(10)))
+        .thenReturn(expectedRuns);
+
+    var result = runService.findPageByUserAndPeriod(user, null, toDateTime, cursor, 10);
+    assertEquals(expectedRuns, result);
+    verify(runRepository, never()).findPageByUserIdAfterAndBefore(any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void When_ForEachByUserAndPeriod_Success() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var fromDateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+    var firstRun = new RunEntity();
+    var secondRun = new RunEntity();
+
+    when(runRepository.streamByUserIdAndPeriod(user.getId(), fromDateTime, null))
+        .thenReturn(Stream.of(firstRun, secondRun));
+
+    List<RunEntity> consumedRuns = new ArrayList<>();
+    runService.forEachByUserAndPeriod(user, fromDateTime, null, consumedRuns::add);
+
+    assertEquals(List.of(firstRun, secondRun), consumedRuns);
+    verify(entityManager).detach(firstRun);
+    verify(entityManager).detach(secondRun);
+  }
+
+  @Test
+  public void When_FindPageByUserAndPeriod_NextPage() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var cursor = new RunCursor(LocalDateTime.of(2000, 1, 1, 0, 0), random.nextLong());
+
+    List<RunEntity> expectedRuns = List.of(new RunEntity(), new RunEntity());
+
+    when(runRepository.findPageByUserId(
+        user.getId(), LocalDateTime.MIN, null, cursor.getStartDateTime(), cursor.getId(), Limit.of(10)))
+        .thenReturn(expectedRuns);
+
+    var result = runService.findPageByUserAndPeriod(user, LocalDateTime.MIN, null, cursor, 10);
+    assertEquals(expectedRuns, result);
+  }
+
+  @Test
+  public void When_GetRunTotalsByUserAndPeriod_Success() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var fromDateTime = LocalDateTime.of(2000, 1, 1, 12, 0);
+    var toDateTime = LocalDateTime.of(2100, 12, 31, 23, 59);
+
+    var activeRun = generateStartRun(user);
+    activeRun.setStartDateTime(LocalDateTime.of(2050, 6, 1, 8, 0));
+
+    when(userDailyRunStatRepository.getRunTotalsByUserIdAndDays(
+        user.getId(), LocalDate.of(2000, 1, 2), LocalDate.of(2100, 12, 30)))
+        .thenReturn(RunTotals.of(100, 500000, 180000));
+    when(runRepository.getRunTotalsByUserIdAndStartDateTimeFromUntil(
+        user.getId(), fromDateTime, LocalDateTime.of(2000, 1, 2, 0, 0)))
+        .thenReturn(RunTotals.of(1, 5000, 1800));
+    when(runRepository.getRunTotalsByUserIdAndStartDateTimeBetween(
+        user.getId(), LocalDateTime.of(2100, 12, 31, 0, 0), toDateTime))
+        .thenReturn(RunTotals.of(2, 10000, 3600));
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
+
+    var result = runService.getRunTotalsByUserAndPeriod(user, fromDateTime, toDateTime);
+    assertEquals(104, result.getTotalRuns());
+    assertEquals(515000, result.getTotalDistance());
+    assertEquals(185400, result.getTotalDurationSeconds());
+  }
+
+  @Test
+  public void When_GetRunTotalsByUserAndPeriodFromOnly_RunAtFromExcluded() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var fromDateTime = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    when(userDailyRunStatRepository.getRunTotalsByUserIdAndDays(user.getId(), LocalDate.of(2000, 1, 2), null))
+        .thenReturn(RunTotals.of(100, 500000, 180000));
+    when(runRepository.getRunTotalsByUserIdAndStartDateTimeAfterUntil(
+        user.getId(), fromDateTime, LocalDateTime.of(2000, 1, 2, 0, 0)))
+        .thenReturn(RunTotals.of(1, 5000, 1800));
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.empty());
+
+    var result = runService.getRunTotalsByUserAndPeriod(user, fromDateTime, null);
+    assertEquals(RunTotals.of(101, 505000, 181800), result);
+    verify(runRepository, never()).getRunTotalsByUserIdAndStartDateTimeFromUntil(any(), any(), any());
+  }
+
+  @Test
+  public void When_GetRunTotalsByUserAndPeriodToOnly_RunAtToExcluded() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var toDateTime = LocalDateTime.of(2000, 1, 10, 12, 0);
+
+    when(userDailyRunStatRepository.getRunTotalsByUserIdAndDays(user.getId(), null, LocalDate.of(2000, 1, 9)))
+        .thenReturn(RunTotals.of(100, 500000, 180000));
+    when(runRepository.getRunTotalsByUserIdAndStartDateTimeFromUntil(
+        user.getId(), LocalDateTime.of(2000, 1, 10, 0, 0), toDateTime))
+        .thenReturn(RunTotals.of(1, 5000, 1800));
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.empty());
+
+    var result = runService.getRunTotalsByUserAndPeriod(user, null, toDateTime);
+    assertEquals(RunTotals.of(101, 505000, 181800), result);
+    verify(runRepository, never()).getRunTotalsByUserIdAndStartDateTimeBetween(any(), any(), any());
+  }
+
+  @Test
+  public void When_GetRunTotalsByUserAndPeriod_WithoutFullDays() {
+    UserEntity user = new UserEntity();
+    user.setId(random.nextLong());
+
+    var fromDateTime = LocalDateTime.of(2000, 1, 1, 12, 0);
+    var toDateTime = LocalDateTime.of(2000, 1, 2, 6, 0);
+
+    var expectedTotals = RunTotals.of(3, 15000, 5400);
+
+    when(runRepository.getRunTotalsByUserIdAndPeriod(user.getId(), fromDateTime, toDateTime))
+        .thenReturn(expectedTotals);
+
+    var result = runService.getRunTotalsByUserAndPeriod(user, fromDateTime, toDateTime);
+    assertEquals(expectedTotals, result);
+  }
+
+  @Test
+  public void When_StartRuns_PartialSuccess() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var busyUser = new UserEntity();
+    busyUser.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var missingUser = new UserEntity();
+    missingUser.setId(random.nextLong(1L, Long.MAX_VALUE));
+
+    var sources = List.of(
+        generateStartRun(user),
+        generateStartRun(busyUser),
+        generateStartRun(missingUser),
+        generateStartRun(user));
+
+    when(userService.getUsersByIds(any()))
+        .thenReturn(List.of(user, busyUser));
+    when(runRepository.findByUserIdInAndFinishDateTimeIsNull(any()))
+        .thenReturn(List.of(generateStartRun(busyUser)));
+
+    var results = runService.startRuns(sources);
+
+    assertEquals(4, results.size());
+    assertTrue(results.get(0).isSuccess());
+    assertEquals(user, results.get(0).getValue().getUser());
+    assertEquals(sources.get(0).getStartDateTime(), results.get(0).getValue().getStartDateTime());
+    assertEquals("Other run in progress", results.get(1).getErrorMessage());
+    assertEquals(String.format("User by id '%s' not found", missingUser.getId()), results.get(2).getErrorMessage());
+    assertEquals("Other run in progress", results.get(3).getErrorMessage());
+
+    verify(runRepository).saveAll(List.of(results.get(0).getValue()));
+  }
+
+  @Test
+  public void When_FinishRuns_PartialSuccess() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var invalidUser = new UserEntity();
+    invalidUser.setId(random.nextLong(1L, Long.MAX_VALUE));
+
+    var activeRun = generateStartRun(user);
+    activeRun.setStartDateTime(LocalDateTime.of(2020, 5, 1, 9, 0));
+    var invalidActiveRun = generateStartRun(invalidUser);
+
+    var finishRun = generateRun(user);
+    finishRun.setFinishDateTime(activeRun.getStartDateTime().plusHours(1L));
+    finishRun.setDistance(10000);
+    var invalidFinishRun = generateRun(invalidUser);
+    invalidFinishRun.setFinishDateTime(invalidActiveRun.getStartDateTime().minusHours(1L));
+
+    when(userService.getUsersByIds(any()))
+        .thenReturn(List.of(user, invalidUser));
+    when(runRepository.findByUserIdInAndFinishDateTimeIsNull(any()))
+        .thenReturn(List.of(activeRun, invalidActiveRun));
+
+    var results = runService.finishRuns(List.of(finishRun, invalidFinishRun, finishRun));
+
+    assertEquals(3, results.size());
+    assertTrue(results.get(0).isSuccess());
+    assertEquals(activeRun, results.get(0).getValue());
+    assertEquals(finishRun.getFinishDateTime(), activeRun.getFinishDateTime());
+    assertEquals(10000, activeRun.getDistance());
+    assertEquals("Finish time should be after start time", results.get(1).getErrorMessage());
+    assertNull(invalidActiveRun.getFinishDateTime());
+    assertEquals(String.format("No active run found for user with id: '%s'", user.getId()),
+        results.get(2).getErrorMessage());
+
+    verify(userDailyRunStatRepository).upsertAll(userDailyRunStatsCaptor.capture());
+    var stats = List.copyOf(userDailyRunStatsCaptor.getValue());
+    assertEquals(1, stats.size());
+    assertEquals(user.getId(), stats.get(0).getUserId());
+    assertEquals(LocalDate.of(2020, 5, 1), stats.get(0).getDay());
+    assertEquals(1, stats.get(0).getRunCount());
+    assertEquals(10000L, stats.get(0).getDistance());
+    assertEquals(3600L, stats.get(0).getDuration());
+  }
+
   @Test
   public void When_FinishRun_Success() {
     var user = new UserEntity();
     user.setId(random.nextLong());
 
     var activeRun = generateStartRun(user);
-    var fullRun = generateRun(user);
-    user.setRuns(List.of(activeRun, fullRun));
 
     var finishRun = generateRun(user);
     finishRun.setFinishDateTime(activeRun.getStartDateTime().plusHours(1L));
 
     when(userService.getUserById(user.getId()))
         .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
     when(runRepository.save(any(RunEntity.class)))
         .thenAnswer(answer -> answer.getArgument(0));
 
@@ -159,20 +475,109 @@ public class RunServiceTest {
     assertEquals(finishRun.getFinishLatitude(), runCaptor.getFinishLatitude());
     assertEquals(finishRun.getFinishLongitude(), runCaptor.getFinishLongitude());
     assertEquals(finishRun.getDistance(), runCaptor.getDistance());
+
+    verify(userDailyRunStatRepository).upsert(
+        user.getId(),
+        activeRun.getStartDateTime().toLocalDate(),
+        1,
+        finishRun.getDistance() > 0 ? finishRun.getDistance() : 0,
+        finishRun.getDistance() > 0 ? 3600 : 0);
   }
 
   @Test
-  public void When_FinishRun_NoActiveRunException() {
+  public void When_FinishRun_WithTrack_Success() {
     var user = new UserEntity();
     user.setId(random.nextLong());
 
-    var finishedRun = generateRun(user);
-    user.setRuns(List.of(finishedRun));
+    var activeRun = generateStartRun(user);
+    activeRun.setId(random.nextLong(1L, Long.MAX_VALUE));
+    activeRun.setStartLatitude(55.75);
+    activeRun.setStartLongitude(37.61);
+
+    var finishRun = generateRun(user);
+    finishRun.setFinishDateTime(activeRun.getStartDateTime().plusHours(1L));
+    finishRun.setFinishLatitude(55.75);
+    finishRun.setFinishLongitude(37.64);
+    var track = List.of(
+        new RunPoint(activeRun.getId(), user.getId(), activeRun.getStartDateTime().plusMinutes(10), 55.76, 37.61),
+        new RunPoint(activeRun.getId(), user.getId(), activeRun.getStartDateTime().plusMinutes(30), 55.76, 37.64));
+
+    when(userService.getUserById(user.getId()))
+        .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
+    when(runPointService.compactTracks(List.of(activeRun)))
+        .thenReturn(Map.of(activeRun.getId(), track));
+    when(runRepository.save(any(RunEntity.class)))
+        .thenAnswer(answer -> answer.getArgument(0));
+
+    var result = runService.finishRun(finishRun);
+
+    var expectedDistance = DistanceCalculator.haversine(55.75, 37.61, 55.76, 37.61)
+        + DistanceCalculator.haversine(55.76, 37.61, 55.76, 37.64)
+        + DistanceCalculator.haversine(55.76, 37.64, 55.75, 37.64);
+    assertEquals((int) expectedDistance, result.getDistance());
+    assertEquals(GeoHash.encode(55.75, 37.64), result.getFinishGeohash());
+  }
+
+  @Test
+  public void When_AppendPoints_Success() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var activeRun = generateStartRun(user);
+    activeRun.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var points = List.of(
+        new RunPoint(null, null, activeRun.getStartDateTime().plusSeconds(1), 55.75, 37.61),
+        new RunPoint(null, null, activeRun.getStartDateTime().plusSeconds(2), 55.76, 37.62));
+
+    when(userService.getUserById(user.getId()))
+        .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
+
+    var accepted = runService.appendPoints(user.getId(), points);
+
+    assertEquals(2, accepted);
+    verify(runPointService).append(eq(activeRun.getId()), runPointsCaptor.capture());
+    var appended = runPointsCaptor.getValue();
+    assertEquals(2, appended.size());
+    assertEquals(activeRun.getId(), appended.get(0).getRunId());
+    assertEquals(user.getId(), appended.get(0).getUserId());
+    assertEquals(points.get(1).getPointTime(), appended.get(1).getPointTime());
+  }
+
+  @Test
+  public void When_AppendPoints_BeforeStartException() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var activeRun = generateStartRun(user);
+    activeRun.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var points = List.of(new RunPoint(null, null, activeRun.getStartDateTime().minusSeconds(1), 55.75, 37.61));
+
+    when(userService.getUserById(user.getId()))
+        .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
+
+    var exception = assertThrows(
+        RunBusinessLogicException.class,
+        () -> runService.appendPoints(user.getId(), points)
+    );
+    assertEquals("Point time should be after start time", exception.getMessage());
+    verify(runPointService, never()).append(any(), anyList());
+  }
+
+  @Test
+  public void When_FinishRun_NoActiveRunException() {
+    var user = new UserEntity();
+    user.setId(random.nextLong());
 
     var sourceRun = generateRun(user);
 
     when(userService.getUserById(user.getId()))
         .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.empty());
 
     var exception = assertThrows(
         RunBusinessLogicException.class,
@@ -192,6 +597,8 @@ public class RunServiceTest {
 
     when(userService.getUserById(user.getId()))
         .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.empty());
     when(runRepository.save(any(RunEntity.class)))
         .thenAnswer(answer -> answer.getArgument(0));
 
@@ -200,9 +607,11 @@ public class RunServiceTest {
     assertEquals(newRun.getStartDateTime(), result.getStartDateTime());
     assertEquals(newRun.getStartLatitude(), result.getStartLatitude());
     assertEquals(newRun.getStartLongitude(), result.getStartLongitude());
+    assertEquals(GeoHash.encode(newRun.getStartLatitude(), newRun.getStartLongitude()), result.getStartGeohash());
     assertNull(result.getFinishDateTime());
     assertNull(result.getFinishLatitude());
     assertNull(result.getFinishLongitude());
+    assertNull(result.getFinishGeohash());
     assertNull(result.getDistance());
 
     verify(runRepository).save(runEntityCaptor.capture());
@@ -216,18 +625,97 @@ public class RunServiceTest {
     assertNull(result.getDistance());
   }
 
+  @Test
+  public void When_ValidateFinishRun_FinishBeforeStartException() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var activeRun = generateStartRun(user);
+    var source = generateRun(user);
+    source.setStartDateTime(null);
+    source.setFinishDateTime(activeRun.getStartDateTime().minusMinutes(1L));
+
+    when(userService.getUserById(user.getId()))
+        .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
+
+    var exception = assertThrows(
+        RunBusinessLogicException.class,
+        () -> runService.validateFinishRun(source)
+    );
+    assertEquals("Finish time should be after start time", exception.getMessage());
+    assertNull(activeRun.getFinishDateTime());
+    verify(runRepository, never()).save(any(RunEntity.class));
+  }
+
+  @Test
+  public void When_ValidateFinishRun_Success() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+    var activeRun = generateStartRun(user);
+    var source = generateRun(user);
+    source.setStartDateTime(null);
+    source.setFinishDateTime(activeRun.getStartDateTime().plusHours(1L));
+
+    when(userService.getUserById(user.getId()))
+        .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
+
+    assertEquals(user, runService.validateFinishRun(source));
+    assertNull(activeRun.getFinishDateTime());
+  }
+
+  @Test
+  public void When_StartRun_UserLockedBeforeActiveRunCheck() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+
+    when(userService.getUserById(user.getId()))
+        .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.empty());
+    when(runRepository.save(any(RunEntity.class)))
+        .thenAnswer(answer -> answer.getArgument(0));
+
+    runService.startRun(generateStartRun(user));
+
+    var order = inOrder(userService, runRepository);
+    order.verify(userService).lockUsers(List.of(user.getId()));
+    order.verify(runRepository).findByUserIdAndFinishDateTimeIsNull(user.getId());
+    order.verify(runRepository).save(any(RunEntity.class));
+  }
+
+  @Test
+  public void When_StartRuns_UsersLockedBeforeActiveRunCheck() {
+    var user = new UserEntity();
+    user.setId(random.nextLong(1L, Long.MAX_VALUE));
+
+    when(userService.getUsersByIds(any()))
+        .thenReturn(List.of(user));
+    when(runRepository.findByUserIdInAndFinishDateTimeIsNull(any()))
+        .thenReturn(List.of());
+
+    runService.startRuns(List.of(generateStartRun(user)));
+
+    var order = inOrder(userService, runRepository);
+    order.verify(userService).lockUsers(Set.of(user.getId()));
+    order.verify(runRepository).findByUserIdInAndFinishDateTimeIsNull(any());
+  }
+
   @Test
   public void When_StartRun_OtherRunActiveException() {
     var user = new UserEntity();
     user.setId(random.nextLong());
 
     var activeRun = generateStartRun(user);
-    user.setRuns(List.of(activeRun));
 
     var newRun = generateRun(user);
 
     when(userService.getUserById(user.getId()))
         .thenReturn(user);
+    when(runRepository.findByUserIdAndFinishDateTimeIsNull(user.getId()))
+        .thenReturn(Optional.of(activeRun));
 
     var exception = assertThrows(
         RunBusinessLogicException.class,
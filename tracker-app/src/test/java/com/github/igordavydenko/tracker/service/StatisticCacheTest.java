@@ -0,0 +1,60 @@
+package com.github.igordavydenko.tracker.service;
+
+import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class StatisticCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final StatisticCache statisticCache = new StatisticCache(meterRegistry, 100, Duration.ofMinutes(1));
+
+  @Test
+  public void When_GetStatistic_Cached_Success() {
+    var loads = new AtomicInteger();
+
+    statisticCache.getStatistic(1L, null, null, () -> load(loads));
+    var result = statisticCache.getStatistic(1L, null, null, () -> load(loads));
+
+    assertEquals(1, loads.get());
+    assertEquals(1, result.getTotalRuns());
+    assertEquals(1.0, cacheGets("hit"));
+    assertEquals(1.0, cacheGets("miss"));
+  }
+
+  @Test
+  public void When_RunsChanged_InvalidatesOnlyChangedUser() {
+    var firstLoads = new AtomicInteger();
+    var secondLoads = new AtomicInteger();
+
+    statisticCache.getStatistic(1L, null, null, () -> load(firstLoads));
+    statisticCache.getStatistic(2L, null, null, () -> load(secondLoads));
+    statisticCache.onRunsChanged(new RunsChangedEvent(Set.of(1L)));
+    var result = statisticCache.getStatistic(1L, null, null, () -> load(firstLoads));
+    statisticCache.getStatistic(2L, null, null, () -> load(secondLoads));
+
+    assertEquals(2, firstLoads.get());
+    assertEquals(2, result.getTotalRuns());
+    assertEquals(1, secondLoads.get());
+  }
+
+  private static StatisticDto load(AtomicInteger loads) {
+    return StatisticDto.builder()
+        .totalRuns(loads.incrementAndGet())
+        .build();
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", StatisticCache.CACHE_NAME)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
@@ -1,18 +1,37 @@
 package com.github.igordavydenko.tracker.service;
 
+import com.github.igordavydenko.tracker.codec.TrackPoint;
 import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.persistence.projection.RunSeriesBucket;
+import com.github.igordavydenko.tracker.persistence.projection.RunTotals;
+import com.github.igordavydenko.tracker.persistence.repository.RunSeriesRepository;
+import com.github.igordavydenko.tracker.rest.converter.RunEntityToStatisticConverter;
+import com.github.igordavydenko.tracker.rest.converter.TrackPointToResponseConverter;
+import com.github.igordavydenko.tracker.rest.dto.RunCursor;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
+import java.util.function.Consumer;
 
 import static com.github.igordavydenko.tracker.service.RunServiceTest.generateRun;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -23,9 +42,47 @@ public class StatisticServiceTest {
   @Mock
   private RunService runService;
 
+  @Spy
+  private RunEntityToStatisticConverter runStatisticConverter = new RunEntityToStatisticConverter();
+
+  @Spy
+  private StatisticCache statisticCache = new StatisticCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
+  @Mock
+  private RunPointService runPointService;
+
+  @Spy
+  private TrackPointToResponseConverter trackPointConverter = new TrackPointToResponseConverter();
+
+  @Mock
+  private RunSeriesRepository runSeriesRepository;
+
   @InjectMocks
   private StatisticService statisticService;
 
+  @Test
+  public void When_GetRunTrack_Success() {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var runId = random.nextLong(1L, Long.MAX_VALUE);
+    var userEntity = new UserEntity();
+    userEntity.setId(userId);
+    var time = LocalDateTime.of(2024, 5, 1, 6, 0);
+    var points = List.of(new TrackPoint(time, 55.75, 37.61), new TrackPoint(time.plusSeconds(1), 55.76, 37.62));
+
+    when(runService.getUser(userId))
+        .thenReturn(userEntity);
+    when(runPointService.getTrack(userId, runId, null, 10.0))
+        .thenReturn(points);
+
+    var result = statisticService.getRunTrack(userId, runId, null, 10.0);
+
+    assertEquals(runId, result.getRunId());
+    assertEquals(2, result.getPoints().size());
+    assertEquals(time.plusSeconds(1), result.getPoints().get(1).getTimestamp());
+    assertEquals(55.76, result.getPoints().get(1).getLatitude());
+    assertEquals(37.62, result.getPoints().get(1).getLongitude());
+  }
+
   @Test
   public void When_GetUserRuns_Success() {
     var userId = random.nextLong();
@@ -36,37 +93,126 @@ public class StatisticServiceTest {
 
     when(runService.getUser(userId))
         .thenReturn(userEntity);
-    when(runService.findByUserAndPeriod(userEntity, null, null))
+    when(runService.findPageByUserAndPeriod(userEntity, null, null, null, 3))
         .thenReturn(foundedRuns);
 
-    var result = statisticService.getUserRuns(userId, null, null);
+    var result = statisticService.getUserRuns(userId, null, null, null, 2);
 
-    assertEquals(foundedRuns.size(), result.size());
+    assertEquals(foundedRuns.size(), result.getItems().size());
+    assertEquals(2, result.getLimit());
+    assertNull(result.getNextCursor());
   }
 
   @Test
-  public void When_GetUserStatistic_Success() {
+  public void When_ExportUserRuns_Success() {
     var userId = random.nextLong();
     var userEntity = new UserEntity();
     userEntity.setId(userId);
 
-    RunEntity activeRun = generateRun(userEntity);
-    activeRun.setDistance(1000);
-    RunEntity emptyDistanceRun = generateRun(userEntity);
-    emptyDistanceRun.setDistance(0);
+    List<RunEntity> foundedRuns = List.of(generateRun(userEntity), generateRun(userEntity));
 
-    List<RunEntity> foundedRuns = List.of(activeRun, emptyDistanceRun);
+    when(runService.getUser(userId))
+        .thenReturn(userEntity);
+    doAnswer(invocation -> {
+      Consumer<RunEntity> consumer = invocation.getArgument(3);
+      foundedRuns.forEach(consumer);
+      return null;
+    }).when(runService).forEachByUserAndPeriod(eq(userEntity), eq(null), eq(null), any());
+
+    List<RunDto.RunStatistic> exportedRuns = new ArrayList<>();
+    statisticService.exportUserRuns(userId, null, null, exportedRuns::add);
+
+    assertEquals(foundedRuns.size(), exportedRuns.size());
+    assertEquals(foundedRuns.get(0).getDistance(), exportedRuns.get(0).getDistance());
+    assertEquals(foundedRuns.get(1).getStartDateTime(), exportedRuns.get(1).getStartDateTime());
+  }
+
+  @Test
+  public void When_GetUserRuns_HasNextPage() {
+    var userId = random.nextLong();
+    var userEntity = new UserEntity();
+    userEntity.setId(userId);
+
+    List<RunEntity> foundedRuns = List.of(generateRun(userEntity), generateRun(userEntity), generateRun(userEntity));
+    foundedRuns.get(1).setId(random.nextLong(1, Long.MAX_VALUE));
+    var cursor = new RunCursor(LocalDateTime.of(2020, 1, 1, 10, 0), 42L);
 
     when(runService.getUser(userId))
         .thenReturn(userEntity);
-    when(runService.findByUserAndPeriod(userEntity, null, null))
+    when(runService.findPageByUserAndPeriod(
+        eq(userEntity), eq(null), eq(null), any(RunCursor.class), eq(3)))
         .thenReturn(foundedRuns);
 
+    var result = statisticService.getUserRuns(userId, null, null, cursor.encode(), 2);
+
+    assertEquals(2, result.getItems().size());
+    var nextCursor = RunCursor.decode(result.getNextCursor());
+    assertEquals(foundedRuns.get(1).getStartDateTime(), nextCursor.getStartDateTime());
+    assertEquals(foundedRuns.get(1).getId(), nextCursor.getId());
+  }
+
+  @Test
+  public void When_GetUserStatistic_Success() {
+    var userId = random.nextLong();
+    var userEntity = new UserEntity();
+    userEntity.setId(userId);
+
+    var runTotals = RunTotals.of(2, 1000, 3600);
+
+    when(runService.getUser(userId))
+        .thenReturn(userEntity);
+    when(runService.getRunTotalsByUserAndPeriod(userEntity, null, null))
+        .thenReturn(runTotals);
+
     var result = statisticService.getUserStatistic(userId, null, null);
 
-    assertEquals(foundedRuns.size(), result.getTotalRuns());
-    assertEquals(activeRun.getDistance(), result.getTotalDistance());
+    assertEquals(runTotals.getTotalRuns(), result.getTotalRuns());
+    assertEquals(runTotals.getTotalDistance(), result.getTotalDistance());
     assertEquals(1.0, result.getAverageSpeed());
   }
 
+  @Test
+  public void When_GetUserStatistic_NoFinishedRuns() {
+    var userId = random.nextLong();
+    var userEntity = new UserEntity();
+    userEntity.setId(userId);
+
+    when(runService.getUser(userId))
+        .thenReturn(userEntity);
+    when(runService.getRunTotalsByUserAndPeriod(userEntity, null, null))
+        .thenReturn(RunTotals.of(1, 0, 0));
+
+    var result = statisticService.getUserStatistic(userId, null, null);
+
+    assertEquals(1, result.getTotalRuns());
+    assertEquals(0, result.getTotalDistance());
+    assertEquals(0.0, result.getAverageSpeed());
+  }
+
+  @Test
+  public void When_GetUserSeries_BucketsConverted() {
+    var userId = random.nextLong(1L, Long.MAX_VALUE);
+    var userEntity = new UserEntity();
+    userEntity.setId(userId);
+    var fromDate = LocalDate.of(2024, 1, 1);
+
+    when(runService.getUser(userId))
+        .thenReturn(userEntity);
+    when(runSeriesRepository.findSeries("week", userId, fromDate, null))
+        .thenReturn(List.of(
+            new RunSeriesBucket(LocalDate.of(2024, 1, 1), RunTotals.of(3, 15000, 5400)),
+            new RunSeriesBucket(LocalDate.of(2024, 1, 15), RunTotals.of(1, 0, 0))));
+
+    var result = statisticService.getUserSeries(userId, StatisticBucket.WEEK, fromDate, null);
+
+    assertEquals("week", result.getBucket());
+    assertEquals(2, result.getItems().size());
+    assertEquals(LocalDate.of(2024, 1, 1), result.getItems().get(0).getStart());
+    assertEquals(3, result.getItems().get(0).getTotalRuns());
+    assertEquals(15000, result.getItems().get(0).getTotalDistance());
+    assertEquals(10.0, result.getItems().get(0).getAverageSpeed());
+    assertEquals(1, result.getItems().get(1).getTotalRuns());
+    assertEquals(0.0, result.getItems().get(1).getAverageSpeed());
+  }
+
 }
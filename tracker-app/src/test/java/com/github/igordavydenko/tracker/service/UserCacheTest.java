@@ -0,0 +1,40 @@
+package com.github.igordavydenko.tracker.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.github.igordavydenko.tracker.service.UserServiceTest.generateUserEntity;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+public class UserCacheTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final UserCache userCache = new UserCache(meterRegistry, 100, Duration.ofMinutes(1));
+
+  @Test
+  public void When_Get_ReportsHitsAndMisses() {
+    var user = generateUserEntity();
+
+    var firstUser = userCache.get(user.getId(), id -> user);
+    var secondUser = userCache.get(user.getId(), id -> user);
+    userCache.evict(user.getId());
+    userCache.get(user.getId(), id -> user);
+
+    assertNotSame(user, firstUser);
+    assertNotSame(firstUser, secondUser);
+    assertEquals(user.getFirstName(), secondUser.getFirstName());
+    assertEquals(1.0, cacheGets("hit"));
+    assertEquals(2.0, cacheGets("miss"));
+  }
+
+  private double cacheGets(String result) {
+    return meterRegistry.get("cache.gets")
+        .tag("cache", UserCache.CACHE_NAME)
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
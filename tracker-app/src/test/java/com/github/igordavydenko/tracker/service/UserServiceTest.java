@@ -3,6 +3,8 @@ package com.github.igordavydenko.tracker.service;
 import com.github.igordavydenko.tracker.exception.UserNotFoundException;
 import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
 import com.github.igordavydenko.tracker.persistence.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,19 +12,27 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -35,6 +45,15 @@ public class UserServiceTest {
   @Mock
   private UserRepository userRepository;
 
+  @Mock
+  private EntityManager entityManager;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Spy
+  private UserCache userCache = new UserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+
   @InjectMocks
   private UserService userService;
 
@@ -42,16 +61,16 @@ public class UserServiceTest {
   private ArgumentCaptor<UserEntity> userEntityCaptor;
 
   @Test
-  public void When_GetAllUsers_Success() {
+  public void When_FindPage_Success() {
     List<UserEntity> repositoryResponse = List.of(
         generateUserEntity(),
         generateUserEntity(),
         generateUserEntity()
     );
 
-    when(userRepository.findAll()).thenReturn(repositoryResponse);
+    when(userRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(3))).thenReturn(repositoryResponse);
 
-    var result = userService.getAllUsers();
+    var result = userService.findPage(null, 3);
 
     assertEquals(repositoryResponse.size(), result.size());
     result.forEach(resultUser -> {
@@ -63,6 +82,21 @@ public class UserServiceTest {
     });
   }
 
+  @Test
+  public void When_ForEachUser_Success() {
+    var firstUser = generateUserEntity();
+    var secondUser = generateUserEntity();
+
+    when(userRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(firstUser, secondUser));
+
+    List<UserEntity> consumedUsers = new ArrayList<>();
+    userService.forEachUser(consumedUsers::add);
+
+    assertEquals(List.of(firstUser, secondUser), consumedUsers);
+    verify(entityManager).detach(firstUser);
+    verify(entityManager).detach(secondUser);
+  }
+
   @Test
   public void When_GetUserById_Success() {
     var id = random.nextLong();
@@ -77,6 +111,43 @@ public class UserServiceTest {
     assertUser(foundedUser, resultUser);
   }
 
+  @Test
+  public void When_GetUserById_Cached_Success() {
+    var id = random.nextLong();
+    var foundedUser = generateUserEntity();
+    foundedUser.setId(id);
+
+    when(userRepository.findById(id))
+        .thenReturn(Optional.of(foundedUser));
+
+    var firstUser = userService.getUserById(id);
+    var secondUser = userService.getUserById(id);
+
+    assertUser(foundedUser, firstUser);
+    assertUser(foundedUser, secondUser);
+    verify(userRepository, times(1)).findById(id);
+  }
+
+  @Test
+  public void When_Update_EvictsCache_Success() {
+    var id = random.nextLong();
+    var existUser = generateUserEntity();
+    existUser.setId(id);
+    var updateUser = generateUserEntity();
+
+    when(userRepository.findById(id))
+        .thenReturn(Optional.of(existUser));
+    when(userRepository.save(any(UserEntity.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    userService.getUserById(id);
+    userService.update(id, updateUser);
+    var resultUser = userService.getUserById(id);
+
+    assertUser(updateUser, resultUser);
+    verify(userRepository, times(3)).findById(id);
+  }
+
   @Test
   public void When_GetUserById_Exception() {
     var id = random.nextLong();
@@ -172,6 +243,7 @@ public class UserServiceTest {
     var captureUser = userEntityCaptor.getValue();
     assertEquals(id, captureUser.getId());
     assertEquals(deletedUser, captureUser);
+    verify(eventPublisher).publishEvent(new RunsChangedEvent(Set.of(id)));
   }
 
   @Test
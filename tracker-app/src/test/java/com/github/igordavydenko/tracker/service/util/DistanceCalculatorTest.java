@@ -0,0 +1,55 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DistanceCalculatorTest {
+
+  @Test
+  public void When_Haversine_KnownDistance() {
+    assertEquals(111_195, DistanceCalculator.haversine(0, 0, 1, 0), 1);
+    assertEquals(0, DistanceCalculator.haversine(55.75, 37.61, 55.75, 37.61));
+  }
+
+  @Test
+  public void When_HaversineBatch_MatchesScalar() {
+    assertTrue(DistanceCalculator.VECTORIZED);
+    var random = new SplittableRandom(42);
+    var length = 1003;
+    var startLatitudes = new double[length];
+    var startLongitudes = new double[length];
+    var finishLatitudes = new double[length];
+    var finishLongitudes = new double[length];
+    for (int i = 0; i < length; i++) {
+      startLatitudes[i] = random.nextDouble(-90, 90);
+      startLongitudes[i] = random.nextDouble(-180, 180);
+      finishLatitudes[i] = i % 2 == 0 ? random.nextDouble(-90, 90) : startLatitudes[i] + random.nextDouble(-0.1, 0.1);
+      finishLongitudes[i] = i % 2 == 0 ? random.nextDouble(-180, 180) : startLongitudes[i] + random.nextDouble(-0.1, 0.1);
+    }
+    var distances = new double[length];
+
+    DistanceCalculator.haversine(startLatitudes, startLongitudes, finishLatitudes, finishLongitudes, distances, length);
+
+    for (int i = 0; i < length; i++) {
+      var expected = DistanceCalculator.haversine(
+          startLatitudes[i], startLongitudes[i], finishLatitudes[i], finishLongitudes[i]);
+      assertEquals(expected, distances[i], 1e-6, "Run " + i);
+    }
+  }
+
+  @Test
+  public void When_HaversineBatch_PartialLength() {
+    var coordinates = new double[] {55.75, 55.76, 55.77};
+    var distances = new double[] {-1, -1, -1};
+
+    DistanceCalculator.haversine(coordinates, coordinates, coordinates, coordinates, distances, 2);
+
+    assertEquals(0, distances[0]);
+    assertEquals(0, distances[1]);
+    assertEquals(-1, distances[2]);
+  }
+}
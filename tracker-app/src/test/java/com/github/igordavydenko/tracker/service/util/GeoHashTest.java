@@ -0,0 +1,86 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeoHashTest {
+
+  private static final int MAX_CELLS = 32;
+
+  @Test
+  public void When_Encode_KnownValues() {
+    assertEquals("u4pruydqqvj", GeoHash.encode(57.64911, 10.40744, 11));
+    assertEquals("ezs42", GeoHash.encode(42.6, -5.6, 5));
+    assertEquals(GeoHash.PRECISION, GeoHash.encode(-90, -180).length());
+  }
+
+  @Test
+  public void When_CoverBox_AllPointsInsideCovered() {
+    var random = new SplittableRandom(42);
+    for (int i = 0; i < 200; i++) {
+      var minLatitude = random.nextDouble(-89, 89);
+      var maxLatitude = Math.min(90, minLatitude + random.nextDouble(0.0001, 2));
+      var minLongitude = random.nextDouble(-180, 179);
+      var maxLongitude = Math.min(180, minLongitude + random.nextDouble(0.0001, 2));
+      var cells = GeoHash.coverBox(minLatitude, minLongitude, maxLatitude, maxLongitude, MAX_CELLS);
+
+      assertTrue(cells.size() <= MAX_CELLS);
+      for (int j = 0; j < 50; j++) {
+        var hash = GeoHash.encode(
+            random.nextDouble(minLatitude, maxLatitude), random.nextDouble(minLongitude, maxLongitude));
+        assertTrue(cells.stream().anyMatch(hash::startsWith), hash + " not covered by " + cells);
+      }
+    }
+  }
+
+  @Test
+  public void When_CoverBoxAcrossAntimeridian_BothSidesCovered() {
+    var cells = GeoHash.coverBox(-10, 179, 10, -179, MAX_CELLS);
+
+    assertTrue(cells.size() <= MAX_CELLS);
+    assertTrue(cells.stream().anyMatch(GeoHash.encode(0, 179.5)::startsWith));
+    assertTrue(cells.stream().anyMatch(GeoHash.encode(0, -179.5)::startsWith));
+    assertTrue(cells.stream().noneMatch(GeoHash.encode(0, 0)::startsWith));
+  }
+
+  @Test
+  public void When_CoverRadius_AllPointsWithinRadiusCovered() {
+    var random = new SplittableRandom(7);
+    for (int i = 0; i < 200; i++) {
+      var latitude = random.nextDouble(-80, 80);
+      var longitude = random.nextDouble(-180, 180);
+      var radius = random.nextDouble(10, 50_000);
+      var cells = GeoHash.coverRadius(latitude, longitude, radius, MAX_CELLS);
+
+      assertTrue(cells.size() <= MAX_CELLS);
+      for (int j = 0; j < 50; j++) {
+        var pointLatitude = latitude + random.nextDouble(-1, 1) * radius / 111_000;
+        var pointLongitude = normalizeLongitude(
+            longitude + random.nextDouble(-1, 1) * radius / 111_000 / Math.cos(Math.toRadians(latitude)));
+        if (DistanceCalculator.haversine(latitude, longitude, pointLatitude, pointLongitude) > radius) {
+          continue;
+        }
+        var hash = GeoHash.encode(pointLatitude, pointLongitude);
+        assertTrue(cells.stream().anyMatch(hash::startsWith), hash + " not covered by " + cells);
+      }
+    }
+  }
+
+  @Test
+  public void When_CoverWholeWorld_EmptyPrefix() {
+    assertEquals(1, GeoHash.coverBox(-90, -180, 90, 180, 1).size());
+    var polarCells = GeoHash.coverRadius(89.9, 0, 100_000, MAX_CELLS);
+    assertTrue(polarCells.stream().anyMatch(GeoHash.encode(89.95, 120)::startsWith));
+  }
+
+  private static double normalizeLongitude(final double longitude) {
+    if (longitude > 180) {
+      return longitude - 360;
+    }
+    return longitude < -180 ? longitude + 360 : longitude;
+  }
+}
@@ -0,0 +1,161 @@
+package com.github.igordavydenko.tracker.service.util;
+
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TrackSimplifierTest {
+
+  private static final LocalDateTime START = LocalDateTime.of(2024, 5, 1, 6, 0);
+
+  @Test
+  public void When_StraightLine_OnlyEndpointsKept() {
+    List<TrackPoint> points = new ArrayList<>();
+    for (int i = 0; i <= 10; i++) {
+      points.add(new TrackPoint(START.plusSeconds(i), 55.75, 37.61 + i * 0.0001));
+    }
+
+    var levels = TrackSimplifier.levels(points);
+    var simplified = TrackSimplifier.simplify(points, levels, 1);
+
+    assertEquals(List.of(points.get(0), points.get(10)), simplified);
+  }
+
+  @Test
+  public void When_ToleranceBelowFinestLevel_FullTrack() {
+    var points = randomTrack(new SplittableRandom(1), 100);
+
+    assertSame(points, TrackSimplifier.simplify(points, TrackSimplifier.levels(points), 0.5));
+  }
+
+  @Test
+  public void When_LoopTrack_FarthestPointKept() {
+    var points = List.of(
+        new TrackPoint(START, 55.75, 37.61),
+        new TrackPoint(START.plusSeconds(1), 55.755, 37.61),
+        new TrackPoint(START.plusSeconds(2), 55.75, 37.61));
+
+    var levels = TrackSimplifier.levels(points);
+
+    assertArrayEquals(new byte[] {5, 5, 5}, levels);
+  }
+
+  @Test
+  public void When_Empty_Empty() {
+    assertEquals(0, TrackSimplifier.levels(List.of()).length);
+    assertArrayEquals(new byte[] {5}, TrackSimplifier.levels(List.of(new TrackPoint(START, 55.75, 37.61))));
+  }
+
+  @Test
+  public void When_RandomTracks_MatchRecursiveDouglasPeucker() {
+    var random = new SplittableRandom(42);
+    for (int i = 0; i < 50; i++) {
+      var points = randomTrack(random, random.nextInt(2, 500));
+      var levels = TrackSimplifier.levels(points);
+
+      List<TrackPoint> previous = points;
+      for (double tolerance : TrackSimplifier.TOLERANCES) {
+        var simplified = TrackSimplifier.simplify(points, levels, tolerance);
+        assertEquals(douglasPeucker(points, tolerance), simplified);
+        assertTrue(previous.containsAll(simplified));
+        previous = simplified;
+      }
+    }
+  }
+
+  @Test
+  public void When_LongRun_ReducedByOrderOfMagnitude() {
+    var points = randomTrack(new SplittableRandom(7), 20_000);
+
+    var levels = TrackSimplifier.levels(points);
+    var simplified = TrackSimplifier.simplify(points, levels, TrackSimplifier.zoomTolerance(14, 55.75));
+
+    assertTrue(simplified.size() < points.size() / 10, "Simplified size " + simplified.size());
+  }
+
+  @Test
+  public void When_ZoomTolerance_Success() {
+    assertEquals(156543.03392, TrackSimplifier.zoomTolerance(0, 0), 1e-6);
+    assertEquals(156543.03392 / 2 / 1024, TrackSimplifier.zoomTolerance(10, 60), 1e-6);
+  }
+
+  private static List<TrackPoint> randomTrack(final SplittableRandom random, final int size) {
+    List<TrackPoint> points = new ArrayList<>(size);
+    var latitude = 55.75;
+    var longitude = 37.61;
+    var heading = 0.0;
+    for (int i = 0; i < size; i++) {
+      heading += random.nextDouble(-0.3, 0.3);
+      latitude += Math.cos(heading) * 0.00002 + random.nextDouble(-0.000005, 0.000005);
+      longitude += Math.sin(heading) * 0.00003 + random.nextDouble(-0.000008, 0.000008);
+      points.add(new TrackPoint(START.plusSeconds(i), latitude, longitude));
+    }
+    return points;
+  }
+
+  private static List<TrackPoint> douglasPeucker(final List<TrackPoint> points, final double tolerance) {
+    var kept = new TreeSet<Integer>();
+    kept.add(0);
+    kept.add(points.size() - 1);
+    douglasPeucker(points, 0, points.size() - 1, tolerance, kept);
+    return kept.stream().map(points::get).toList();
+  }
+
+  private static void douglasPeucker(
+      final List<TrackPoint> points,
+      final int first,
+      final int last,
+      final double tolerance,
+      final TreeSet<Integer> kept
+  ) {
+    var scale = Math.cos(Math.toRadians(points.get(0).getLatitude()));
+    var farthest = -1;
+    var maxDistance = -1.0;
+    for (int i = first + 1; i < last; i++) {
+      var distance = distance(points, i, first, last, scale);
+      if (distance > maxDistance) {
+        maxDistance = distance;
+        farthest = i;
+      }
+    }
+    if (farthest >= 0 && maxDistance > tolerance) {
+      kept.add(farthest);
+      douglasPeucker(points, first, farthest, tolerance, kept);
+      douglasPeucker(points, farthest, last, tolerance, kept);
+    }
+  }
+
+  private static double distance(
+      final List<TrackPoint> points,
+      final int point,
+      final int first,
+      final int last,
+      final double scale
+  ) {
+    double[] x = new double[3];
+    double[] y = new double[3];
+    int[] indexes = {point, first, last};
+    for (int i = 0; i < 3; i++) {
+      x[i] = Math.toRadians(points.get(indexes[i]).getLongitude()) * 6371000 * scale;
+      y[i] = Math.toRadians(points.get(indexes[i]).getLatitude()) * 6371000;
+    }
+    var dx = x[2] - x[1];
+    var dy = y[2] - y[1];
+    var lengthSquared = dx * dx + dy * dy;
+    var t = lengthSquared == 0 ? 0 : ((x[0] - x[1]) * dx + (y[0] - y[1]) * dy) / lengthSquared;
+    t = Math.max(0, Math.min(1, t));
+    var offsetX = x[0] - x[1] - t * dx;
+    var offsetY = y[0] - y[1] - t * dy;
+    return Math.sqrt(offsetX * offsetX + offsetY * offsetY);
+  }
+}
@@ -0,0 +1,99 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.rest.dto.UserDto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+
+final class BenchmarkData {
+
+  static final int SIZE = 1024;
+  static final int MASK = SIZE - 1;
+
+  private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 6, 0);
+
+  private BenchmarkData() {
+  }
+
+  static RunEntity[] runs(final long seed) {
+    var random = new SplittableRandom(seed);
+    var runs = new RunEntity[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      var user = new UserEntity();
+      user.setId(random.nextLong(1, 10_000));
+
+      var startDateTime = START.plusMinutes(random.nextInt(0, 525_600));
+      var run = new RunEntity();
+      run.setId((long) i + 1);
+      run.setUser(user);
+      run.setStartDateTime(startDateTime);
+      run.setFinishDateTime(startDateTime.plusSeconds(random.nextInt(600, 10_800)));
+      run.setStartLatitude(random.nextDouble(-90, 90));
+      run.setStartLongitude(random.nextDouble(-180, 180));
+      run.setFinishLatitude(Math.max(-90, Math.min(90, run.getStartLatitude() + random.nextDouble(-0.1, 0.1))));
+      run.setFinishLongitude(Math.max(-180, Math.min(180, run.getStartLongitude() + random.nextDouble(-0.1, 0.1))));
+      run.setDistance(random.nextInt(500, 42_195));
+      runs[i] = run;
+    }
+    return runs;
+  }
+
+  static RunDto.RunStart[] runStarts(final RunEntity[] runs) {
+    var starts = new RunDto.RunStart[runs.length];
+    for (int i = 0; i < runs.length; i++) {
+      var start = new RunDto.RunStart();
+      start.setUserId(runs[i].getUser().getId());
+      start.setStartDateTime(runs[i].getStartDateTime());
+      start.setStartLatitude(runs[i].getStartLatitude());
+      start.setStartLongitude(runs[i].getStartLongitude());
+      starts[i] = start;
+    }
+    return starts;
+  }
+
+  static RunDto.RunFinish[] runFinishes(final RunEntity[] runs) {
+    var finishes = new RunDto.RunFinish[runs.length];
+    for (int i = 0; i < runs.length; i++) {
+      var finish = new RunDto.RunFinish();
+      finish.setUserId(runs[i].getUser().getId());
+      finish.setFinishDateTime(runs[i].getFinishDateTime());
+      finish.setFinishLatitude(runs[i].getFinishLatitude());
+      finish.setFinishLongitude(runs[i].getFinishLongitude());
+      finish.setDistance(runs[i].getDistance());
+      finishes[i] = finish;
+    }
+    return finishes;
+  }
+
+  static UserEntity[] users(final long seed) {
+    var random = new SplittableRandom(seed);
+    var users = new UserEntity[SIZE];
+    for (int i = 0; i < SIZE; i++) {
+      users[i] = UserEntity.builder()
+          .id((long) i + 1)
+          .firstName("First" + random.nextInt(1000))
+          .lastName("Last" + random.nextInt(1000))
+          .birthDate(LocalDate.of(1970, 1, 1).plusDays(random.nextInt(0, 15_000)))
+          .sex(random.nextBoolean())
+          .build();
+    }
+    return users;
+  }
+
+  static UserDto.UserRequest[] userRequests(final UserEntity[] users) {
+    var requests = new UserDto.UserRequest[users.length];
+    for (int i = 0; i < users.length; i++) {
+      var request = new UserDto.UserRequest();
+      request.setFirstName(users[i].getFirstName());
+      request.setLastName(users[i].getLastName());
+      request.setBirthDate(users[i].getBirthDate());
+      request.setSex(users[i].getSex());
+      requests[i] = request;
+    }
+    return requests;
+  }
+}
@@ -0,0 +1,86 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.rest.converter.RunEntityToResponseConverter;
+import com.github.igordavydenko.tracker.rest.converter.RunEntityToStatisticConverter;
+import com.github.igordavydenko.tracker.rest.converter.RunFinishToEntityConverter;
+import com.github.igordavydenko.tracker.rest.converter.RunStartToEntityConverter;
+import com.github.igordavydenko.tracker.rest.converter.UserEntityToResponseConverter;
+import com.github.igordavydenko.tracker.rest.converter.UserRequestToEntityConverter;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.rest.dto.UserDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+
+  private final RunEntityToStatisticConverter runStatisticConverter = new RunEntityToStatisticConverter();
+  private final RunEntityToResponseConverter runResponseConverter = new RunEntityToResponseConverter();
+  private final RunStartToEntityConverter runStartConverter = new RunStartToEntityConverter();
+  private final RunFinishToEntityConverter runFinishConverter = new RunFinishToEntityConverter();
+  private final UserEntityToResponseConverter userResponseConverter = new UserEntityToResponseConverter();
+  private final UserRequestToEntityConverter userRequestConverter = new UserRequestToEntityConverter();
+
+  private RunEntity[] runs;
+  private RunDto.RunStart[] runStarts;
+  private RunDto.RunFinish[] runFinishes;
+  private UserEntity[] users;
+  private UserDto.UserRequest[] userRequests;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    runs = BenchmarkData.runs(42);
+    runStarts = BenchmarkData.runStarts(runs);
+    runFinishes = BenchmarkData.runFinishes(runs);
+    users = BenchmarkData.users(42);
+    userRequests = BenchmarkData.userRequests(users);
+  }
+
+  @Benchmark
+  public RunDto.RunStatistic runEntityToStatistic() {
+    return runStatisticConverter.convert(runs[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public RunDto.RunInfo runEntityToResponse() {
+    return runResponseConverter.convert(runs[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public RunEntity runStartToEntity() {
+    return runStartConverter.convert(runStarts[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public RunEntity runFinishToEntity() {
+    return runFinishConverter.convert(runFinishes[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public UserDto.UserResponse userEntityToResponse() {
+    return userResponseConverter.convert(users[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public UserEntity userRequestToEntity() {
+    return userRequestConverter.convert(userRequests[index++ & BenchmarkData.MASK]);
+  }
+}
@@ -0,0 +1,101 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.service.util.DistanceCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class DistanceBenchmark {
+
+  private RunEntity[] runs;
+  private double[] coordinates;
+  private double[] startLatitudes;
+  private double[] startLongitudes;
+  private double[] finishLatitudes;
+  private double[] finishLongitudes;
+  private double[] distances;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    runs = BenchmarkData.runs(42);
+    coordinates = new double[runs.length * 4];
+    for (int i = 0; i < runs.length; i++) {
+      coordinates[i * 4] = runs[i].getStartLatitude();
+      coordinates[i * 4 + 1] = runs[i].getStartLongitude();
+      coordinates[i * 4 + 2] = runs[i].getFinishLatitude();
+      coordinates[i * 4 + 3] = runs[i].getFinishLongitude();
+    }
+    startLatitudes = new double[runs.length];
+    startLongitudes = new double[runs.length];
+    finishLatitudes = new double[runs.length];
+    finishLongitudes = new double[runs.length];
+    distances = new double[runs.length];
+    for (int i = 0; i < runs.length; i++) {
+      startLatitudes[i] = runs[i].getStartLatitude();
+      startLongitudes[i] = runs[i].getStartLongitude();
+      finishLatitudes[i] = runs[i].getFinishLatitude();
+      finishLongitudes[i] = runs[i].getFinishLongitude();
+    }
+  }
+
+  @Benchmark
+  public double haversine() {
+    var offset = (index++ & BenchmarkData.MASK) * 4;
+    return DistanceCalculator.haversine(
+        coordinates[offset], coordinates[offset + 1], coordinates[offset + 2], coordinates[offset + 3]);
+  }
+
+  @Benchmark
+  public double haversineFromEntity() {
+    var run = runs[index++ & BenchmarkData.MASK];
+    return DistanceCalculator.haversine(
+        run.getStartLatitude(), run.getStartLongitude(), run.getFinishLatitude(), run.getFinishLongitude());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkData.SIZE)
+  public double[] haversineChunkFromEntities() {
+    for (int i = 0; i < runs.length; i++) {
+      var run = runs[i];
+      distances[i] = DistanceCalculator.haversine(
+          run.getStartLatitude(), run.getStartLongitude(), run.getFinishLatitude(), run.getFinishLongitude());
+    }
+    return distances;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkData.SIZE)
+  public double[] haversineChunkScalar() {
+    for (int i = 0; i < startLatitudes.length; i++) {
+      distances[i] = DistanceCalculator.haversine(
+          startLatitudes[i], startLongitudes[i], finishLatitudes[i], finishLongitudes[i]);
+    }
+    return distances;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkData.SIZE)
+  public double[] haversineChunkVectorized() {
+    DistanceCalculator.haversine(
+        startLatitudes, startLongitudes, finishLatitudes, finishLongitudes, distances, startLatitudes.length);
+    return distances;
+  }
+}
@@ -0,0 +1,92 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.igordavydenko.tracker.rest.converter.RunEntityToStatisticConverter;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonBenchmark {
+
+  private static final int PAGE_SIZE = 100;
+
+  private ObjectWriter runStatisticWriter;
+  private ObjectWriter pageWriter;
+  private ObjectReader runStartReader;
+  private ObjectReader runFinishReader;
+
+  private RunDto.RunStatistic[] runStatistics;
+  private CursorPageDto<RunDto.RunStatistic> page;
+  private byte[][] runStartJson;
+  private byte[][] runFinishJson;
+  private int index;
+
+  @Setup
+  public void setUp() throws IOException {
+    var objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    runStatisticWriter = objectMapper.writerFor(RunDto.RunStatistic.class);
+    pageWriter = objectMapper.writer();
+    runStartReader = objectMapper.readerFor(RunDto.RunStart.class);
+    runFinishReader = objectMapper.readerFor(RunDto.RunFinish.class);
+
+    var runs = BenchmarkData.runs(42);
+    var converter = new RunEntityToStatisticConverter();
+    runStatistics = Arrays.stream(runs).map(converter::convert).toArray(RunDto.RunStatistic[]::new);
+    page = CursorPageDto.<RunDto.RunStatistic>builder()
+        .items(Arrays.asList(runStatistics).subList(0, PAGE_SIZE))
+        .limit(PAGE_SIZE)
+        .nextCursor("MjAyMy0wMS0wMVQwNjowMDowMHwx")
+        .build();
+
+    var writer = objectMapper.writer();
+    runStartJson = new byte[runs.length][];
+    runFinishJson = new byte[runs.length][];
+    var runStarts = BenchmarkData.runStarts(runs);
+    var runFinishes = BenchmarkData.runFinishes(runs);
+    for (int i = 0; i < runs.length; i++) {
+      runStartJson[i] = writer.writeValueAsBytes(runStarts[i]);
+      runFinishJson[i] = writer.writeValueAsBytes(runFinishes[i]);
+    }
+  }
+
+  @Benchmark
+  public byte[] writeRunStatistic() throws IOException {
+    return runStatisticWriter.writeValueAsBytes(runStatistics[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public byte[] writeRunStatisticPage() throws IOException {
+    return pageWriter.writeValueAsBytes(page);
+  }
+
+  @Benchmark
+  public RunDto.RunStart readRunStart() throws IOException {
+    return runStartReader.readValue(runStartJson[index++ & BenchmarkData.MASK]);
+  }
+
+  @Benchmark
+  public RunDto.RunFinish readRunFinish() throws IOException {
+    return runFinishReader.readValue(runFinishJson[index++ & BenchmarkData.MASK]);
+  }
+}
@@ -0,0 +1,61 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.github.igordavydenko.tracker.codec.TrackCodec;
+import com.github.igordavydenko.tracker.codec.TrackPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TrackCodecBenchmark {
+
+  @Param({"1000", "10000"})
+  private int points;
+
+  private List<TrackPoint> track;
+  private byte[] encoded;
+
+  @Setup
+  public void setUp() {
+    var random = new SplittableRandom(42);
+    var time = LocalDateTime.of(2023, 1, 1, 6, 0);
+    var latitude = 55.75;
+    var longitude = 37.61;
+    track = new ArrayList<>(points);
+    for (int i = 0; i < points; i++) {
+      latitude += random.nextDouble(-0.00003, 0.00003);
+      longitude += random.nextDouble(-0.00005, 0.00005);
+      track.add(new TrackPoint(time.plusSeconds(i), latitude, longitude));
+    }
+    encoded = TrackCodec.encode(track);
+  }
+
+  @Benchmark
+  public byte[] encode() {
+    return TrackCodec.encode(track);
+  }
+
+  @Benchmark
+  public List<TrackPoint> decode() {
+    return TrackCodec.decode(encoded);
+  }
+}
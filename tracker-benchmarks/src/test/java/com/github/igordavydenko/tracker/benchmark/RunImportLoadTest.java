@@ -0,0 +1,156 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.github.igordavydenko.tracker.TrackerApplication;
+import com.github.igordavydenko.tracker.persistence.entity.RunEntity;
+import com.github.igordavydenko.tracker.persistence.entity.UserEntity;
+import com.github.igordavydenko.tracker.service.RunImportFormat;
+import com.github.igordavydenko.tracker.service.RunImportJob;
+import com.github.igordavydenko.tracker.service.RunImportService;
+import com.github.igordavydenko.tracker.service.RunImportState;
+import com.github.igordavydenko.tracker.service.RunService;
+import com.github.igordavydenko.tracker.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+@SpringBootTest(classes = TrackerApplication.class)
+@EnabledIfEnvironmentVariable(named = "TRACKER_LOAD_TEST", matches = "true")
+public class RunImportLoadTest {
+
+  private static final int RUNS = Integer.getInteger("tracker.load.import-runs", 20000);
+  private static final int TIMEOUT_SECONDS = Integer.getInteger("tracker.load.import-timeout-seconds", 300);
+
+  private static final double MIN_IMPORT_THROUGHPUT = Double.parseDouble(
+      System.getProperty("tracker.load.min-import-throughput", "1000"));
+
+  private static final LocalDateTime FIRST_START = LocalDateTime.of(2000, 1, 1, 8, 0);
+  private static final EnumSet<RunImportState> FINISHED_STATES =
+      EnumSet.of(RunImportState.COMPLETED, RunImportState.FAILED);
+
+  private final List<UserEntity> users = new ArrayList<>();
+
+  @Autowired
+  private RunImportService runImportService;
+
+  @Autowired
+  private RunService runService;
+
+  @Autowired
+  private UserService userService;
+
+  @AfterEach
+  public void tearDown() {
+    for (var user : users) {
+      userService.delete(user.getId());
+    }
+  }
+
+  @Test
+  public void When_ImportRuns_WithinThresholds() throws Exception {
+    var importUser = createUser();
+    var saveUser = createUser();
+
+    var content = new StringBuilder("user_id,start_date_time,finish_date_time,"
+        + "start_latitude,start_longitude,finish_latitude,finish_longitude,distance\n");
+    for (int i = 0; i < RUNS; i++) {
+      var run = generateRun(importUser, i);
+      content.append(importUser.getId()).append(',')
+          .append(run.getStartDateTime()).append(',')
+          .append(run.getFinishDateTime()).append(',')
+          .append(run.getStartLatitude()).append(',')
+          .append(run.getStartLongitude()).append(',')
+          .append(run.getFinishLatitude()).append(',')
+          .append(run.getFinishLongitude()).append(',')
+          .append(run.getDistance()).append('\n');
+    }
+
+    var importStarted = System.nanoTime();
+    var job = runImportService.submit(RunImportFormat.CSV,
+        new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8)));
+    awaitFinished(job);
+    var importSeconds = seconds(System.nanoTime() - importStarted);
+    assertEquals(RunImportState.COMPLETED, job.getState(), job.getErrorMessage());
+    assertEquals(RUNS, job.getImportedRows());
+
+    var saveStarted = System.nanoTime();
+    for (int i = 0; i < RUNS; i++) {
+      runService.save(generateRun(saveUser, i));
+    }
+    var saveSeconds = seconds(System.nanoTime() - saveStarted);
+
+    report(importSeconds, saveSeconds);
+  }
+
+  private void report(final double importSeconds, final double saveSeconds) {
+    var importThroughput = RUNS / importSeconds;
+    var saveThroughput = RUNS / saveSeconds;
+
+    System.out.printf("Import load test: %d runs, Java %s%n", RUNS, Runtime.version().feature());
+    System.out.printf("%-12s %10s %10s %10s%n", "operation", "runs", "seconds", "runs/s");
+    System.out.printf("%-12s %10d %10.2f %10.1f%n", "COPY", RUNS, importSeconds, importThroughput);
+    System.out.printf("%-12s %10d %10.2f %10.1f%n", "SAVE", RUNS, saveSeconds, saveThroughput);
+
+    assertAll(
+        () -> assertTrue(importThroughput >= MIN_IMPORT_THROUGHPUT,
+            String.format("Import throughput %.1f runs/s is below %.1f runs/s",
+                importThroughput, MIN_IMPORT_THROUGHPUT)),
+        () -> assertTrue(importThroughput > saveThroughput,
+            String.format("Import throughput %.1f runs/s is not above RunService.save %.1f runs/s",
+                importThroughput, saveThroughput)));
+  }
+
+  private static void awaitFinished(final RunImportJob job) throws InterruptedException {
+    var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+    while (!FINISHED_STATES.contains(job.getState())) {
+      if (System.nanoTime() > deadline) {
+        fail(String.format("Run import %s is still %s after %d s", job.getId(), job.getState(), TIMEOUT_SECONDS));
+      }
+      TimeUnit.MILLISECONDS.sleep(10);
+    }
+  }
+
+  private UserEntity createUser() {
+    var user = new UserEntity();
+    user.setFirstName("Import");
+    user.setLastName("User" + users.size());
+    user.setBirthDate(LocalDate.of(1990, 1, 1));
+    user.setSex(users.size() % 2 == 0);
+    user = userService.create(user);
+    users.add(user);
+    return user;
+  }
+
+  private static RunEntity generateRun(UserEntity user, int index) {
+    var run = new RunEntity();
+    run.setUser(user);
+    run.setStartDateTime(FIRST_START.plusHours(index * 6L));
+    run.setFinishDateTime(run.getStartDateTime().plusMinutes(45));
+    run.setStartLatitude(55.0);
+    run.setStartLongitude(37.0);
+    run.setFinishLatitude(55.05);
+    run.setFinishLongitude(37.05);
+    run.setDistance(7500);
+    return run;
+  }
+
+  private static double seconds(long nanos) {
+    return nanos / (double) TimeUnit.SECONDS.toNanos(1);
+  }
+
+}
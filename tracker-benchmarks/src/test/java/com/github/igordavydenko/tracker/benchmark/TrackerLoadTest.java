@@ -0,0 +1,301 @@
+package com.github.igordavydenko.tracker.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.igordavydenko.tracker.TrackerApplication;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.env.Environment;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = TrackerApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@EnabledIfEnvironmentVariable(named = "TRACKER_LOAD_TEST", matches = "true")
+public class TrackerLoadTest {
+
+  private static final int USERS = Integer.getInteger("tracker.load.users", 100);
+  private static final int CLIENTS = Integer.getInteger("tracker.load.clients", 16);
+  private static final int WARMUP_SECONDS = Integer.getInteger("tracker.load.warmup-seconds", 10);
+  private static final int DURATION_SECONDS = Integer.getInteger("tracker.load.duration-seconds", 30);
+  private static final int STATISTICS_PERCENT = Integer.getInteger("tracker.load.statistics-percent", 50);
+  private static final long SEED = Long.getLong("tracker.load.seed", 42);
+
+  private static final double MIN_THROUGHPUT = Double.parseDouble(
+      System.getProperty("tracker.load.min-throughput", "200"));
+  private static final double MAX_P99_MILLIS = Double.parseDouble(
+      System.getProperty("tracker.load.max-p99-millis", "250"));
+  private static final double MAX_P999_MILLIS = Double.parseDouble(
+      System.getProperty("tracker.load.max-p999-millis", "1000"));
+
+  private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'");
+  private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+      .version(HttpClient.Version.HTTP_1_1)
+      .build();
+
+  private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+  private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+  private final Map<Operation, AtomicLong> rejections = new EnumMap<>(Operation.class);
+  private final List<LoadUser> users = new ArrayList<>();
+
+  private volatile boolean running;
+
+  @LocalServerPort
+  private int port;
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Autowired
+  private Environment environment;
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    for (var user : users) {
+      send(HttpRequest.newBuilder(uri("/api/v1/users/" + user.id)).DELETE().build());
+    }
+  }
+
+  @Test
+  public void When_MixedLoad_WithinThresholds() throws Exception {
+    assertTrue(USERS >= CLIENTS, "tracker.load.users must be greater than or equal to tracker.load.clients");
+    for (var operation : Operation.values()) {
+      recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_MICROS, 3));
+      errors.put(operation, new AtomicLong());
+      rejections.put(operation, new AtomicLong());
+    }
+    createUsers();
+
+    ExecutorService executor = Executors.newFixedThreadPool(CLIENTS);
+    List<Future<?>> clients = new ArrayList<>();
+    running = true;
+    try {
+      for (int client = 0; client < CLIENTS; client++) {
+        var clientId = client;
+        clients.add(executor.submit(() -> runClient(clientId)));
+      }
+
+      TimeUnit.SECONDS.sleep(WARMUP_SECONDS);
+      recorders.values().forEach(Recorder::reset);
+      errors.values().forEach(counter -> counter.set(0));
+      rejections.values().forEach(counter -> counter.set(0));
+      var measureStarted = System.nanoTime();
+
+      TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+      Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+      recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+      var measuredSeconds = (System.nanoTime() - measureStarted) / (double) TimeUnit.SECONDS.toNanos(1);
+
+      running = false;
+      for (var client : clients) {
+        client.get();
+      }
+
+      report(histograms, measuredSeconds);
+    } finally {
+      running = false;
+      executor.shutdownNow();
+    }
+  }
+
+  private void createUsers() throws IOException, InterruptedException {
+    var firstStart = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES).minusYears(1);
+    for (int i = 0; i < USERS; i++) {
+      var body = objectMapper.writeValueAsString(Map.of(
+          "firstName", "Load",
+          "lastName", "User" + i,
+          "birthDate", "1990-01-01",
+          "sex", i % 2 == 0));
+      var response = send(HttpRequest.newBuilder(uri("/api/v1/users"))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(body))
+          .build());
+      assertEquals(201, response.statusCode(), response.body());
+      var id = objectMapper.readTree(response.body()).get("id").asLong();
+      users.add(new LoadUser(id, firstStart.plusMinutes(i)));
+    }
+  }
+
+  private void runClient(final int client) {
+    var random = new SplittableRandom(SEED + client);
+    List<LoadUser> ownUsers = new ArrayList<>();
+    for (int i = client; i < users.size(); i += CLIENTS) {
+      ownUsers.add(users.get(i));
+    }
+
+    while (running) {
+      var user = ownUsers.get(random.nextInt(ownUsers.size()));
+      Operation operation;
+      HttpRequest request;
+      if (random.nextInt(100) < STATISTICS_PERCENT) {
+        operation = Operation.STATISTICS;
+        request = HttpRequest.newBuilder(uri("/api/v1/statistics/" + user.id
+                + "?fromDateTime=" + user.nextStart.minusDays(30).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)
+                + "&toDateTime=" + user.nextStart.format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)))
+            .GET()
+            .build();
+      } else if (!user.active) {
+        operation = Operation.START;
+        request = post("/api/v1/runs/start", Map.of(
+            "userId", user.id,
+            "startDateTime", user.nextStart.format(DATE_TIME_FORMAT),
+            "startLatitude", 55.75 + random.nextDouble(-0.1, 0.1),
+            "startLongitude", 37.62 + random.nextDouble(-0.1, 0.1)));
+      } else {
+        operation = Operation.FINISH;
+        request = post("/api/v1/runs/finish", Map.of(
+            "userId", user.id,
+            "finishDateTime", user.nextStart.plusMinutes(random.nextInt(20, 90)).format(DATE_TIME_FORMAT),
+            "finishLatitude", 55.75 + random.nextDouble(-0.1, 0.1),
+            "finishLongitude", 37.62 + random.nextDouble(-0.1, 0.1),
+            "distance", random.nextInt(1000, 21000)));
+      }
+
+      var started = System.nanoTime();
+      boolean success;
+      try {
+        var status = send(request).statusCode();
+        if (status == 503) {
+          rejections.get(operation).incrementAndGet();
+        }
+        success = status == 200;
+      } catch (IOException ex) {
+        success = false;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      recorders.get(operation).recordValue(
+          Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - started), HIGHEST_TRACKABLE_MICROS));
+
+      if (!success) {
+        errors.get(operation).incrementAndGet();
+      } else if (operation == Operation.START) {
+        user.active = true;
+      } else if (operation == Operation.FINISH) {
+        user.active = false;
+        user.nextStart = user.nextStart.plusHours(2);
+      }
+    }
+  }
+
+  private void report(final Map<Operation, Histogram> histograms, final double measuredSeconds) {
+    var total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+    histograms.values().forEach(total::add);
+    var totalErrors = errors.values().stream().mapToLong(AtomicLong::get).sum();
+    var throughput = total.getTotalCount() / measuredSeconds;
+
+    var totalRejections = rejections.values().stream().mapToLong(AtomicLong::get).sum();
+    System.out.printf("Load test: %d users, %d clients, %.1f s measured, Java %s, %s threads%n",
+        USERS, CLIENTS, measuredSeconds, Runtime.version().feature(),
+        Threading.VIRTUAL.isActive(environment) ? "virtual" : "platform");
+    System.out.printf("%-12s %10s %10s %10s %10s %10s %10s %8s %8s%n",
+        "operation", "requests", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors", "503s");
+    histograms.forEach((operation, histogram) -> printRow(operation.name(), histogram, measuredSeconds,
+        errors.get(operation).get(), rejections.get(operation).get()));
+    printRow("TOTAL", total, measuredSeconds, totalErrors, totalRejections);
+
+    List<Executable> checks = new ArrayList<>();
+    checks.add(() -> assertEquals(0, totalErrors, "Failed requests"));
+    checks.add(() -> assertTrue(throughput >= MIN_THROUGHPUT,
+        String.format("Throughput %.1f req/s is below %.1f req/s", throughput, MIN_THROUGHPUT)));
+    histograms.forEach((operation, histogram) -> {
+      var p99 = millis(histogram.getValueAtPercentile(99.0));
+      var p999 = millis(histogram.getValueAtPercentile(99.9));
+      checks.add(() -> assertTrue(p99 <= MAX_P99_MILLIS,
+          String.format("%s p99 %.2f ms exceeds %.2f ms", operation, p99, MAX_P99_MILLIS)));
+      checks.add(() -> assertTrue(p999 <= MAX_P999_MILLIS,
+          String.format("%s p99.9 %.2f ms exceeds %.2f ms", operation, p999, MAX_P999_MILLIS)));
+    });
+    assertAll(checks);
+  }
+
+  private static void printRow(
+      String name,
+      Histogram histogram,
+      double measuredSeconds,
+      long errorCount,
+      long rejectionCount
+  ) {
+    System.out.printf("%-12s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %8d %8d%n",
+        name,
+        histogram.getTotalCount(),
+        histogram.getTotalCount() / measuredSeconds,
+        millis(histogram.getValueAtPercentile(50.0)),
+        millis(histogram.getValueAtPercentile(99.0)),
+        millis(histogram.getValueAtPercentile(99.9)),
+        millis(histogram.getMaxValue()),
+        errorCount,
+        rejectionCount);
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  private HttpRequest post(String path, Map<String, Object> body) {
+    try {
+      return HttpRequest.newBuilder(uri(path))
+          .header("Content-Type", "application/json")
+          .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+          .build();
+    } catch (IOException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private HttpResponse<String> send(HttpRequest request) throws IOException, InterruptedException {
+    return httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+
+  private URI uri(String path) {
+    return URI.create("http://localhost:" + port + path);
+  }
+
+  private enum Operation {
+    START,
+    FINISH,
+    STATISTICS
+  }
+
+  private static class LoadUser {
+    private final long id;
+    private LocalDateTime nextStart;
+    private boolean active;
+
+    private LoadUser(long id, LocalDateTime nextStart) {
+      this.id = id;
+      this.nextStart = nextStart;
+    }
+  }
+
+}
@@ -0,0 +1,3 @@
+CREATE UNIQUE INDEX IF NOT EXISTS runs_user_id_active_uindex
+    ON runs (user_id)
+    WHERE finish_date_time IS NULL;
@@ -0,0 +1,21 @@
+CREATE TABLE IF NOT EXISTS user_daily_run_stats (
+    user_id BIGINT NOT NULL,
+    day DATE NOT NULL,
+    run_count INTEGER NOT NULL DEFAULT 0,
+    distance_m BIGINT NOT NULL DEFAULT 0,
+    duration_s BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, day),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+INSERT INTO user_daily_run_stats (user_id, day, run_count, distance_m, duration_s)
+SELECT r.user_id,
+       CAST(r.start_date_time AS DATE),
+       COUNT(*),
+       COALESCE(SUM(r.distance) FILTER (WHERE r.distance > 0), 0),
+       CAST(COALESCE(SUM(EXTRACT(EPOCH FROM (r.finish_date_time - r.start_date_time)))
+           FILTER (WHERE r.distance > 0), 0) AS BIGINT)
+FROM runs r
+WHERE r.finish_date_time IS NOT NULL
+GROUP BY r.user_id, CAST(r.start_date_time AS DATE)
+ON CONFLICT (user_id, day) DO NOTHING;
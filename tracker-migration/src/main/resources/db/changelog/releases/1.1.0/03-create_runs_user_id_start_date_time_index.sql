@@ -0,0 +1,2 @@
+CREATE INDEX IF NOT EXISTS runs_user_id_start_date_time_id_index
+    ON runs (user_id, start_date_time, id);
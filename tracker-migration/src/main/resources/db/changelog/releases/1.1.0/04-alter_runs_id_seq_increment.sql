@@ -0,0 +1 @@
+ALTER SEQUENCE runs_id_seq INCREMENT BY 50;
@@ -0,0 +1,39 @@
+--liquibase formatted sql
+
+--changeset tracker:05-create_run_import_rejects_table
+CREATE TABLE IF NOT EXISTS run_import_rejects (
+    import_id UUID NOT NULL,
+    line_no BIGINT NOT NULL,
+    reason VARCHAR(255) NOT NULL,
+    raw_data JSONB,
+    PRIMARY KEY (import_id, line_no)
+);
+
+--changeset tracker:05-create_run_import_functions splitStatements:false
+CREATE OR REPLACE FUNCTION tracker_try_cast_timestamp(value TEXT) RETURNS TIMESTAMP AS $$
+BEGIN
+    RETURN CAST(value AS TIMESTAMP);
+EXCEPTION WHEN OTHERS THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql STABLE;
+
+CREATE OR REPLACE FUNCTION tracker_try_cast_jsonb(value TEXT) RETURNS JSONB AS $$
+BEGIN
+    RETURN CAST(value AS JSONB);
+EXCEPTION WHEN OTHERS THEN
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION tracker_haversine_distance(
+    start_latitude DOUBLE PRECISION,
+    start_longitude DOUBLE PRECISION,
+    finish_latitude DOUBLE PRECISION,
+    finish_longitude DOUBLE PRECISION
+) RETURNS DOUBLE PRECISION AS $$
+    SELECT 6371000 * 2 * atan2(sqrt(a), sqrt(1 - a))
+    FROM (SELECT cos(radians(start_latitude)) * cos(radians(finish_latitude))
+                     * sin(radians(finish_longitude - start_longitude) / 2) ^ 2
+                     + sin(radians(finish_latitude - start_latitude) / 2) ^ 2 AS a) haversine
+$$ LANGUAGE sql IMMUTABLE;
@@ -0,0 +1,127 @@
+--liquibase formatted sql
+
+--changeset tracker:06-create_runs_partition_functions splitStatements:false
+CREATE OR REPLACE FUNCTION tracker_create_runs_partition(month DATE) RETURNS BOOLEAN AS $$
+DECLARE
+    from_time TIMESTAMP := date_trunc('month', month);
+    to_time TIMESTAMP := date_trunc('month', month) + INTERVAL '1 month';
+    partition_name TEXT := 'runs_p' || to_char(date_trunc('month', month), 'YYYY_MM');
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('tracker_runs_partitions'));
+
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN FALSE;
+    END IF;
+
+    EXECUTE format('CREATE TABLE %I (LIKE runs INCLUDING DEFAULTS)', partition_name);
+    EXECUTE format('WITH moved AS (DELETE FROM runs_default '
+                       || 'WHERE start_date_time >= %L AND start_date_time < %L RETURNING *) '
+                       || 'INSERT INTO %I SELECT * FROM moved', from_time, to_time, partition_name);
+    EXECUTE format('ALTER TABLE runs ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, from_time, to_time);
+    RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION tracker_create_runs_partitions(months_ahead INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    created INTEGER := 0;
+    partition_month DATE;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('tracker_runs_partitions'));
+
+    FOR partition_month IN
+        SELECT CAST(month AS DATE)
+        FROM generate_series(date_trunc('month', LOCALTIMESTAMP),
+                             date_trunc('month', LOCALTIMESTAMP) + make_interval(months => months_ahead),
+                             INTERVAL '1 month') AS month
+        UNION
+        SELECT DISTINCT CAST(date_trunc('month', start_date_time) AS DATE) FROM runs_default
+    LOOP
+        IF tracker_create_runs_partition(partition_month) THEN
+            created := created + 1;
+        END IF;
+    END LOOP;
+    RETURN created;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION tracker_detach_runs_partitions(retention_months INTEGER) RETURNS INTEGER AS $$
+DECLARE
+    detached INTEGER := 0;
+    cutoff TIMESTAMP := date_trunc('month', LOCALTIMESTAMP) - make_interval(months => retention_months);
+    partition_name TEXT;
+BEGIN
+    PERFORM pg_advisory_xact_lock(hashtext('tracker_runs_partitions'));
+
+    FOR partition_name IN
+        SELECT c.relname
+        FROM pg_inherits i
+        JOIN pg_class c ON c.oid = i.inhrelid
+        WHERE i.inhparent = CAST('runs' AS REGCLASS)
+          AND c.relname ~ '^runs_p[0-9]{4}_[0-9]{2}$'
+          AND to_timestamp(substring(c.relname FROM 7), 'YYYY_MM') + INTERVAL '1 month' <= cutoff
+        ORDER BY c.relname
+    LOOP
+        EXECUTE format('ALTER TABLE runs DETACH PARTITION %I', partition_name);
+        detached := detached + 1;
+    END LOOP;
+    RETURN detached;
+END;
+$$ LANGUAGE plpgsql;
+
+--changeset tracker:06-partition_runs_by_month splitStatements:false
+DO $$
+DECLARE
+    next_id BIGINT;
+BEGIN
+    ALTER TABLE runs RENAME TO runs_legacy;
+    ALTER INDEX IF EXISTS runs_pkey RENAME TO runs_legacy_pkey;
+    DROP INDEX IF EXISTS runs_user_id_active_uindex;
+    DROP INDEX IF EXISTS runs_user_id_start_date_time_id_index;
+
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'runs_legacy' AND column_name = 'id' AND is_identity = 'YES') THEN
+        SELECT GREATEST(COALESCE(MAX(id), 0), (SELECT last_value FROM runs_id_seq)) + 50
+        INTO next_id FROM runs_legacy;
+        ALTER TABLE runs_legacy ALTER COLUMN id DROP IDENTITY;
+        EXECUTE format('CREATE SEQUENCE runs_id_seq INCREMENT BY 50 START WITH %s', next_id);
+    ELSE
+        ALTER SEQUENCE runs_id_seq OWNED BY NONE;
+    END IF;
+END;
+$$;
+
+CREATE TABLE runs (
+    id BIGINT NOT NULL DEFAULT nextval('runs_id_seq'),
+    start_date_time TIMESTAMP NOT NULL,
+    finish_date_time TIMESTAMP,
+    start_latitude DOUBLE PRECISION NOT NULL,
+    finish_latitude DOUBLE PRECISION,
+    start_longitude DOUBLE PRECISION NOT NULL,
+    finish_longitude DOUBLE PRECISION,
+    distance INTEGER,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (id, start_date_time),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+) PARTITION BY RANGE (start_date_time);
+
+ALTER SEQUENCE runs_id_seq OWNED BY runs.id;
+
+CREATE TABLE runs_default PARTITION OF runs DEFAULT;
+
+CREATE INDEX runs_user_id_start_date_time_id_index ON runs (user_id, start_date_time, id);
+CREATE INDEX runs_user_id_active_index ON runs (user_id) WHERE finish_date_time IS NULL;
+
+SELECT tracker_create_runs_partition(CAST(month AS DATE))
+FROM (SELECT DISTINCT date_trunc('month', start_date_time) AS month FROM runs_legacy) months;
+
+INSERT INTO runs (id, start_date_time, finish_date_time, start_latitude, finish_latitude,
+                  start_longitude, finish_longitude, distance, user_id)
+SELECT id, start_date_time, finish_date_time, start_latitude, finish_latitude,
+       start_longitude, finish_longitude, distance, user_id
+FROM runs_legacy;
+
+DROP TABLE runs_legacy;
+
+SELECT tracker_create_runs_partitions(3);
@@ -0,0 +1,11 @@
+CREATE TABLE IF NOT EXISTS run_points (
+    run_id BIGINT NOT NULL,
+    point_time TIMESTAMP NOT NULL,
+    latitude DOUBLE PRECISION NOT NULL,
+    longitude DOUBLE PRECISION NOT NULL,
+    user_id BIGINT NOT NULL,
+    PRIMARY KEY (run_id, point_time),
+    FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS run_points_user_id_index ON run_points (user_id);
@@ -0,0 +1,3 @@
+ALTER TABLE runs ADD COLUMN IF NOT EXISTS track BYTEA;
+
+ALTER TABLE runs ALTER COLUMN track SET STORAGE EXTERNAL;
@@ -0,0 +1,62 @@
+--liquibase formatted sql
+
+--changeset tracker:10-create_geohash_function splitStatements:false
+CREATE OR REPLACE FUNCTION tracker_geohash(
+    latitude DOUBLE PRECISION,
+    longitude DOUBLE PRECISION,
+    hash_length INTEGER
+) RETURNS TEXT AS $$
+DECLARE
+    alphabet CONSTANT TEXT := '0123456789bcdefghjkmnpqrstuvwxyz';
+    min_latitude DOUBLE PRECISION := -90;
+    max_latitude DOUBLE PRECISION := 90;
+    min_longitude DOUBLE PRECISION := -180;
+    max_longitude DOUBLE PRECISION := 180;
+    middle DOUBLE PRECISION;
+    even BOOLEAN := TRUE;
+    bits INTEGER := 0;
+    value INTEGER := 0;
+    hash TEXT := '';
+BEGIN
+    WHILE length(hash) < hash_length LOOP
+        IF even THEN
+            middle := (min_longitude + max_longitude) / 2;
+            IF longitude >= middle THEN
+                value := value * 2 + 1;
+                min_longitude := middle;
+            ELSE
+                value := value * 2;
+                max_longitude := middle;
+            END IF;
+        ELSE
+            middle := (min_latitude + max_latitude) / 2;
+            IF latitude >= middle THEN
+                value := value * 2 + 1;
+                min_latitude := middle;
+            ELSE
+                value := value * 2;
+                max_latitude := middle;
+            END IF;
+        END IF;
+        even := NOT even;
+        bits := bits + 1;
+        IF bits = 5 THEN
+            hash := hash || substr(alphabet, value + 1, 1);
+            bits := 0;
+            value := 0;
+        END IF;
+    END LOOP;
+    RETURN hash;
+END;
+$$ LANGUAGE plpgsql IMMUTABLE STRICT;
+
+--changeset tracker:10-add_runs_geohash_columns
+ALTER TABLE runs ADD COLUMN IF NOT EXISTS start_geohash VARCHAR(9) COLLATE "C";
+ALTER TABLE runs ADD COLUMN IF NOT EXISTS finish_geohash VARCHAR(9) COLLATE "C";
+
+UPDATE runs SET
+    start_geohash = tracker_geohash(start_latitude, start_longitude, 9),
+    finish_geohash = tracker_geohash(finish_latitude, finish_longitude, 9);
+
+CREATE INDEX IF NOT EXISTS runs_start_geohash_start_date_time_index ON runs (start_geohash, start_date_time);
+CREATE INDEX IF NOT EXISTS runs_finish_geohash_start_date_time_index ON runs (finish_geohash, start_date_time);
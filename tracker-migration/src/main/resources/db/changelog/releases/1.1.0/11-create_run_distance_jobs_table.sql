@@ -0,0 +1,10 @@
+CREATE TABLE IF NOT EXISTS run_distance_jobs (
+    id UUID PRIMARY KEY,
+    state VARCHAR(16) NOT NULL,
+    last_run_id BIGINT NOT NULL DEFAULT 0,
+    processed_runs BIGINT NOT NULL DEFAULT 0,
+    updated_runs BIGINT NOT NULL DEFAULT 0,
+    error_message VARCHAR(1024),
+    created_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP
+);
@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS pace_sketches (
+    period_start DATE NOT NULL,
+    sex BOOLEAN NOT NULL,
+    age_group SMALLINT NOT NULL,
+    sketch BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (period_start, sex, age_group)
+);
@@ -0,0 +1,3 @@
+ALTER TABLE run_import_rejects ADD COLUMN IF NOT EXISTS created_at TIMESTAMP NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS run_import_rejects_created_at_index ON run_import_rejects (created_at);
@@ -0,0 +1,12 @@
+UPDATE user_daily_run_stats s
+SET duration_s = d.duration_s
+FROM (SELECT r.user_id,
+             CAST(r.start_date_time AS DATE) AS day,
+             CAST(COALESCE(SUM(trunc(EXTRACT(EPOCH FROM (r.finish_date_time - r.start_date_time))))
+                 FILTER (WHERE r.distance > 0), 0) AS BIGINT) AS duration_s
+      FROM runs r
+      WHERE r.finish_date_time IS NOT NULL
+      GROUP BY r.user_id, CAST(r.start_date_time AS DATE)) d
+WHERE s.user_id = d.user_id
+  AND s.day = d.day
+  AND s.duration_s <> d.duration_s;
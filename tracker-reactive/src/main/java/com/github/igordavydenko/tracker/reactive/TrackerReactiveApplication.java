@@ -0,0 +1,13 @@
+package com.github.igordavydenko.tracker.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class TrackerReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(TrackerReactiveApplication.class, args);
+	}
+
+}
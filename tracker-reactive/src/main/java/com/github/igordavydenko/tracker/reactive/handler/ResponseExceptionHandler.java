@@ -0,0 +1,106 @@
+package com.github.igordavydenko.tracker.reactive.handler;
+
+import ch.qos.logback.classic.Logger;
+import com.github.igordavydenko.tracker.reactive.exception.UserNotFoundException;
+import com.github.igordavydenko.tracker.rest.dto.ErrorResponse;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Path;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@RestControllerAdvice
+public class ResponseExceptionHandler {
+
+  private static final Logger log = (Logger) LoggerFactory.getLogger(ResponseExceptionHandler.class);
+
+  @ExceptionHandler(value = {IllegalArgumentException.class, ServerWebInputException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleIllegalArgumentException(RuntimeException ex) {
+    log.warn("Illegal argument: {}", ex.getMessage());
+
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.BAD_REQUEST.value())
+        .errorMessage("Illegal argument")
+        .errorDetails(Collections.singletonList(
+            ErrorResponse.ErrorDetails.builder()
+                .message(ex.getMessage())
+                .build()
+        ))
+        .build();
+  }
+
+  @ExceptionHandler(value = {UserNotFoundException.class})
+  @ResponseStatus(HttpStatus.NOT_FOUND)
+  public ErrorResponse handleNotFound(RuntimeException ex) {
+    log.warn("Not found exception: {}", ex.getMessage());
+
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.NOT_FOUND.value())
+        .errorMessage("Data not found")
+        .errorDetails(Collections.singletonList(
+            ErrorResponse.ErrorDetails.builder()
+                .message(ex.getMessage())
+                .build()
+        ))
+        .build();
+  }
+
+  @ExceptionHandler(value = {ConstraintViolationException.class})
+  @ResponseStatus(HttpStatus.BAD_REQUEST)
+  public ErrorResponse handleConstraintViolation(ConstraintViolationException ex) {
+    log.warn("Request validation error: {}", ex.getMessage());
+
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.BAD_REQUEST.value())
+        .errorMessage("Business logic exception")
+        .errorDetails(getValidationErrorResponse(ex.getConstraintViolations()))
+        .build();
+  }
+
+  @ExceptionHandler(Exception.class)
+  @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
+  public ErrorResponse unhandledException(Exception ex) {
+    log.error("Internal error: {}", ex.getMessage(), ex);
+
+    return ErrorResponse.builder()
+        .errorCode(HttpStatus.INTERNAL_SERVER_ERROR.value())
+        .errorMessage("Internal server error")
+        .errorDetails(Collections.singletonList(
+            ErrorResponse.ErrorDetails.builder()
+                .message(ex.getMessage())
+                .build()
+        ))
+        .build();
+  }
+
+  private List<ErrorResponse.ErrorDetails> getValidationErrorResponse(
+      final Set<ConstraintViolation<?>> violations
+  ) {
+
+    return violations.stream()
+        .map(violation -> ErrorResponse.ErrorDetails.builder()
+            .message(violation.getMessage())
+            .fieldName(getLeafName(violation.getPropertyPath()))
+            .rejectedValue(violation.getInvalidValue())
+            .build())
+        .collect(Collectors.toList());
+  }
+
+  private String getLeafName(final Path path) {
+    String name = null;
+    for (Path.Node node : path) {
+      name = node.getName();
+    }
+    return name;
+  }
+}
@@ -0,0 +1,22 @@
+package com.github.igordavydenko.tracker.reactive.persistence.projection;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+@Builder
+public class RunRow {
+
+  Long id;
+  Long userId;
+  LocalDateTime startDateTime;
+  LocalDateTime finishDateTime;
+  Double startLatitude;
+  Double startLongitude;
+  Double finishLatitude;
+  Double finishLongitude;
+  Integer distance;
+
+}
@@ -0,0 +1,12 @@
+package com.github.igordavydenko.tracker.reactive.persistence.projection;
+
+import lombok.Value;
+
+@Value(staticConstructor = "of")
+public class RunTotals {
+
+  long totalRuns;
+  long totalDistance;
+  long totalDurationSeconds;
+
+}
@@ -0,0 +1,141 @@
+package com.github.igordavydenko.tracker.reactive.persistence.repository;
+
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunRow;
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunTotals;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+@Repository
+public class RunRepository {
+
+  private static final String RUNS_QUERY = "SELECT r.id, r.user_id, r.start_date_time, r.finish_date_time, "
+      + "r.start_latitude, r.start_longitude, r.finish_latitude, r.finish_longitude, r.distance "
+      + "FROM runs r WHERE r.user_id = :userId";
+
+  private static final String RUN_TOTALS_QUERY = "SELECT COUNT(*) AS total_runs, "
+      + "COALESCE(SUM(r.distance) FILTER (WHERE r.distance > 0 AND r.finish_date_time IS NOT NULL), 0) "
+      + "AS total_distance, "
+      + "CAST(COALESCE(SUM(trunc(EXTRACT(EPOCH FROM (r.finish_date_time - r.start_date_time)))) "
+      + "FILTER (WHERE r.distance > 0 AND r.finish_date_time IS NOT NULL), 0) AS BIGINT) AS total_duration_seconds "
+      + "FROM runs r WHERE r.user_id = :userId";
+
+  private static final String ORDER_BY = " ORDER BY r.start_date_time, r.id";
+
+  private final DatabaseClient databaseClient;
+  private final int fetchSize;
+
+  public RunRepository(
+      DatabaseClient databaseClient,
+      @Value("${tracker.reactive.fetch-size:500}") int fetchSize
+  ) {
+    this.databaseClient = databaseClient;
+    this.fetchSize = fetchSize;
+  }
+
+  public Flux<RunRow> findPageByUserId(
+      Long userId,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime,
+      LocalDateTime afterStartDateTime,
+      Long afterId,
+      int limit
+  ) {
+    var sql = new StringBuilder(RUNS_QUERY);
+    if (afterStartDateTime != null) {
+      sql.append(" AND r.start_date_time >= :afterStartDateTime")
+          .append(" AND (r.start_date_time > :afterStartDateTime OR r.id > :afterId)");
+      if (toDateTime != null) {
+        sql.append(fromDateTime != null
+            ? " AND r.start_date_time <= :toDateTime"
+            : " AND r.start_date_time < :toDateTime");
+      }
+    } else {
+      sql.append(periodCondition(fromDateTime, toDateTime));
+    }
+    sql.append(ORDER_BY).append(" LIMIT :limit");
+
+    var spec = databaseClient.sql(sql.toString())
+        .bind("userId", userId)
+        .bind("limit", limit);
+    if (afterStartDateTime != null) {
+      spec = spec.bind("afterStartDateTime", afterStartDateTime)
+          .bind("afterId", afterId);
+      if (toDateTime != null) {
+        spec = spec.bind("toDateTime", toDateTime);
+      }
+    } else {
+      spec = bindPeriod(spec, fromDateTime, toDateTime);
+    }
+    return spec.map(RunRepository::toRunRow).all();
+  }
+
+  public Flux<RunRow> streamByUserIdAndPeriod(Long userId, LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+    var spec = databaseClient.sql(RUNS_QUERY + periodCondition(fromDateTime, toDateTime) + ORDER_BY)
+        .filter(statement -> statement.fetchSize(fetchSize))
+        .bind("userId", userId);
+    return bindPeriod(spec, fromDateTime, toDateTime)
+        .map(RunRepository::toRunRow)
+        .all();
+  }
+
+  public Mono<RunTotals> getRunTotalsByUserIdAndPeriod(
+      Long userId,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime
+  ) {
+    var spec = databaseClient.sql(RUN_TOTALS_QUERY + periodCondition(fromDateTime, toDateTime))
+        .bind("userId", userId);
+    return bindPeriod(spec, fromDateTime, toDateTime)
+        .map(row -> RunTotals.of(
+            row.get("total_runs", Long.class),
+            row.get("total_distance", Long.class),
+            row.get("total_duration_seconds", Long.class)))
+        .one();
+  }
+
+  private static String periodCondition(LocalDateTime fromDateTime, LocalDateTime toDateTime) {
+    if (fromDateTime != null && toDateTime != null) {
+      return " AND r.start_date_time BETWEEN :fromDateTime AND :toDateTime";
+    } else if (fromDateTime != null) {
+      return " AND r.start_date_time > :fromDateTime";
+    } else if (toDateTime != null) {
+      return " AND r.start_date_time < :toDateTime";
+    }
+    return "";
+  }
+
+  private static DatabaseClient.GenericExecuteSpec bindPeriod(
+      DatabaseClient.GenericExecuteSpec spec,
+      LocalDateTime fromDateTime,
+      LocalDateTime toDateTime
+  ) {
+    if (fromDateTime != null) {
+      spec = spec.bind("fromDateTime", fromDateTime);
+    }
+    if (toDateTime != null) {
+      spec = spec.bind("toDateTime", toDateTime);
+    }
+    return spec;
+  }
+
+  private static RunRow toRunRow(Readable row) {
+    return RunRow.builder()
+        .id(row.get("id", Long.class))
+        .userId(row.get("user_id", Long.class))
+        .startDateTime(row.get("start_date_time", LocalDateTime.class))
+        .finishDateTime(row.get("finish_date_time", LocalDateTime.class))
+        .startLatitude(row.get("start_latitude", Double.class))
+        .startLongitude(row.get("start_longitude", Double.class))
+        .finishLatitude(row.get("finish_latitude", Double.class))
+        .finishLongitude(row.get("finish_longitude", Double.class))
+        .distance(row.get("distance", Integer.class))
+        .build();
+  }
+
+}
@@ -0,0 +1,23 @@
+package com.github.igordavydenko.tracker.reactive.persistence.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class UserRepository {
+
+  private static final String EXISTS_QUERY = "SELECT EXISTS (SELECT 1 FROM users WHERE id = :userId)";
+
+  private final DatabaseClient databaseClient;
+
+  public Mono<Boolean> existsById(Long userId) {
+    return databaseClient.sql(EXISTS_QUERY)
+        .bind("userId", userId)
+        .map(row -> row.get(0, Boolean.class))
+        .one();
+  }
+
+}
@@ -0,0 +1,69 @@
+package com.github.igordavydenko.tracker.reactive.rest.controller;
+
+import com.github.igordavydenko.tracker.reactive.service.StatisticService;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_PAGE_LIMIT;
+import static com.github.igordavydenko.tracker.rest.util.ValidationMessage.ERROR_POSITIVE_ID;
+
+@RestController
+@RequestMapping("/api/v1/statistics/{userId}")
+@RequiredArgsConstructor
+@Validated
+public class StatisticController {
+
+  private final StatisticService statisticService;
+
+  @GetMapping
+  public Mono<StatisticDto> getUserStatistics(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime
+  ) {
+    return statisticService.getUserStatistic(userId, fromDateTime, toDateTime);
+  }
+
+  @GetMapping("/runs")
+  public Mono<CursorPageDto<RunDto.RunStatistic>> getUserRuns(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime,
+      @RequestParam(required = false) String cursor,
+      @RequestParam(defaultValue = "100")
+      @Min(value = 1, message = ERROR_PAGE_LIMIT)
+      @Max(value = 1000, message = ERROR_PAGE_LIMIT) int limit
+  ) {
+    return statisticService.getUserRuns(userId, fromDateTime, toDateTime, cursor, limit);
+  }
+
+  @GetMapping(value = "/runs/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<RunDto.RunStatistic> exportUserRuns(
+      @PathVariable
+      @Positive(message = ERROR_POSITIVE_ID) Long userId,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime fromDateTime,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime toDateTime
+  ) {
+    return statisticService.exportUserRuns(userId, fromDateTime, toDateTime);
+  }
+
+}
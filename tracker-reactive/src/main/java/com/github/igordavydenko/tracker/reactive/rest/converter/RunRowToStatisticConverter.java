@@ -0,0 +1,45 @@
+package com.github.igordavydenko.tracker.reactive.rest.converter;
+
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunRow;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+public class RunRowToStatisticConverter implements Converter<RunRow, RunDto.RunStatistic> {
+
+  private static final double SECONDS_PER_HOUR = 3600.0;
+
+  @Override
+  public RunDto.RunStatistic convert(RunRow source) {
+    var runStatistic = new RunDto.RunStatistic();
+
+    runStatistic.setId(source.getId());
+    runStatistic.setUserId(source.getUserId());
+    runStatistic.setStartDateTime(source.getStartDateTime());
+    runStatistic.setFinishDateTime(source.getFinishDateTime());
+    runStatistic.setStartLatitude(source.getStartLatitude());
+    runStatistic.setFinishLatitude(source.getFinishLatitude());
+    runStatistic.setStartLongitude(source.getStartLongitude());
+    runStatistic.setFinishLongitude(source.getFinishLongitude());
+    runStatistic.setDistance(source.getDistance());
+    runStatistic.setAverageSpeed(calculateAverageSpeed(source));
+
+    return runStatistic;
+  }
+
+  private double calculateAverageSpeed(final RunRow run) {
+    if (run.getDistance() == null || run.getDistance() == 0
+        || run.getStartDateTime() == null || run.getFinishDateTime() == null) {
+      return 0;
+    }
+    var duration = Duration.between(run.getStartDateTime(), run.getFinishDateTime());
+    if (duration.isZero() || duration.isNegative()) {
+      return 0;
+    }
+
+    return run.getDistance() / (duration.getSeconds() / SECONDS_PER_HOUR * 1000);
+  }
+}
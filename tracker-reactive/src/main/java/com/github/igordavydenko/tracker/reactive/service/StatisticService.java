@@ -0,0 +1,112 @@
+package com.github.igordavydenko.tracker.reactive.service;
+
+import com.github.igordavydenko.tracker.reactive.exception.UserNotFoundException;
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunRow;
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunTotals;
+import com.github.igordavydenko.tracker.reactive.persistence.repository.RunRepository;
+import com.github.igordavydenko.tracker.reactive.persistence.repository.UserRepository;
+import com.github.igordavydenko.tracker.reactive.rest.converter.RunRowToStatisticConverter;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.RunCursor;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class StatisticService {
+
+  private static final double SECONDS_PER_HOUR = 3600.0;
+
+  private final RunRepository runRepository;
+  private final UserRepository userRepository;
+  private final RunRowToStatisticConverter runStatisticConverter;
+
+  public Mono<CursorPageDto<RunDto.RunStatistic>> getUserRuns(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final String cursor,
+      final int limit
+  ) {
+    var runCursor = cursor != null ? RunCursor.decode(cursor) : null;
+    var page = runCursor != null
+        ? findPage(userId, fromDateTime, toDateTime, runCursor.getStartDateTime(), runCursor.getId(), limit)
+        : findPage(userId, fromDateTime, toDateTime, null, null, limit);
+
+    return page.collectList()
+        .map(runs -> toPage(runs, limit));
+  }
+
+  public Flux<RunDto.RunStatistic> exportUserRuns(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime
+  ) {
+    return requireUser(userId)
+        .thenMany(runRepository.streamByUserIdAndPeriod(userId, fromDateTime, toDateTime))
+        .map(runStatisticConverter::convert);
+  }
+
+  public Mono<StatisticDto> getUserStatistic(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime
+  ) {
+    return requireUser(userId)
+        .then(runRepository.getRunTotalsByUserIdAndPeriod(userId, fromDateTime, toDateTime))
+        .map(this::toStatistic);
+  }
+
+  private Flux<RunRow> findPage(
+      final Long userId,
+      final LocalDateTime fromDateTime,
+      final LocalDateTime toDateTime,
+      final LocalDateTime afterStartDateTime,
+      final Long afterId,
+      final int limit
+  ) {
+    return requireUser(userId)
+        .thenMany(runRepository.findPageByUserId(
+            userId, fromDateTime, toDateTime, afterStartDateTime, afterId, limit + 1));
+  }
+
+  private Mono<Void> requireUser(final Long userId) {
+    return userRepository.existsById(userId)
+        .flatMap(exists -> exists ? Mono.empty() : Mono.error(new UserNotFoundException(userId)));
+  }
+
+  private CursorPageDto<RunDto.RunStatistic> toPage(List<RunRow> runs, final int limit) {
+    String nextCursor = null;
+    if (runs.size() > limit) {
+      runs = runs.subList(0, limit);
+      var lastRun = runs.get(limit - 1);
+      nextCursor = new RunCursor(lastRun.getStartDateTime(), lastRun.getId()).encode();
+    }
+
+    return CursorPageDto.<RunDto.RunStatistic>builder()
+        .items(runs.stream()
+            .map(runStatisticConverter::convert)
+            .collect(Collectors.toList()))
+        .limit(limit)
+        .nextCursor(nextCursor)
+        .build();
+  }
+
+  private StatisticDto toStatistic(final RunTotals runTotals) {
+    double totalTime = (double) runTotals.getTotalDurationSeconds() / SECONDS_PER_HOUR;
+
+    return StatisticDto.builder()
+        .totalRuns((int) runTotals.getTotalRuns())
+        .totalDistance((int) runTotals.getTotalDistance())
+        .averageSpeed((totalTime > 0) ? runTotals.getTotalDistance() / (totalTime * 1000) : 0.0)
+        .build();
+  }
+}
@@ -0,0 +1,101 @@
+package com.github.igordavydenko.tracker.reactive.persistence.repository;
+
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunRow;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class RunRepositoryTest {
+
+  private static final Long USER_ID = 1L;
+  private static final LocalDateTime FROM_DATE_TIME = LocalDateTime.of(2020, 1, 1, 0, 0);
+  private static final LocalDateTime TO_DATE_TIME = LocalDateTime.of(2020, 1, 10, 12, 0);
+  private static final LocalDateTime AFTER_START_DATE_TIME = LocalDateTime.of(2020, 1, 5, 10, 0);
+
+  @Mock
+  private DatabaseClient databaseClient;
+
+  @Mock(answer = Answers.RETURNS_SELF)
+  private DatabaseClient.GenericExecuteSpec executeSpec;
+
+  @Mock
+  private RowsFetchSpec<RunRow> rowsFetchSpec;
+
+  @Captor
+  private ArgumentCaptor<String> sqlCaptor;
+
+  private RunRepository runRepository;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  public void setUp() {
+    runRepository = new RunRepository(databaseClient, 500);
+
+    when(databaseClient.sql(sqlCaptor.capture())).thenReturn(executeSpec);
+    when(executeSpec.map(any(Function.class))).thenReturn(rowsFetchSpec);
+    when(rowsFetchSpec.all()).thenReturn(Flux.empty());
+  }
+
+  @Test
+  public void When_FindPageByUserIdFromOnly_RunAtFromExcluded() {
+    runRepository.findPageByUserId(USER_ID, FROM_DATE_TIME, null, null, null, 10).blockLast();
+
+    var sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("r.start_date_time > :fromDateTime"));
+    assertFalse(sql.contains(":afterStartDateTime"));
+    verify(executeSpec).bind("fromDateTime", FROM_DATE_TIME);
+  }
+
+  @Test
+  public void When_FindPageByUserIdToOnly_RunAtToExcluded() {
+    runRepository.findPageByUserId(USER_ID, null, TO_DATE_TIME, null, null, 10).blockLast();
+
+    var sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("r.start_date_time < :toDateTime"));
+    assertFalse(sql.contains(":afterStartDateTime"));
+    verify(executeSpec).bind("toDateTime", TO_DATE_TIME);
+  }
+
+  @Test
+  public void When_FindPageByUserIdToOnlyNextPage_RunAtToExcluded() {
+    runRepository.findPageByUserId(USER_ID, null, TO_DATE_TIME, AFTER_START_DATE_TIME, 42L, 10).blockLast();
+
+    var sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("(r.start_date_time > :afterStartDateTime OR r.id > :afterId)"));
+    assertTrue(sql.contains("r.start_date_time < :toDateTime"));
+    verify(executeSpec).bind("afterStartDateTime", AFTER_START_DATE_TIME);
+    verify(executeSpec).bind("afterId", 42L);
+    verify(executeSpec).bind("toDateTime", TO_DATE_TIME);
+  }
+
+  @Test
+  public void When_FindPageByUserIdPeriodNextPage_RunAtToIncluded() {
+    runRepository.findPageByUserId(USER_ID, FROM_DATE_TIME, TO_DATE_TIME, AFTER_START_DATE_TIME, 42L, 10)
+        .blockLast();
+
+    var sql = sqlCaptor.getValue();
+    assertTrue(sql.contains("r.start_date_time <= :toDateTime"));
+    assertFalse(sql.contains(":fromDateTime"));
+    verify(executeSpec, never()).bind("fromDateTime", FROM_DATE_TIME);
+  }
+
+}
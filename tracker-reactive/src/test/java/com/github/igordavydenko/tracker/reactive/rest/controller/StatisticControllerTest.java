@@ -0,0 +1,123 @@
+package com.github.igordavydenko.tracker.reactive.rest.controller;
+
+import com.github.igordavydenko.tracker.reactive.exception.UserNotFoundException;
+import com.github.igordavydenko.tracker.reactive.service.StatisticService;
+import com.github.igordavydenko.tracker.rest.dto.CursorPageDto;
+import com.github.igordavydenko.tracker.rest.dto.RunDto;
+import com.github.igordavydenko.tracker.rest.dto.StatisticDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+@WebFluxTest(controllers = {StatisticController.class})
+public class StatisticControllerTest {
+
+  private static final String PATH_PREFIX = "/api/v1/statistics";
+  private static final Random random = new Random();
+
+  @SuppressWarnings("SpringJavaInjectionPointsAutowiringInspection")
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @MockBean
+  private StatisticService statisticService;
+
+  @Test
+  public void When_GetUserStatistics_Success() {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    StatisticDto statistic = StatisticDto.builder()
+        .totalRuns(random.nextInt())
+        .totalDistance(random.nextInt())
+        .averageSpeed(random.nextDouble())
+        .build();
+
+    when(statisticService.getUserStatistic(id, null, null))
+        .thenReturn(Mono.just(statistic));
+
+    webTestClient.get().uri(PATH_PREFIX + "/" + id)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.totalRuns").isEqualTo(statistic.getTotalRuns())
+        .jsonPath("$.totalDistance").isEqualTo(statistic.getTotalDistance())
+        .jsonPath("$.averageSpeed").isEqualTo(statistic.getAverageSpeed());
+  }
+
+  @Test
+  public void When_GetUserStatistics_UserNotFound() {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    when(statisticService.getUserStatistic(id, null, null))
+        .thenReturn(Mono.error(new UserNotFoundException(id)));
+
+    webTestClient.get().uri(PATH_PREFIX + "/" + id)
+        .exchange()
+        .expectStatus().isNotFound()
+        .expectBody()
+        .jsonPath("$.errorCode").isEqualTo(404);
+  }
+
+  @Test
+  public void When_GetUserRuns_Success() {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    when(statisticService.getUserRuns(id, null, null, null, 100))
+        .thenReturn(Mono.just(CursorPageDto.<RunDto.RunStatistic>builder()
+            .items(List.of(new RunDto.RunStatistic(), new RunDto.RunStatistic()))
+            .limit(100)
+            .nextCursor("next")
+            .build()));
+
+    webTestClient.get().uri(PATH_PREFIX + "/" + id + "/runs")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.items.length()").isEqualTo(2)
+        .jsonPath("$.limit").isEqualTo(100)
+        .jsonPath("$.nextCursor").isEqualTo("next");
+  }
+
+  @Test
+  public void When_GetUserRuns_InvalidLimit() {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+
+    webTestClient.get().uri(PATH_PREFIX + "/" + id + "/runs?limit=0")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  public void When_ExportUserRuns_Success() {
+    var id = random.nextLong(0, Long.MAX_VALUE);
+    var run = new RunDto.RunStatistic();
+    run.setUserId(id);
+    run.setDistance(1000);
+
+    when(statisticService.exportUserRuns(id, null, null))
+        .thenReturn(Flux.just(run, run, run));
+
+    var result = webTestClient.get().uri(PATH_PREFIX + "/" + id + "/runs/export")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .returnResult(RunDto.RunStatistic.class);
+
+    var runs = result.getResponseBody().collectList().block();
+    assertEquals(3, runs.size());
+    assertEquals(id, runs.get(0).getUserId());
+  }
+
+}
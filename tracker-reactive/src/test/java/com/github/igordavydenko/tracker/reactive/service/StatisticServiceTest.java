@@ -0,0 +1,127 @@
+package com.github.igordavydenko.tracker.reactive.service;
+
+import com.github.igordavydenko.tracker.reactive.exception.UserNotFoundException;
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunRow;
+import com.github.igordavydenko.tracker.reactive.persistence.projection.RunTotals;
+import com.github.igordavydenko.tracker.reactive.persistence.repository.RunRepository;
+import com.github.igordavydenko.tracker.reactive.persistence.repository.UserRepository;
+import com.github.igordavydenko.tracker.reactive.rest.converter.RunRowToStatisticConverter;
+import com.github.igordavydenko.tracker.rest.dto.RunCursor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class StatisticServiceTest {
+
+  private static final Random random = new Random();
+
+  @Mock
+  private RunRepository runRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Spy
+  private RunRowToStatisticConverter runStatisticConverter = new RunRowToStatisticConverter();
+
+  @InjectMocks
+  private StatisticService statisticService;
+
+  @Test
+  public void When_GetUserRuns_Success() {
+    var userId = random.nextLong(1, Long.MAX_VALUE);
+    var firstRun = generateRun(userId, 1L, LocalDateTime.of(2020, 1, 1, 10, 0));
+    var secondRun = generateRun(userId, 2L, LocalDateTime.of(2020, 1, 2, 10, 0));
+
+    when(userRepository.existsById(userId))
+        .thenReturn(Mono.just(true));
+    when(runRepository.findPageByUserId(userId, null, null, null, null, 2))
+        .thenReturn(Flux.just(firstRun, secondRun));
+
+    StepVerifier.create(statisticService.getUserRuns(userId, null, null, null, 1))
+        .assertNext(page -> {
+          assertEquals(1, page.getItems().size());
+          assertEquals(1.0, page.getItems().get(0).getAverageSpeed());
+          var nextCursor = RunCursor.decode(page.getNextCursor());
+          assertEquals(firstRun.getStartDateTime(), nextCursor.getStartDateTime());
+          assertEquals(firstRun.getId(), nextCursor.getId());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  public void When_GetUserRuns_LastPage() {
+    var userId = random.nextLong(1, Long.MAX_VALUE);
+    var cursor = new RunCursor(LocalDateTime.of(2020, 1, 1, 10, 0), 42L);
+
+    when(userRepository.existsById(userId))
+        .thenReturn(Mono.just(true));
+    when(runRepository.findPageByUserId(userId, null, null, cursor.getStartDateTime(), cursor.getId(), 3))
+        .thenReturn(Flux.just(generateRun(userId, 43L, LocalDateTime.of(2020, 1, 2, 10, 0))));
+
+    StepVerifier.create(statisticService.getUserRuns(userId, null, null, cursor.encode(), 2))
+        .assertNext(page -> {
+          assertEquals(1, page.getItems().size());
+          assertNull(page.getNextCursor());
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  public void When_ExportUserRuns_UserNotFound() {
+    var userId = random.nextLong(1, Long.MAX_VALUE);
+
+    when(userRepository.existsById(userId))
+        .thenReturn(Mono.just(false));
+
+    StepVerifier.create(statisticService.exportUserRuns(userId, null, null))
+        .expectError(UserNotFoundException.class)
+        .verify();
+  }
+
+  @Test
+  public void When_GetUserStatistic_Success() {
+    var userId = random.nextLong(1, Long.MAX_VALUE);
+
+    when(userRepository.existsById(userId))
+        .thenReturn(Mono.just(true));
+    when(runRepository.getRunTotalsByUserIdAndPeriod(userId, null, null))
+        .thenReturn(Mono.just(RunTotals.of(2, 1000, 3600)));
+
+    StepVerifier.create(statisticService.getUserStatistic(userId, null, null))
+        .assertNext(statistic -> {
+          assertEquals(2, statistic.getTotalRuns());
+          assertEquals(1000, statistic.getTotalDistance());
+          assertEquals(1.0, statistic.getAverageSpeed());
+        })
+        .verifyComplete();
+  }
+
+  private static RunRow generateRun(Long userId, Long id, LocalDateTime startDateTime) {
+    return RunRow.builder()
+        .id(id)
+        .userId(userId)
+        .startDateTime(startDateTime)
+        .finishDateTime(startDateTime.plusHours(1))
+        .startLatitude(55.75)
+        .startLongitude(37.62)
+        .finishLatitude(55.76)
+        .finishLongitude(37.63)
+        .distance(1000)
+        .build();
+  }
+}